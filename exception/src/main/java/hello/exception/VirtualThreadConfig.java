@@ -0,0 +1,25 @@
+package hello.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청을 요청마다 새 가상 스레드에서 실행한다.
+ * 느린 I/O를 기다리는 동안 플랫폼 스레드를 붙잡지 않으므로 server.tomcat.threads.max 보다 많은 요청을 함께 처리한다.
+ * 동시 요청 수를 스레드 풀이 제한하지 않으므로 server.tomcat.max-connections, accept-count가 상한이 된다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+    }
+}
@@ -0,0 +1,30 @@
+package hello.exception.accesslog;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * LogFilter, LogInterceptor 요청 로그 설정 (access-log.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    // false 이면 요청 스레드에서 바로 로그를 쓴다
+    private boolean async = true;
+
+    // 쌓아둘 수 있는 기록 수 (2의 제곱수로 올림)
+    private int bufferSize = 8192;
+
+    // 기록 스레드가 한 번에 꺼내서 쓰는 최대 기록 수
+    private int batchSize = 256;
+
+    // 버퍼가 비었을 때 기록 스레드가 쉬는 시간
+    private Duration idleWait = Duration.ofMillis(1);
+
+    private AccessLogPolicy policy = AccessLogPolicy.DROP;
+}
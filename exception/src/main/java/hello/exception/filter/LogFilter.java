@@ -1,12 +1,19 @@
 package hello.exception.filter;
+import hello.exception.RequestIdGenerator;
+import hello.exception.accesslog.AccessLog;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
 
 @Slf4j
 public class LogFilter implements Filter {
+    private final AccessLog accessLog;
+    public LogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         log.info("log filter init");
@@ -15,14 +22,20 @@ public class LogFilter implements Filter {
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         String requestURI = httpRequest.getRequestURI();
-        String uuid = UUID.randomUUID().toString();
+        // MDC에 두면 이 요청의 다른 로그와 LogInterceptor가 같은 id를 쓴다
+        String uuid = RequestIdGenerator.generate();
+        MDC.put(RequestIdGenerator.MDC_KEY, uuid);
+        // REQUEST/RESPONSE 로그는 AccessLog 기록 스레드가 쓴다
+        long start = System.nanoTime();
         try {
-            log.info("REQUEST [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            accessLog.request(log, uuid, request.getDispatcherType(), requestURI, null);
             chain.doFilter(request, response);
         } catch (Exception e) {
             throw e;
         } finally {
-            log.info("RESPONSE [{}][{}][{}]", uuid, request.getDispatcherType(), requestURI);
+            accessLog.response(log, uuid, request.getDispatcherType(), requestURI, null,
+                    ((HttpServletResponse) response).getStatus(), System.nanoTime() - start);
+            MDC.remove(RequestIdGenerator.MDC_KEY);
         }
     }
     @Override
@@ -1,36 +1,57 @@
 package hello.exception.interceptor;
+import hello.exception.RequestIdGenerator;
+import hello.exception.accesslog.AccessLog;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.ModelAndView;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.UUID;
 
 @Slf4j
 public class LogInterceptor implements HandlerInterceptor {
     public static final String LOG_ID = "logId";
+    private static final String MDC_OWNER = LogInterceptor.class.getName() + ".MDC";
+    private static final String START_NANOS = LogInterceptor.class.getName() + ".START";
+    private final AccessLog accessLog;
+    public LogInterceptor(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
         String requestURI = request.getRequestURI();
-        String uuid = UUID.randomUUID().toString();
+        // LogFilter가 MDC에 둔 id가 있으면 같이 쓰고, 없으면 여기서 만든다
+        String uuid = MDC.get(RequestIdGenerator.MDC_KEY);
+        if (uuid == null) {
+            uuid = RequestIdGenerator.generate();
+            MDC.put(RequestIdGenerator.MDC_KEY, uuid);
+            request.setAttribute(MDC_OWNER, Boolean.TRUE);
+        }
         request.setAttribute(LOG_ID, uuid);
-        log.info("REQUEST [{}][{}][{}][{}]", uuid,
-                request.getDispatcherType(), requestURI, handler);
+        request.setAttribute(START_NANOS, System.nanoTime());
+        // REQUEST/RESPONSE 로그는 AccessLog 기록 스레드가 쓴다
+        accessLog.request(log, uuid, request.getDispatcherType(), requestURI, handler);
         return true;
     }
     @Override
     public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
-        log.info("postHandle [{}]", modelAndView);
+        log.debug("postHandle [{}]", modelAndView);
     }
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse
             response, Object handler, Exception ex) throws Exception {
         String requestURI = request.getRequestURI();
         String logId = (String)request.getAttribute(LOG_ID);
-        log.info("RESPONSE [{}][{}][{}]", logId, request.getDispatcherType(), requestURI);
+        Long start = (Long) request.getAttribute(START_NANOS);
+        long elapsed = start != null ? System.nanoTime() - start : 0;
+        accessLog.response(log, logId, request.getDispatcherType(), requestURI, handler, response.getStatus(), elapsed);
         if (ex != null) {
             log.error("afterCompletion error!!", ex);
         }
+        // 스레드를 다음 요청이 재사용하므로 여기서 넣은 id는 지운다
+        if (request.getAttribute(MDC_OWNER) != null) {
+            MDC.remove(RequestIdGenerator.MDC_KEY);
+        }
     }
 }
 
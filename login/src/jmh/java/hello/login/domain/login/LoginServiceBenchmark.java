@@ -0,0 +1,82 @@
+package hello.login.domain.login;
+
+import hello.login.domain.member.Member;
+import hello.login.domain.member.MemberRepository;
+import hello.login.domain.member.PasswordHasher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 회원 수에 따른 로그인 시간
+ * loginId 색인으로 찾으므로 회원 수가 10명에서 1000만 명이 되어도 시간이 거의 같아야 한다.
+ * 1000만 명은 힙이 많이 필요하므로 jvmArgs로 늘린다.
+ * 찾는 시간만 재도록 비밀번호 해시는 반복 1번으로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class LoginServiceBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"10", "10000", "10000000"})
+    private int members;
+
+    private final MemberRepository memberRepository = new MemberRepository();
+    private final PasswordHasher passwordHasher = new PasswordHasher(1);
+    private final LoginService loginService = new LoginService(memberRepository, passwordHasher);
+
+    // 문자열 생성 비용이 섞이지 않도록 조회할 loginId를 미리 뽑아둔다
+    private final String[] loginIds = new String[SAMPLES];
+    private final String[] passwords = new String[SAMPLES];
+    private final String[] unknownIds = new String[SAMPLES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        memberRepository.clearStore();
+        for (int i = 0; i < members; i++) {
+            Member member = new Member();
+            member.setLoginId("member" + i);
+            member.setPassword(passwordHasher.hash("password" + i));
+            member.setName("name" + i);
+            memberRepository.save(member);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = random.nextInt(members);
+            loginIds[i] = "member" + index;
+            passwords[i] = "password" + index;
+            unknownIds[i] = "unknown" + index;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        memberRepository.clearStore();
+    }
+
+    @Benchmark
+    public Member loginSuccess() {
+        int i = ThreadLocalRandom.current().nextInt(SAMPLES);
+        return loginService.login(loginIds[i], passwords[i]);
+    }
+
+    @Benchmark
+    public Member loginUnknownId() {
+        return loginService.login(unknownIds[ThreadLocalRandom.current().nextInt(SAMPLES)], "password");
+    }
+}
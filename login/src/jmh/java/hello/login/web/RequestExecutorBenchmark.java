@@ -0,0 +1,98 @@
+package hello.login.web;
+
+import hello.login.VirtualThreadConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tomcat 플랫폼 스레드 풀과 가상 스레드 실행 비교 (처리량, 지연 시간 분포)
+ * 요청마다 세션, 저장소 I/O 대기를 sleep 으로 흉내 낸다.
+ * 동시 요청(클라이언트 스레드 400)이 풀 크기(server.tomcat.threads.max 기본값 200)보다 많으면
+ * 플랫폼 스레드는 풀이 빌 때까지 줄을 서므로 처리량이 풀 크기 / 대기 시간에서 멈추고 p99가 늘어난다.
+ * SampleTime 결과의 p0.99로 꼬리 지연을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class RequestExecutorBenchmark {
+
+    @Param({"platform", "virtual"})
+    private String executor;
+
+    @Param({"20"})
+    private int ioMillis;
+
+    private WebServer server;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.setRegisterDefaultServlet(false);
+        factory.addConnectorCustomizers(connector -> connector.setProperty("maxThreads", "200"));
+        if ("virtual".equals(executor)) {
+            factory.addProtocolHandlerCustomizers(new VirtualThreadConfig().virtualThreadProtocolHandlerCustomizer());
+        }
+        server = factory.getWebServer(context -> context.addServlet("io", new IoServlet(ioMillis)).addMapping("/io"));
+        server.start();
+
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/io")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static class IoServlet extends HttpServlet {
+
+        private final int ioMillis;
+
+        IoServlet(int ioMillis) {
+            this.ioMillis = ioMillis;
+        }
+
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            try {
+                Thread.sleep(ioMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            response.getWriter().write("ok");
+        }
+    }
+}
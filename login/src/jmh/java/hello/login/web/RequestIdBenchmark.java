@@ -0,0 +1,40 @@
+package hello.login.web;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그 요청 id 생성 비교 (UUID 문자열, RequestIdGenerator)
+ * 할당량은 -prof gc 로 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class RequestIdBenchmark {
+
+    @Benchmark
+    public String createUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String createRequestId() {
+        return RequestIdGenerator.generate();
+    }
+
+    @Threads(1)
+    public static class Threads1 extends RequestIdBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends RequestIdBenchmark {
+    }
+}
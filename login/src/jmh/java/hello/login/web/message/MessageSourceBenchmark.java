@@ -0,0 +1,89 @@
+package hello.login.web.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.FieldError;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageSourceTest의 메시지 찾기를 여러 스레드에서 동시에 할 때
+ * ResourceBundleMessageSource(스프링 부트 기본)와 PreloadedMessageSource를 비교한다.
+ * 오류 메시지(range, Bean Validation Range 필드 이름 인자)도 함께 찾는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class MessageSourceBenchmark {
+
+    @Param({"resourceBundle", "preloaded"})
+    private String source;
+
+    private MessageSource messageSource;
+
+    private final Object[] helloArgs = {"Spring"};
+    private final FieldError rangeError = new FieldError("item", "price", 10, false,
+            new String[]{"range.item.price", "range.price", "range.java.lang.Integer", "range"},
+            new Object[]{1000, 1000000}, null);
+    private final FieldError beanValidationError = new FieldError("item", "price", 10, false,
+            new String[]{"Range.item.price", "Range.price", "Range.java.lang.Integer", "Range"},
+            new Object[]{new DefaultMessageSourceResolvable(new String[]{"item.price", "price"}, "price"), 1000000, 1000},
+            "must be between 1000 and 1000000");
+
+    @Setup
+    public void setUp() {
+        MessageSourceProperties properties = new MessageSourceProperties();
+        properties.setBasename("messages,errors");
+        if ("preloaded".equals(source)) {
+            messageSource = new PreloadedMessageSource(properties);
+            return;
+        }
+        ResourceBundleMessageSource resourceBundleMessageSource = new ResourceBundleMessageSource();
+        resourceBundleMessageSource.setBasenames("messages", "errors");
+        resourceBundleMessageSource.setDefaultEncoding("UTF-8");
+        messageSource = resourceBundleMessageSource;
+    }
+
+    @Benchmark
+    public String helloMessage() {
+        return messageSource.getMessage("hello", null, null);
+    }
+
+    @Benchmark
+    public String enLang() {
+        return messageSource.getMessage("hello", null, Locale.ENGLISH);
+    }
+
+    @Benchmark
+    public String argumentMessage() {
+        return messageSource.getMessage("hello.name", helloArgs, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String notFoundMessageCodeDefaultMessage() {
+        return messageSource.getMessage("no_code", null, "기본 메시지", null);
+    }
+
+    @Benchmark
+    public String rangeError() {
+        return messageSource.getMessage(rangeError, Locale.KOREA);
+    }
+
+    @Benchmark
+    public String beanValidationError() {
+        return messageSource.getMessage(beanValidationError, Locale.US);
+    }
+}
@@ -0,0 +1,94 @@
+package hello.login.web.path;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PatternMatchUtils;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 화이트 리스트 패턴 수에 따른 URL 비교 비용
+ * PatternMatchUtils.simpleMatch(필터), AntPathMatcher(인터셉터 addPathPatterns), 컴파일한 PathPatterns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PathPatternsBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"5", "300"})
+    private int patterns;
+
+    private String[] simplePatterns;
+    private String[] antPatterns;
+    private PathPatterns compiled;
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    // 절반은 패턴에 걸리고 절반은 걸리지 않는 경로
+    private final String[] paths = new String[SAMPLES];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        simplePatterns = new String[patterns];
+        antPatterns = new String[patterns];
+        for (int i = 0; i < patterns; i++) {
+            switch (i % 3) {
+                case 0:
+                    simplePatterns[i] = "/page" + i;
+                    antPatterns[i] = "/page" + i;
+                    break;
+                case 1:
+                    simplePatterns[i] = "/static" + i + "/*";
+                    antPatterns[i] = "/static" + i + "/**";
+                    break;
+                default:
+                    simplePatterns[i] = "/api/v" + i + "/*";
+                    antPatterns[i] = "/api/v" + i + "/*";
+            }
+        }
+        compiled = PathPatterns.compile(antPatterns);
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < SAMPLES; i++) {
+            int n = random.nextInt(patterns);
+            paths[i] = random.nextBoolean()
+                    ? antPatterns[n].replace("/**", "/css/app.css").replace("/*", "/members")
+                    : "/items/" + n + "/edit";
+        }
+    }
+
+    @Benchmark
+    public boolean simpleMatch() {
+        return PatternMatchUtils.simpleMatch(simplePatterns, nextPath());
+    }
+
+    @Benchmark
+    public boolean antPathMatcher() {
+        String path = nextPath();
+        for (String pattern : antPatterns) {
+            if (antPathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean pathPatterns() {
+        return compiled.matches(nextPath());
+    }
+
+    private String nextPath() {
+        return paths[ThreadLocalRandom.current().nextInt(SAMPLES)];
+    }
+}
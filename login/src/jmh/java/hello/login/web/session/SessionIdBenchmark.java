@@ -0,0 +1,58 @@
+package hello.login.web.session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UUID 문자열 세션 id와 SessionId 생성 비교, 쿠키 값 파싱 비용
+ * UUID.randomUUID()의 공유 SecureRandom 경합이 드러나도록 스레드 수별로 나눈다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class SessionIdBenchmark {
+
+    private final SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
+    private String sessionIdCookie;
+
+    @Setup
+    public void setUp() {
+        sessionIdCookie = sessionIdGenerator.generate().encode();
+    }
+
+    @Benchmark
+    public String createUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String createSessionId() {
+        return sessionIdGenerator.generate().encode();
+    }
+
+    @Benchmark
+    public Object parseSessionId() {
+        return SessionId.parse(sessionIdCookie);
+    }
+
+    @Threads(1)
+    public static class Threads1 extends SessionIdBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends SessionIdBenchmark {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends SessionIdBenchmark {
+    }
+}
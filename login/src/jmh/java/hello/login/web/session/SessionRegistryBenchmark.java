@@ -0,0 +1,102 @@
+package hello.login.web.session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 단일 ConcurrentHashMap 세션 저장소(UUID 문자열 키)와 샤드 저장소(SessionRegistry, SessionId 키) 비교
+ * ./gradlew jmh 로 실행, 스레드 수(1, 8, 32, 64)별로 하위 클래스가 나뉜다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class SessionRegistryBenchmark {
+
+    private static final int SESSIONS = 100_000;
+
+    @Param({"concurrentHashMap", "sharded"})
+    String store;
+
+    private Map<String, Object> map;
+    private SessionRegistry registry;
+    private String[] uuids;
+    private SessionId[] sessionIds;
+    private final SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
+
+    @Setup
+    public void setUp() {
+        SessionProperties properties = new SessionProperties();
+        properties.setMaxEntries(1_000_000); // 제거 정책이 끼어들지 않도록 충분히 크게
+        properties.setMaxBytes(DataSize.ofGigabytes(64));
+
+        map = new ConcurrentHashMap<>();
+        registry = new SessionRegistry(Runtime.getRuntime().availableProcessors(),
+                TimeUnit.MINUTES.toMillis(30), properties, System.currentTimeMillis());
+
+        uuids = new String[SESSIONS];
+        sessionIds = new SessionId[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            uuids[i] = UUID.randomUUID().toString();
+            sessionIds[i] = sessionIdGenerator.generate();
+            if ("sharded".equals(store)) {
+                registry.put(new ManagedSession(sessionIds[i], uuids[i], System.currentTimeMillis()));
+            } else {
+                map.put(uuids[i], uuids[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    public Object getSession() {
+        int index = ThreadLocalRandom.current().nextInt(SESSIONS);
+        if ("sharded".equals(store)) {
+            ManagedSession session = registry.get(sessionIds[index], System.currentTimeMillis());
+            return session != null ? session.getValue() : null;
+        }
+        return map.get(uuids[index]);
+    }
+
+    @Benchmark
+    public Object createAndExpireSession() {
+        // 로그인 후 로그아웃: 저장소 크기는 일정하게 유지된다
+        if ("sharded".equals(store)) {
+            SessionId sessionId = sessionIdGenerator.generate();
+            registry.put(new ManagedSession(sessionId, "member", System.currentTimeMillis()));
+            registry.remove(sessionId);
+            return registry;
+        }
+        String sessionId = UUID.randomUUID().toString();
+        map.put(sessionId, "member");
+        return map.remove(sessionId);
+    }
+
+    @Threads(1)
+    public static class Threads1 extends SessionRegistryBenchmark {
+    }
+
+    @Threads(8)
+    public static class Threads8 extends SessionRegistryBenchmark {
+    }
+
+    @Threads(32)
+    public static class Threads32 extends SessionRegistryBenchmark {
+    }
+
+    @Threads(64)
+    public static class Threads64 extends SessionRegistryBenchmark {
+    }
+}
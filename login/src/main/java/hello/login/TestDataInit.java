@@ -4,6 +4,7 @@ import hello.login.domain.item.Item;
 import hello.login.domain.item.ItemRepository;
 import hello.login.domain.member.Member;
 import hello.login.domain.member.MemberRepository;
+import hello.login.domain.member.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
@@ -15,21 +16,28 @@ public class TestDataInit {
 
     private final ItemRepository itemRepository;
     private final MemberRepository memberRepository;
+    private final PasswordHasher passwordHasher;
 
     /**
      * 테스트용 데이터 추가
      */
     @PostConstruct
     public void init() {
-        itemRepository.save(new Item("itemA", 10000, 10));
-        itemRepository.save(new Item("itemB", 20000, 20));
+        // 디스크 저장소(storage.enabled)는 재시작해도 남아 있으므로 비어 있을 때만 추가한다
+        if (itemRepository.stream().findAny().isEmpty()) {
+            itemRepository.save(new Item("itemA", 10000, 10));
+            itemRepository.save(new Item("itemB", 20000, 20));
+        }
 
         Member member = new Member();
         member.setLoginId("test");
-        member.setPassword("test!");
         member.setName("테스터");
 
-        memberRepository.save(member);
+        // 재시작하거나(디스크 저장소) 애플리케이션 컨텍스트를 다시 띄우면(static 메모리 저장소) 이미 등록되어 있다
+        if (memberRepository.findByLoginId(member.getLoginId()).isEmpty()) {
+            member.setPassword(passwordHasher.hash("test!"));
+            memberRepository.save(member);
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package hello.login;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * spring.threads.virtual.enabled=true 이면 Tomcat 요청을 요청마다 새 가상 스레드에서 실행한다.
+ * 느린 I/O를 기다리는 동안 플랫폼 스레드를 붙잡지 않으므로 server.tomcat.threads.max 보다 많은 요청을 함께 처리한다.
+ * 동시 요청 수를 스레드 풀이 제한하지 않으므로 server.tomcat.max-connections, accept-count가 상한이 된다.
+ * 요청 경로의 코드는 이렇게 맞춰 두었다.
+ * - 잠근 채 기록을 기다리는 곳은 synchronized 대신 Lock을 쓴다. synchronized 안에서 멈춘 가상 스레드는 carrier 스레드를 붙잡는다.
+ * - 만들기 비싼 스레드별(ThreadLocal) 인스턴스는 가상 스레드에서는 풀에서 빌려 쓴다. 요청마다 새 스레드이므로 ThreadLocal은 매번 새로 만든다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        log.info("tomcat requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(new VirtualThreadExecutor("tomcat-handler-"));
+    }
+}
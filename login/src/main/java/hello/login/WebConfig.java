@@ -1,10 +1,18 @@
 package hello.login;
 
+import hello.login.web.accesslog.AccessLog;
 import hello.login.web.argumentResolver.LoginMemberArgumentResolver;
 import hello.login.web.filter.LogFilter;
 import hello.login.web.filter.LoginCheckFilter;
 import hello.login.web.interceptor.LogInterceptor;
 import hello.login.web.interceptor.LoginCheckInterceptor;
+import hello.login.web.login.LoginSessionCheck;
+import hello.login.web.metrics.HandlerMetrics;
+import hello.login.web.path.PathMatchingInterceptor;
+import hello.login.web.token.LoginTokenFilter;
+import hello.login.web.token.LoginTokenService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,30 +24,36 @@ import javax.servlet.Filter;
 import java.util.List;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private final AccessLog accessLog;
+    private final HandlerMetrics handlerMetrics;
+    private final LoginSessionCheck loginSessionCheck;
+
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
-        resolvers.add(new LoginMemberArgumentResolver());
+        resolvers.add(new LoginMemberArgumentResolver(loginSessionCheck));
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new LogInterceptor())
-                .order(1)
-                .addPathPatterns("/**")
-                .excludePathPatterns("/css/**", "/*.ico", "/error");
-
-        registry.addInterceptor(new LoginCheckInterceptor())
-                .order(2)
-                .addPathPatterns("/**")
-                .excludePathPatterns("/", "/members/add", "/login", "/css/**", "/*.ico", "/error");
+        // 경로 패턴은 PathMatchingInterceptor가 시작할 때 한 번 컴파일해서 비교한다
+        registry.addInterceptor(new PathMatchingInterceptor(new LogInterceptor(accessLog, handlerMetrics))
+                        .addPathPatterns("/**")
+                        .excludePathPatterns("/css/**", "/*.ico", "/error"))
+                .order(1);
+
+        registry.addInterceptor(new PathMatchingInterceptor(new LoginCheckInterceptor(loginSessionCheck))
+                        .addPathPatterns("/**")
+                        .excludePathPatterns("/", "/members/add", "/login", "/css/**", "/*.ico", "/error"))
+                .order(2);
     }
 
 //    @Bean
     public FilterRegistrationBean logFilter(){
         FilterRegistrationBean<Filter> filterFilterRegistrationBean = new FilterRegistrationBean<>();
-        filterFilterRegistrationBean.setFilter(new LogFilter());
+        filterFilterRegistrationBean.setFilter(new LogFilter(accessLog));
         filterFilterRegistrationBean.setOrder(1);
         filterFilterRegistrationBean.addUrlPatterns("/*");
 
@@ -49,11 +63,26 @@ public class WebConfig implements WebMvcConfigurer {
 //    @Bean
     public FilterRegistrationBean loginCheckFilter(){
         FilterRegistrationBean<Filter> filterFilterRegistrationBean = new FilterRegistrationBean<>();
-        filterFilterRegistrationBean.setFilter(new LoginCheckFilter());
+        filterFilterRegistrationBean.setFilter(new LoginCheckFilter(loginSessionCheck));
         filterFilterRegistrationBean.setOrder(2);
         filterFilterRegistrationBean.addUrlPatterns("/*");
 
         return filterFilterRegistrationBean;
     }
 
+    /**
+     * 서명 토큰 모드 (login.stateless.enabled)
+     * 다른 필터와 인터셉터가 세션 대신 검증된 토큰을 보도록 가장 먼저 실행한다.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "login.stateless", name = "enabled", havingValue = "true")
+    public FilterRegistrationBean<LoginTokenFilter> loginTokenFilter(LoginTokenService loginTokenService){
+        FilterRegistrationBean<LoginTokenFilter> filterFilterRegistrationBean = new FilterRegistrationBean<>();
+        filterFilterRegistrationBean.setFilter(new LoginTokenFilter(loginTokenService));
+        filterFilterRegistrationBean.setOrder(0);
+        filterFilterRegistrationBean.addUrlPatterns("/*");
+
+        return filterFilterRegistrationBean;
+    }
+
 }
@@ -10,6 +10,8 @@ public class Item {
     private Integer price;
     private Integer quantity;
 
+    private Long version; // 수정할 때마다 1씩 증가 (저장하면 1)
+
     public Item() {
     }
 
@@ -0,0 +1,43 @@
+package hello.login.domain.item;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 페이지 위치 (마지막 상품의 id와 정렬 값)
+ * 쿼리 파라미터로 주고받으므로 base64url("id" 또는 "id:정렬 값")로 감싼다.
+ */
+final class ItemCursor {
+
+    final long id;
+    final String value; // id 정렬이거나 정렬 값이 null 이면 null
+
+    private ItemCursor(long id, String value) {
+        this.id = id;
+        this.value = value;
+    }
+
+    static String encode(long id, Object value) {
+        String cursor = value != null ? id + ":" + value : Long.toString(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return 없거나 잘못된 값이면 null (처음부터 조회)
+     */
+    static ItemCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int colon = decoded.indexOf(':');
+            if (colon < 0) {
+                return new ItemCursor(Long.parseLong(decoded), null);
+            }
+            return new ItemCursor(Long.parseLong(decoded.substring(0, colon)), decoded.substring(colon + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
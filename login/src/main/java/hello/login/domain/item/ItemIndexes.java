@@ -0,0 +1,48 @@
+package hello.login.domain.item;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 상품 저장소 하나에 딸린 색인과 수정 잠금
+ * 메모리 저장소는 static 이므로 색인도 함께 공유해야 한다.
+ */
+final class ItemIndexes {
+
+    private static final int LOCK_STRIPES = 64;
+
+    final ItemIndex<String> name = new ItemIndex<>(Item::getItemName);
+    final ItemIndex<Integer> price = new ItemIndex<>(Item::getPrice);
+    final ItemIndex<Integer> quantity = new ItemIndex<>(Item::getQuantity);
+
+    // 같은 상품의 (저장소 교체, 색인 반영)이 섞이지 않도록 수정만 잠근다 (조회는 잠그지 않는다)
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    ItemIndexes() {
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    Lock lockFor(long id) {
+        return locks[(int) (id & (LOCK_STRIPES - 1))];
+    }
+
+    void add(Item item) {
+        name.add(item);
+        price.add(item);
+        quantity.add(item);
+    }
+
+    void remove(Item item) {
+        name.remove(item);
+        price.remove(item);
+        quantity.remove(item);
+    }
+
+    void clear() {
+        name.clear();
+        price.clear();
+        quantity.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package hello.login.domain.item;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 목록 한 페이지
+ * 다음 페이지는 nextCursor(이 페이지 마지막 상품 위치) 다음부터 조회하므로
+ * 앞 페이지에 상품이 추가, 삭제되어도 건너뛰거나 중복되지 않는다.
+ */
+@Getter
+public class ItemPage {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private final List<Item> items;
+    private final ItemSort sort;
+    private final String nextCursor; // 마지막 페이지면 null
+
+    public ItemPage(List<Item> items, ItemSort sort, String nextCursor) {
+        this.items = items;
+        this.sort = sort;
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -1,41 +1,266 @@
 package hello.login.domain.item;
 
+import hello.login.domain.storage.MemoryRecordStore;
+import hello.login.domain.storage.RecordStore;
+import hello.login.domain.storage.Storage;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Repository
 public class ItemRepository {
 
-    private static final Map<Long, Item> store = new HashMap<>(); //static
-    private static long sequence = 0L; //static
+    private static final RecordStore<Item> memoryStore = new MemoryRecordStore<>(); //static
+    private static final ItemIndexes memoryIndexes = new ItemIndexes(); //static
+
+    private final RecordStore<Item> store;
+    private final ItemIndexes indexes;
+
+    /**
+     * 메모리 저장소 (재시작하면 사라진다)
+     */
+    public ItemRepository() {
+        this.store = memoryStore;
+        this.indexes = memoryIndexes;
+    }
+
+    /**
+     * storage.enabled=true 이면 디스크 저장소(storage.path/items)에 기록하고, 시작할 때 색인을 다시 만든다.
+     */
+    @Autowired
+    public ItemRepository(ObjectProvider<Storage> storage) {
+        Storage available = storage.getIfAvailable();
+        if (available == null) {
+            this.store = memoryStore;
+            this.indexes = memoryIndexes;
+            return;
+        }
+        this.store = available.open("items", new ItemCodec());
+        this.indexes = new ItemIndexes();
+        store.iterator(0).forEachRemaining(indexes::add);
+    }
 
     public Item save(Item item) {
-        item.setId(++sequence);
-        store.put(item.getId(), item);
+        item.setId(store.nextId());
+        item.setVersion(1L);
+        Item stored = copyOf(item);
+        store.put(stored.getId(), stored);
+        indexes.add(stored);
         return item;
     }
 
     public Item findById(Long id) {
-        return store.get(id);
+        Item item = id != null ? store.get(id) : null;
+        return item != null ? copyOf(item) : null;
     }
 
     public List<Item> findAll() {
-        return new ArrayList<>(store.values());
+        return store.findAll().stream()
+                .map(ItemRepository::copyOf)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 정렬한 상품 목록 한 페이지 (keyset pagination)
+     * 전체를 복사하지 않고 after 다음부터 size 만큼만 읽는다.
+     * @param after 이전 페이지의 nextCursor, 첫 페이지는 null
+     * @param size 최대 ItemPage.MAX_SIZE
+     */
+    public ItemPage findPage(ItemSort sort, String after, int size) {
+        int limit = limitOf(size);
+        ItemCursor cursor = ItemCursor.decode(after);
+
+        // 다음 페이지가 있는지 알기 위해 하나 더 읽는다
+        List<Item> items;
+        switch (sort) {
+            case NAME:
+                items = findPage(indexes.name, Function.identity(), cursor, limit + 1);
+                break;
+            case PRICE:
+                items = findPage(indexes.price, Integer::valueOf, cursor, limit + 1);
+                break;
+            default:
+                items = take(store.iterator(cursor != null ? cursor.id : 0), limit + 1);
+        }
+
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items.remove(limit);
+            Item last = items.get(limit - 1);
+            Object value = sort == ItemSort.NAME ? last.getItemName() : sort == ItemSort.PRICE ? last.getPrice() : null;
+            nextCursor = ItemCursor.encode(last.getId(), value);
+        }
+        return new ItemPage(items, sort, nextCursor);
+    }
+
+    /**
+     * 가격이 minPrice 이상 maxPrice 이하인 상품 (가격, id 순서)
+     * @param minPrice null이면 하한 없음
+     * @param maxPrice null이면 상한 없음
+     */
+    public List<Item> findByPriceBetween(Integer minPrice, Integer maxPrice, int size) {
+        return find(indexes.price, indexes.price.range(minPrice, maxPrice), item -> true, limitOf(size));
+    }
+
+    /**
+     * 수량이 minQuantity 이상 maxQuantity 이하인 상품 (수량, id 순서)
+     */
+    public List<Item> findByQuantityBetween(Integer minQuantity, Integer maxQuantity, int size) {
+        return find(indexes.quantity, indexes.quantity.range(minQuantity, maxQuantity), item -> true, limitOf(size));
+    }
+
+    /**
+     * 이름이 prefix로 시작하는 상품 (이름, id 순서) - 입력하는 동안 검색어 자동 완성
+     */
+    public List<Item> findByItemNameStartingWith(String prefix, int size) {
+        return find(indexes.name, nameRange(prefix), item -> true, limitOf(size));
+    }
+
+    /**
+     * 조건에 맞는 상품
+     * 이름 > 가격 > 수량 순서로 조건이 있는 색인 하나를 따라가며 읽고, 나머지 조건은 상품마다 확인한다.
+     * 조건이 없으면 id 순서로 읽는다.
+     */
+    public List<Item> search(ItemSearch cond, int size) {
+        int limit = limitOf(size);
+        if (cond.hasItemName()) {
+            return find(indexes.name, nameRange(cond.getItemName()), cond::matches, limit);
+        }
+        if (cond.hasPrice()) {
+            return find(indexes.price, indexes.price.range(cond.getMinPrice(), cond.getMaxPrice()), cond::matches, limit);
+        }
+        if (cond.hasQuantity()) {
+            return find(indexes.quantity, indexes.quantity.range(cond.getMinQuantity(), cond.getMaxQuantity()),
+                    cond::matches, limit);
+        }
+        return take(store.iterator(0), limit);
+    }
+
+    /**
+     * id 순서로 모든 상품 (내보내기용)
+     * 전체를 복사하지 않고 소비하는 만큼 저장소에서 읽는다.
+     */
+    public Stream<Item> stream() {
+        Spliterator<Item> items = Spliterators.spliteratorUnknownSize(store.iterator(0),
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(items, false).map(ItemRepository::copyOf);
     }
 
-    public void update(Long itemId, Item updateParam) {
-        Item findItem = findById(itemId);
-        findItem.setItemName(updateParam.getItemName());
-        findItem.setPrice(updateParam.getPrice());
-        findItem.setQuantity(updateParam.getQuantity());
+    /**
+     * 저장된 상품은 바꾸지 않고 새 버전을 만들어 compare-and-set으로 교체한다.
+     * 조회는 잠그지 않으며 항상 수정 전이나 수정 후의 온전한 상품을 본다.
+     * @param updateParam version이 있으면 저장된 version과 같을 때만 수정한다 (없으면 마지막 수정이 남는다)
+     * @return 수정된 상품 (version 1 증가)
+     * @throws ItemVersionConflictException 다른 요청이 먼저 수정한 경우
+     */
+    public Item update(Long itemId, Item updateParam) {
+        while (true) {
+            Item current = findStored(itemId);
+            long currentVersion = current.getVersion() != null ? current.getVersion() : 0L;
+            if (updateParam.getVersion() != null && updateParam.getVersion() != currentVersion) {
+                throw new ItemVersionConflictException(itemId, updateParam.getVersion(), currentVersion);
+            }
+
+            Item next = new Item(updateParam.getItemName(), updateParam.getPrice(), updateParam.getQuantity());
+            next.setId(itemId);
+            next.setVersion(currentVersion + 1);
+            Lock lock = indexes.lockFor(itemId);
+            lock.lock();
+            try {
+                if (store.replace(itemId, current, next)) {
+                    // 새 항목을 먼저 넣어서 조회 중에 상품이 색인에서 빠져 보이지 않게 한다
+                    indexes.add(next);
+                    indexes.remove(current);
+                    return copyOf(next);
+                }
+            } finally {
+                lock.unlock();
+            }
+            // 그 사이 다른 요청이 수정했다 (version을 지정했으면 다음 반복에서 충돌)
+        }
     }
 
     public void clearStore() {
         store.clear();
+        indexes.clear();
+    }
+
+    private <V extends Comparable<? super V>> List<Item> findPage(ItemIndex<V> index, Function<String, V> parse,
+                                                                 ItemCursor cursor, int limit) {
+        Iterator<ItemIndex.Entry<V>> entries = index.iterator();
+        if (cursor != null) {
+            try {
+                entries = index.after(cursor.value != null ? parse.apply(cursor.value) : null, cursor.id);
+            } catch (IllegalArgumentException e) {
+                // 다른 정렬의 cursor, 처음부터
+            }
+        }
+
+        return find(index, entries, item -> true, limit);
+    }
+
+    /**
+     * 색인 순서로 filter에 맞는 상품을 limit 개까지 (색인이 가리키는 상품의 현재 값과 다시 확인한다)
+     */
+    private <V extends Comparable<? super V>> List<Item> find(ItemIndex<V> index, Iterator<ItemIndex.Entry<V>> entries,
+                                                             Predicate<Item> filter, int limit) {
+        List<Item> items = new ArrayList<>(limit);
+        while (items.size() < limit && entries.hasNext()) {
+            ItemIndex.Entry<V> entry = entries.next();
+            Item item = store.get(entry.id);
+            if (index.matches(entry, item) && filter.test(item)) {
+                items.add(copyOf(item));
+            }
+        }
+        return items;
+    }
+
+    private Iterator<ItemIndex.Entry<String>> nameRange(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            return indexes.name.range(null, null);
+        }
+        // prefix로 시작하는 문자열은 모두 prefix 이상, prefix + Character.MAX_VALUE 이하
+        return indexes.name.range(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private static int limitOf(int size) {
+        return Math.min(Math.max(size, 1), ItemPage.MAX_SIZE);
+    }
+
+    private static List<Item> take(Iterator<Item> iterator, int limit) {
+        List<Item> items = new ArrayList<>(limit);
+        while (items.size() < limit && iterator.hasNext()) {
+            items.add(copyOf(iterator.next()));
+        }
+        return items;
+    }
+
+    private Item findStored(Long itemId) {
+        Item item = itemId != null ? store.get(itemId) : null;
+        if (item == null) {
+            throw new IllegalArgumentException("item not found id=" + itemId);
+        }
+        return item;
+    }
+
+    // 저장소에 넣은 상품은 공유하므로 밖으로는 복사본만 준다
+    private static Item copyOf(Item item) {
+        Item copy = new Item(item.getItemName(), item.getPrice(), item.getQuantity());
+        copy.setId(item.getId());
+        copy.setVersion(item.getVersion());
+        return copy;
     }
 
 }
@@ -0,0 +1,48 @@
+package hello.login.domain.item;
+
+import lombok.Data;
+
+/**
+ * 상품 검색 조건 (null인 조건은 쓰지 않는다)
+ * 이름은 앞부분이 같은 상품, 가격과 수량은 min 이상 max 이하인 상품을 찾는다.
+ */
+@Data
+public class ItemSearch {
+
+    private String itemName;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer minQuantity;
+    private Integer maxQuantity;
+
+    public ItemSearch() {
+    }
+
+    public ItemSearch(String itemName, Integer minPrice, Integer maxPrice) {
+        this.itemName = itemName;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+    }
+
+    boolean hasItemName() {
+        return itemName != null && !itemName.isEmpty();
+    }
+
+    boolean hasPrice() {
+        return minPrice != null || maxPrice != null;
+    }
+
+    boolean hasQuantity() {
+        return minQuantity != null || maxQuantity != null;
+    }
+
+    boolean matches(Item item) {
+        return (!hasItemName() || (item.getItemName() != null && item.getItemName().startsWith(itemName)))
+                && (!hasPrice() || between(item.getPrice(), minPrice, maxPrice))
+                && (!hasQuantity() || between(item.getQuantity(), minQuantity, maxQuantity));
+    }
+
+    private static boolean between(Integer value, Integer min, Integer max) {
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
@@ -2,6 +2,7 @@ package hello.login.domain.login;
 
 import hello.login.domain.member.Member;
 import hello.login.domain.member.MemberRepository;
+import hello.login.domain.member.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -12,6 +13,7 @@ import java.util.Optional;
 public class LoginService {
 
     private final MemberRepository memberRepository;
+    private final PasswordHasher passwordHasher;
 
     /**
      *
@@ -29,7 +31,20 @@ public class LoginService {
 
         // 람다 코드
         return memberRepository.findByLoginId(loginId)
-                .filter(m -> m.getPassword().equals(password))
+                .filter(m -> matches(m, password))
                 .orElse(null);
     }
+
+    private boolean matches(Member member, String password) {
+        if (passwordHasher.isHashed(member.getPassword())) {
+            return passwordHasher.matches(password, member.getPassword());
+        }
+        // 비밀번호를 해시로 저장하기 전에 가입한 회원: 맞으면 해시로 바꿔 저장한다
+        if (password == null || !password.equals(member.getPassword())) {
+            return false;
+        }
+        member.setPassword(passwordHasher.hash(password));
+        memberRepository.update(member);
+        return true;
+    }
 }
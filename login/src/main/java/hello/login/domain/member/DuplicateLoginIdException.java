@@ -0,0 +1,13 @@
+package hello.login.domain.member;
+
+/**
+ * 이미 사용 중인 loginId로 가입하는 경우
+ */
+public class DuplicateLoginIdException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public DuplicateLoginIdException(String loginId) {
+        super("duplicate loginId: " + loginId);
+    }
+}
@@ -0,0 +1,27 @@
+package hello.login.domain.member;
+
+import hello.login.domain.storage.RecordCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+class MemberCodec implements RecordCodec<Member> {
+
+    @Override
+    public void write(Member member, DataOutput out) throws IOException {
+        RecordCodec.writeString(out, member.getLoginId());
+        RecordCodec.writeString(out, member.getName());
+        RecordCodec.writeString(out, member.getPassword());
+    }
+
+    @Override
+    public Member read(long id, DataInput in) throws IOException {
+        Member member = new Member();
+        member.setId(id);
+        member.setLoginId(RecordCodec.readString(in));
+        member.setName(RecordCodec.readString(in));
+        member.setPassword(RecordCodec.readString(in));
+        return member;
+    }
+}
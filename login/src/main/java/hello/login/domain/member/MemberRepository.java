@@ -1,26 +1,86 @@
 package hello.login.domain.member;
 
+import hello.login.domain.storage.MemoryRecordStore;
+import hello.login.domain.storage.RecordStore;
+import hello.login.domain.storage.Storage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * 동시에 가입, 로그인해도 안전한 회원 저장소
+ * loginId 고유 색인을 두어 로그인 시 전체 회원을 복사해서 찾지 않는다.
+ * 저장한 뒤 loginId를 바꾸면 색인과 어긋나므로 loginId는 가입 후 바꾸지 않는다.
+ */
 @Slf4j
 @Repository
 public class MemberRepository {
 
-    private static Map<Long, Member> store = new HashMap<>(); // static 사용
-    private static long sequence = 0L; // static
+    private static final RecordStore<Member> memoryStore = new MemoryRecordStore<>(); // static 사용
+    private static final Map<String, Long> memoryLoginIdIndex = new ConcurrentHashMap<>(); // static
 
+    private final RecordStore<Member> store;
+    private final Map<String, Long> loginIdIndex; // loginId 고유 색인 (loginId -> id)
+
+    /**
+     * 메모리 저장소 (재시작하면 사라진다)
+     */
+    public MemberRepository() {
+        this.store = memoryStore;
+        this.loginIdIndex = memoryLoginIdIndex;
+    }
+
+    /**
+     * storage.enabled=true 이면 디스크 저장소(storage.path/members)에 기록하고, 시작할 때 색인을 다시 만든다.
+     */
+    @Autowired
+    public MemberRepository(ObjectProvider<Storage> storage) {
+        Storage available = storage.getIfAvailable();
+        if (available == null) {
+            this.store = memoryStore;
+            this.loginIdIndex = memoryLoginIdIndex;
+            return;
+        }
+        this.store = available.open("members", new MemberCodec());
+        this.loginIdIndex = new ConcurrentHashMap<>();
+        for (Member member : store.findAll()) {
+            loginIdIndex.put(member.getLoginId(), member.getId());
+        }
+    }
+
+    /**
+     * @throws DuplicateLoginIdException 같은 loginId로 가입한 회원이 있는 경우
+     */
     public Member save(Member member){
-        member.setId(++sequence);
+        long id = store.nextId();
+        // 색인을 먼저 차지해서 같은 loginId로 동시에 가입해도 한 명만 저장된다
+        if (loginIdIndex.putIfAbsent(member.getLoginId(), id) != null) {
+            throw new DuplicateLoginIdException(member.getLoginId());
+        }
+        member.setId(id);
         log.info("save: member={}", member);
-        store.put(member.getId(), member);
+        try {
+            store.put(id, member);
+        } catch (RuntimeException e) {
+            loginIdIndex.remove(member.getLoginId(), id);
+            throw e;
+        }
         return member;
     }
 
+    /**
+     * 저장한 회원 정보 변경 (loginId는 바꾸지 않는다)
+     */
+    public void update(Member member) {
+        store.put(member.getId(), member);
+    }
+
     public Member findById(Long id){
-        return store.get(id);
+        return id != null ? store.get(id) : null;
     }
 
     public Optional<Member> findByLoginId(String loginId){
@@ -35,16 +95,21 @@ public class MemberRepository {
 //        return Optional.empty(); // 위 코드와 같은 로직이다.
 
         // 람다 코드
-        return findAll().stream()
-                .filter(m -> m.getLoginId().equals(loginId))
-                .findFirst();
+//        return findAll().stream()
+//                .filter(m -> m.getLoginId().equals(loginId))
+//                .findFirst();
+
+        // 색인 조회 (회원 수와 관계없이 일정)
+        Long id = loginId != null ? loginIdIndex.get(loginId) : null;
+        return id != null ? Optional.ofNullable(store.get(id)) : Optional.empty();
     }
 
     public List<Member> findAll(){
-        return new ArrayList<>(store.values());
+        return store.findAll();
     }
 
     public void clearStore(){
         store.clear();
+        loginIdIndex.clear();
     }
 }
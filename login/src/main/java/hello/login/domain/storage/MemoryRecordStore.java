@@ -0,0 +1,52 @@
+package hello.login.domain.storage;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메모리 저장소 (재시작하면 사라진다)
+ * 저장한 객체를 그대로 보관하므로 꺼낸 객체를 수정하면 저장소에도 반영된다.
+ */
+public class MemoryRecordStore<T> implements RecordStore<T> {
+
+    private final ConcurrentSkipListMap<Long, T> store = new ConcurrentSkipListMap<>(); // id 순서
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public T get(long id) {
+        return store.get(id);
+    }
+
+    @Override
+    public void put(long id, T record) {
+        store.put(id, record);
+    }
+
+    @Override
+    public boolean replace(long id, T expected, T updated) {
+        return store.replace(id, expected, updated);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public Iterator<T> iterator(long afterId) {
+        return store.tailMap(afterId, false).values().iterator();
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+}
@@ -0,0 +1,90 @@
+package hello.login.domain.storage;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * 키 순서로 정렬된 여러 항목 목록을 하나로 합친다.
+ * 같은 키가 여러 곳에 있으면 앞(최신) 목록의 값만 남긴다.
+ */
+final class MergeIterator implements Iterator<KeyValue> {
+
+    private final PriorityQueue<Source> queue = new PriorityQueue<>();
+    private final boolean skipTombstones;
+    private KeyValue next;
+
+    /**
+     * @param sources 최신 순서
+     * @param skipTombstones 삭제 표시를 결과에서 뺀다
+     */
+    MergeIterator(List<Iterator<KeyValue>> sources, boolean skipTombstones) {
+        this.skipTombstones = skipTombstones;
+        for (int rank = 0; rank < sources.size(); rank++) {
+            Iterator<KeyValue> source = sources.get(rank);
+            if (source.hasNext()) {
+                queue.add(new Source(rank, source));
+            }
+        }
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public KeyValue next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        KeyValue current = next;
+        advance();
+        return current;
+    }
+
+    private void advance() {
+        next = null;
+        while (next == null && !queue.isEmpty()) {
+            Source newest = queue.poll();
+            KeyValue candidate = newest.current;
+            newest.moveNext(queue);
+
+            // 오래된 목록의 같은 키는 버린다
+            while (!queue.isEmpty() && queue.peek().current.key == candidate.key) {
+                queue.poll().moveNext(queue);
+            }
+            if (!skipTombstones || !candidate.isTombstone()) {
+                next = candidate;
+            }
+        }
+    }
+
+    private static final class Source implements Comparable<Source> {
+
+        private final int rank;
+        private final Iterator<KeyValue> iterator;
+        private KeyValue current;
+
+        Source(int rank, Iterator<KeyValue> iterator) {
+            this.rank = rank;
+            this.iterator = iterator;
+            this.current = iterator.next();
+        }
+
+        void moveNext(PriorityQueue<Source> queue) {
+            if (iterator.hasNext()) {
+                current = iterator.next();
+                queue.add(this);
+            }
+        }
+
+        @Override
+        public int compareTo(Source other) {
+            int byKey = Long.compare(current.key, other.current.key);
+            return byKey != 0 ? byKey : Integer.compare(rank, other.rank);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package hello.login.domain.storage;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * 디스크 저장소에 기록할 객체 직렬화 (id는 키로 따로 저장하므로 값에 넣지 않는다)
+ */
+public interface RecordCodec<T> {
+
+    void write(T record, DataOutput out) throws IOException;
+
+    T read(long id, DataInput in) throws IOException;
+
+    static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
@@ -0,0 +1,37 @@
+package hello.login.domain.storage;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * id(long)로 객체를 보관하는 저장소
+ */
+public interface RecordStore<T> {
+
+    /**
+     * 새 id 발급 (1부터 증가)
+     */
+    long nextId();
+
+    /**
+     * @return 없으면 null
+     */
+    T get(long id);
+
+    void put(long id, T record);
+
+    /**
+     * 저장된 값이 expected와 같을(equals) 때만 updated로 바꾼다(compare-and-set).
+     * @return 다른 요청이 먼저 바꿨거나 없으면 false
+     */
+    boolean replace(long id, T expected, T updated);
+
+    List<T> findAll();
+
+    /**
+     * afterId 보다 큰 id부터 id 순서로 (전체를 복사하지 않는다)
+     */
+    Iterator<T> iterator(long afterId);
+
+    void clear();
+}
@@ -0,0 +1,34 @@
+package hello.login.domain.storage;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이름별 디스크 저장소 (storage.path/{name})
+ */
+public class Storage implements Closeable {
+
+    private final Path directory;
+    private final StorageProperties properties;
+    private final Map<String, StorageEngine> engines = new ConcurrentHashMap<>();
+
+    public Storage(StorageProperties properties) {
+        this.directory = Paths.get(properties.getPath());
+        this.properties = properties;
+    }
+
+    public <T> RecordStore<T> open(String name, RecordCodec<T> codec) {
+        StorageEngine engine = engines.computeIfAbsent(name,
+                key -> new StorageEngine(directory.resolve(key), properties));
+        return new DurableRecordStore<>(engine, codec);
+    }
+
+    @Override
+    public void close() {
+        engines.values().forEach(StorageEngine::close);
+        engines.clear();
+    }
+}
@@ -0,0 +1,689 @@
+package hello.login.domain.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 디스크 저장소 (long 키, byte[] 값)
+ *
+ * 쓰기: 요청 스레드는 변경을 큐에 넣고 기다린다. commit 스레드가 쌓인 변경을 변경 기록(WAL)에 한 번에 쓰고
+ *      fsync 한 번으로 커밋한 뒤(group commit) 메모리 테이블에 반영한다.
+ * 내리기: 메모리 테이블이 memtableSize를 넘으면 새 WAL로 바꾸고, 이전 메모리 테이블은 정렬된 segment 파일로 쓴다.
+ *        segment가 MANIFEST에 기록되면 이전 WAL을 지운다.
+ * 합치기: segment가 maxSegments 이상이면 모두 합쳐 하나로 만들고 삭제 표시를 버린다.
+ * 복구: MANIFEST의 segment를 열고, 아직 segment로 내리지 않은 WAL을 다시 읽는다.
+ *      MANIFEST에는 지금까지 기록한 가장 큰 키도 남긴다 (합치며 삭제 표시를 버려도 지운 키를 다시 쓰지 않게).
+ *
+ * 읽기는 메모리 테이블 -> 내리는 중인 메모리 테이블 -> segment(최신 순)에서 처음 찾은 값을 쓴다.
+ */
+@Slf4j
+public class StorageEngine implements Closeable {
+
+    // 삭제 표시 (동일성으로 비교한다)
+    static final byte[] TOMBSTONE = new byte[0];
+
+    private static final String MANIFEST = "MANIFEST";
+    private static final String LOCK = "LOCK";
+    private static final Pattern WAL_NAME = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SEGMENT_NAME = Pattern.compile("seg-(\\d+)\\.sst");
+    private static final int MAX_BATCH_SIZE = 1024;
+    private static final long POLL_MILLIS = 100;
+    // 메모리 테이블 항목당 추정 크기 (키, 노드, 배열 헤더)
+    private static final long ENTRY_OVERHEAD = 64;
+
+    private final Path directory;
+    private final long memtableBytes;
+    private final int maxSegments;
+    private final boolean sync;
+
+    private final FileChannel lockChannel;
+    private final FileLock fileLock;
+    private final AtomicLong fileNumber = new AtomicLong();
+
+    private final BlockingQueue<Write> queue = new LinkedBlockingQueue<>();
+    // 닫은 뒤에 큐에 넣는 변경이 없도록 한다 (넣기: read lock, 닫기: write lock)
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Thread committer;
+    // segment 내리기, 합치기 (한 스레드에서 순서대로)
+    private final ScheduledExecutorService background;
+    private volatile boolean closed;
+    private volatile StorageException failure;
+
+    private volatile View view;
+    // view 교체, MANIFEST 기록 (view는 이 lock 안에서 읽고 바꾼다, 조회는 잠그지 않는다)
+    private final Object manifestLock = new Object();
+    private long manifestWalNumber;
+    // 지금까지 기록한 가장 큰 키 (삭제 포함, commit 스레드에서만 변경한다)
+    private volatile long maxKey;
+
+    // commit 스레드에서만 변경한다
+    private WriteAheadLog wal;
+    private long walNumber;
+    private long memtableSize;
+    private Future<?> pendingFlush;
+
+    public StorageEngine(Path directory, StorageProperties properties) {
+        this.directory = directory;
+        this.memtableBytes = properties.getMemtableSize().toBytes();
+        this.maxSegments = Math.max(2, properties.getMaxSegments());
+        this.sync = properties.isSync();
+
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            fileLock = tryLock(lockChannel);
+            if (fileLock == null) {
+                lockChannel.close();
+                throw new StorageException("storage already in use " + directory);
+            }
+            recover();
+        } catch (IOException e) {
+            throw new StorageException("storage open error " + directory, e);
+        }
+
+        committer = new Thread(this::commitLoop, "storage-commit-" + directory.getFileName());
+        committer.setDaemon(true);
+        committer.start();
+
+        background = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "storage-compaction-" + directory.getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getCompactionInterval().toMillis();
+        background.scheduleWithFixedDelay(this::compactIfNeeded, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 없으면 null
+     */
+    public byte[] get(long key) {
+        View current = view;
+        byte[] value = current.memtable.get(key);
+        if (value == null && current.immutable != null) {
+            value = current.immutable.get(key);
+        }
+        if (value == null) {
+            for (Segment segment : current.segments) {
+                value = segment.get(key);
+                if (value != null) {
+                    break;
+                }
+            }
+        }
+        return value == TOMBSTONE ? null : value;
+    }
+
+    /**
+     * 디스크에 기록된 뒤 반환한다.
+     */
+    public void put(long key, byte[] value) {
+        await(enqueue(new KeyValue(key, value)));
+    }
+
+    public void delete(long key) {
+        await(enqueue(new KeyValue(key, TOMBSTONE)));
+    }
+
+    /**
+     * 여러 키를 한 번에 지운다 (하나의 커밋으로 묶일 수 있다).
+     */
+    public void deleteAll(List<Long> keys) {
+        List<CompletableFuture<Void>> replies = keys.stream()
+                .map(key -> enqueue(new KeyValue(key, TOMBSTONE)))
+                .collect(Collectors.toList());
+        replies.forEach(this::await);
+    }
+
+    /**
+     * 키 순서로 모든 항목 (호출 시점의 상태, 이후 변경은 보일 수도 있고 안 보일 수도 있다)
+     */
+    public void forEach(BiConsumer<Long, byte[]> action) {
+        Iterator<KeyValue> entries = scan(Long.MIN_VALUE);
+        while (entries.hasNext()) {
+            KeyValue entry = entries.next();
+            action.accept(entry.key, entry.value);
+        }
+    }
+
+    /**
+     * afterKey 보다 큰 키부터 키 순서로 (전체를 복사하지 않고 필요한 만큼 읽는다)
+     */
+    Iterator<KeyValue> scan(long afterKey) {
+        View current = view;
+        List<Iterator<KeyValue>> sources = new ArrayList<>(current.segments.size() + 2);
+        sources.add(entriesOf(current.memtable.tailMap(afterKey, false)));
+        if (current.immutable != null) {
+            sources.add(entriesOf(current.immutable.tailMap(afterKey, false)));
+        }
+        for (Segment segment : current.segments) {
+            sources.add(segment.iterator(afterKey));
+        }
+        return new MergeIterator(sources, true);
+    }
+
+    /**
+     * 지금까지 기록한 가장 큰 키 (삭제된 키, 합치며 버린 키 포함), 기록한 적이 없으면 0
+     */
+    public long maxKey() {
+        return maxKey;
+    }
+
+    int getSegmentCount() {
+        return view.segments.size();
+    }
+
+    /**
+     * 메모리 테이블을 segment로 내리고 끝날 때까지 기다린다.
+     */
+    void flush() {
+        CompletableFuture<Void> reply = new CompletableFuture<>();
+        closeLock.readLock().lock();
+        try {
+            checkOpen();
+            queue.add(new Write(null, reply));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        await(reply);
+    }
+
+    /**
+     * 모든 segment를 하나로 합친다.
+     */
+    void compact() {
+        try {
+            background.submit(() -> {
+                compactSegments();
+                return null;
+            }).get();
+        } catch (ExecutionException e) {
+            throw new StorageException("compaction error " + directory, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("interrupted", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+
+        // 큐에 남은 변경을 모두 커밋한 뒤 끝난다
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        background.shutdown();
+        try {
+            background.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            wal.close();
+            fileLock.release();
+            lockChannel.close();
+        } catch (IOException e) {
+            log.warn("storage close error {}", directory, e);
+        }
+        log.info("storage closed {}", directory);
+    }
+
+    private CompletableFuture<Void> enqueue(KeyValue entry) {
+        CompletableFuture<Void> reply = new CompletableFuture<>();
+        closeLock.readLock().lock();
+        try {
+            checkOpen();
+            queue.add(new Write(entry, reply));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return reply;
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new StorageException("storage closed " + directory);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void await(CompletableFuture<Void> reply) {
+        try {
+            reply.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof StorageException) {
+                throw (StorageException) e.getCause();
+            }
+            throw new StorageException("storage write error " + directory, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StorageException("interrupted", e);
+        }
+    }
+
+    // ---- commit 스레드 ----
+
+    private void commitLoop() {
+        List<Write> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        while (true) {
+            Write first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                if (closed) {
+                    break;
+                }
+                continue;
+            }
+            batch.add(first);
+            // 기다리는 동안 쌓인 변경을 한 번에 커밋한다
+            queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    private void commit(List<Write> batch) {
+        if (failure != null) {
+            batch.forEach(write -> write.reply.completeExceptionally(failure));
+            return;
+        }
+
+        List<KeyValue> entries = new ArrayList<>(batch.size());
+        boolean flushRequested = false;
+        for (Write write : batch) {
+            if (write.entry != null) {
+                entries.add(write.entry);
+            } else {
+                flushRequested = true;
+            }
+        }
+
+        try {
+            if (!entries.isEmpty()) {
+                wal.append(entries);
+            }
+        } catch (IOException e) {
+            // 일부만 쓰였을 수 있으므로 이후 기록은 받지 않는다 (재시작하면 커밋된 곳까지 복구)
+            failure = new StorageException("storage log write error " + wal.getPath(), e);
+            log.error("storage failed {}", directory, e);
+            batch.forEach(write -> write.reply.completeExceptionally(failure));
+            return;
+        }
+
+        ConcurrentSkipListMap<Long, byte[]> memtable = view.memtable;
+        for (KeyValue entry : entries) {
+            if (entry.key > maxKey) {
+                maxKey = entry.key;
+            }
+            memtable.put(entry.key, entry.value);
+            memtableSize += ENTRY_OVERHEAD + entry.value.length;
+        }
+
+        List<CompletableFuture<Void>> waiting = new ArrayList<>();
+        for (Write write : batch) {
+            if (write.entry != null) {
+                write.reply.complete(null);
+            } else {
+                waiting.add(write.reply);
+            }
+        }
+
+        if (memtableSize >= memtableBytes || (flushRequested && !memtable.isEmpty())) {
+            rotate();
+        }
+        if (!waiting.isEmpty()) {
+            completeAfterFlush(waiting);
+        }
+    }
+
+    /**
+     * 새 WAL과 메모리 테이블로 바꾸고 이전 메모리 테이블은 segment로 내린다.
+     */
+    private void rotate() {
+        // 이전 메모리 테이블을 아직 내리는 중이면 기다린다 (쓰기 속도 조절)
+        awaitPendingFlush();
+        if (failure != null) {
+            return;
+        }
+
+        WriteAheadLog previous = wal;
+        try {
+            long number = fileNumber.incrementAndGet();
+            wal = WriteAheadLog.create(directory.resolve(walName(number)), sync);
+            walNumber = number;
+            previous.close();
+        } catch (IOException e) {
+            failure = new StorageException("storage log create error " + directory, e);
+            log.error("storage failed {}", directory, e);
+            return;
+        }
+
+        NavigableMap<Long, byte[]> immutable;
+        synchronized (manifestLock) {
+            View current = view;
+            immutable = current.memtable;
+            view = new View(new ConcurrentSkipListMap<>(), immutable, current.segments);
+        }
+        memtableSize = 0;
+
+        long flushedWalNumber = walNumber;
+        pendingFlush = background.submit(() -> {
+            flushImmutable(immutable, previous.getPath(), flushedWalNumber);
+            return null;
+        });
+    }
+
+    private void awaitPendingFlush() {
+        if (pendingFlush == null) {
+            return;
+        }
+        try {
+            pendingFlush.get();
+        } catch (ExecutionException e) {
+            failure = new StorageException("segment write error " + directory, e.getCause());
+            log.error("storage failed {}", directory, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pendingFlush = null;
+    }
+
+    private void completeAfterFlush(List<CompletableFuture<Void>> waiting) {
+        awaitPendingFlush();
+        for (CompletableFuture<Void> reply : waiting) {
+            if (failure != null) {
+                reply.completeExceptionally(failure);
+            } else {
+                reply.complete(null);
+            }
+        }
+    }
+
+    // ---- background 스레드 ----
+
+    private void flushImmutable(NavigableMap<Long, byte[]> immutable, Path walPath, long nextWalNumber)
+            throws IOException {
+        Segment segment = Segment.write(directory.resolve(segmentName(fileNumber.incrementAndGet())),
+                entriesOf(immutable));
+
+        synchronized (manifestLock) {
+            View current = view;
+            List<Segment> segments = new ArrayList<>(current.segments.size() + 1);
+            segments.add(segment);
+            segments.addAll(current.segments);
+            writeManifest(nextWalNumber, segments);
+            view = new View(current.memtable, null, segments);
+        }
+        Files.deleteIfExists(walPath);
+        log.debug("storage segment written {} entries={}", segment.getPath().getFileName(), segment.getEntryCount());
+
+        if (view.segments.size() >= maxSegments) {
+            compactSegments();
+        }
+    }
+
+    private void compactIfNeeded() {
+        try {
+            if (view.segments.size() >= maxSegments) {
+                compactSegments();
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("storage compaction error {}", directory, e);
+        }
+    }
+
+    /**
+     * 모든 segment를 합친다. 가장 오래된 segment까지 포함하므로 삭제 표시는 버린다.
+     */
+    private void compactSegments() throws IOException {
+        List<Segment> inputs = view.segments;
+        if (inputs.size() < 2) {
+            return;
+        }
+        List<Iterator<KeyValue>> sources = inputs.stream().map(Segment::iterator).collect(Collectors.toList());
+        Segment merged = Segment.write(directory.resolve(segmentName(fileNumber.incrementAndGet())),
+                new MergeIterator(sources, true));
+
+        synchronized (manifestLock) {
+            View current = view;
+            List<Segment> segments = new ArrayList<>(current.segments);
+            segments.removeAll(inputs);
+            segments.add(merged);
+            writeManifest(manifestWalNumber, segments);
+            view = new View(current.memtable, current.immutable, segments);
+        }
+        // 이전 segment를 읽는 중인 요청은 매핑된 메모리로 계속 읽을 수 있다
+        for (Segment input : inputs) {
+            Files.deleteIfExists(input.getPath());
+        }
+        log.info("storage compacted {} segments={} entries={}", directory, inputs.size(), merged.getEntryCount());
+    }
+
+    // ---- 복구, MANIFEST ----
+
+    /**
+     * 다른 프로세스나 같은 JVM의 다른 StorageEngine이 쓰고 있으면 null
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            return null;
+        }
+    }
+
+    private void recover() throws IOException {
+        List<String> segmentNames = new ArrayList<>();
+        long firstWalNumber = 0;
+        long recoveredMaxKey = 0;
+        Path manifest = directory.resolve(MANIFEST);
+        if (Files.exists(manifest)) {
+            for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+                if (line.startsWith("wal ")) {
+                    firstWalNumber = Long.parseLong(line.substring(4).trim());
+                } else if (line.startsWith("max-key ")) {
+                    recoveredMaxKey = Long.parseLong(line.substring(8).trim());
+                } else if (line.startsWith("segment ")) {
+                    segmentNames.add(line.substring(8).trim());
+                }
+            }
+        }
+
+        // 파일 번호는 디렉토리에 남은 파일 중 가장 큰 번호 다음부터
+        List<Path> wals = new ArrayList<>();
+        try (var files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                Matcher walMatcher = WAL_NAME.matcher(name);
+                Matcher segmentMatcher = SEGMENT_NAME.matcher(name);
+                if (walMatcher.matches()) {
+                    long number = Long.parseLong(walMatcher.group(1));
+                    fileNumber.accumulateAndGet(number, Math::max);
+                    if (number >= firstWalNumber) {
+                        wals.add(file);
+                    } else {
+                        Files.delete(file);
+                    }
+                } else if (segmentMatcher.matches()) {
+                    fileNumber.accumulateAndGet(Long.parseLong(segmentMatcher.group(1)), Math::max);
+                    if (!segmentNames.contains(name)) {
+                        // MANIFEST에 기록되기 전에 종료된 segment (원본이 WAL, 이전 segment에 남아 있다)
+                        Files.delete(file);
+                    }
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+
+        List<Segment> segments = new ArrayList<>();
+        for (String name : segmentNames) {
+            Segment segment = Segment.open(directory.resolve(name));
+            segments.add(segment);
+            // max-key가 없는 이전 MANIFEST
+            recoveredMaxKey = Math.max(recoveredMaxKey, segment.getMaxKey());
+        }
+
+        ConcurrentSkipListMap<Long, byte[]> memtable = new ConcurrentSkipListMap<>();
+        wals.sort((a, b) -> Long.compare(fileNumberOf(a), fileNumberOf(b)));
+        for (Path path : wals) {
+            WriteAheadLog.replay(path, entry -> memtable.put(entry.key, entry.value));
+        }
+
+        if (!memtable.isEmpty()) {
+            recoveredMaxKey = Math.max(recoveredMaxKey, memtable.lastKey());
+        }
+        maxKey = recoveredMaxKey;
+
+        // 다시 읽은 변경은 바로 segment로 내리고 새 WAL에서 시작한다
+        if (!memtable.isEmpty()) {
+            segments.add(0, Segment.write(directory.resolve(segmentName(fileNumber.incrementAndGet())),
+                    entriesOf(memtable)));
+        }
+        walNumber = fileNumber.incrementAndGet();
+        wal = WriteAheadLog.create(directory.resolve(walName(walNumber)), sync);
+        writeManifest(walNumber, segments);
+        for (Path path : wals) {
+            Files.deleteIfExists(path);
+        }
+
+        view = new View(new ConcurrentSkipListMap<>(), null, segments);
+        log.info("storage opened {} segments={} recoveredEntries={}", directory, segments.size(), memtable.size());
+    }
+
+    /**
+     * 임시 파일에 쓰고 이름을 바꿔서 교체한다.
+     * @param walNumber 이 번호 이상의 WAL만 재시작할 때 다시 읽는다
+     * @param segments 최신 순서
+     */
+    private void writeManifest(long walNumber, List<Segment> segments) throws IOException {
+        StringBuilder content = new StringBuilder();
+        content.append("wal ").append(walNumber).append('\n');
+        // segment, 아직 내리지 않은 WAL에 있는 키는 모두 이미 반영되어 있다
+        content.append("max-key ").append(maxKey).append('\n');
+        for (Segment segment : segments) {
+            content.append("segment ").append(segment.getPath().getFileName()).append('\n');
+        }
+
+        Path temp = directory.resolve(MANIFEST + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(StandardCharsets.UTF_8.encode(content.toString()));
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(MANIFEST), StandardCopyOption.ATOMIC_MOVE);
+        manifestWalNumber = walNumber;
+    }
+
+    private static Iterator<KeyValue> entriesOf(NavigableMap<Long, byte[]> map) {
+        Iterator<Map.Entry<Long, byte[]>> entries = map.entrySet().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public KeyValue next() {
+                Map.Entry<Long, byte[]> entry = entries.next();
+                return new KeyValue(entry.getKey(), entry.getValue());
+            }
+        };
+    }
+
+    private static long fileNumberOf(Path path) {
+        Matcher matcher = WAL_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+    }
+
+    private static String walName(long number) {
+        return String.format("wal-%06d.log", number);
+    }
+
+    private static String segmentName(long number) {
+        return String.format("seg-%06d.sst", number);
+    }
+
+    /**
+     * 읽기 시점의 메모리 테이블과 segment 목록 (바뀔 때마다 새로 만든다)
+     */
+    private static final class View {
+
+        private final ConcurrentSkipListMap<Long, byte[]> memtable;
+        // segment로 내리는 중인 이전 메모리 테이블
+        private final NavigableMap<Long, byte[]> immutable;
+        // 최신 순서
+        private final List<Segment> segments;
+
+        View(ConcurrentSkipListMap<Long, byte[]> memtable, NavigableMap<Long, byte[]> immutable,
+             List<Segment> segments) {
+            this.memtable = memtable;
+            this.immutable = immutable;
+            this.segments = Collections.unmodifiableList(segments);
+        }
+    }
+
+    /**
+     * 커밋할 변경 (entry가 null 이면 flush 요청)
+     */
+    private static final class Write {
+
+        private final KeyValue entry;
+        private final CompletableFuture<Void> reply;
+
+        Write(KeyValue entry, CompletableFuture<Void> reply) {
+            this.entry = entry;
+            this.reply = reply;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package hello.login.domain.storage;
+
+/**
+ * 저장소 파일 읽기/쓰기 실패
+ */
+public class StorageException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public StorageException(String message) {
+        super(message);
+    }
+
+    public StorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
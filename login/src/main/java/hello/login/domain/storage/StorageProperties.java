@@ -0,0 +1,35 @@
+package hello.login.domain.storage;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 디스크 저장소 설정 (storage.*)
+ * enabled=false 이면 저장소(ItemRepository, MemberRepository)는 메모리에만 보관한다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "storage")
+public class StorageProperties {
+
+    private boolean enabled = false;
+
+    // 저장소마다 이 디렉토리 아래에 하위 디렉토리를 만든다
+    private String path = "storage";
+
+    // 메모리 테이블이 이 크기를 넘으면 segment 파일로 내린다
+    private DataSize memtableSize = DataSize.ofMegabytes(4);
+
+    // segment 파일이 이 수 이상이면 하나로 합친다
+    private int maxSegments = 4;
+
+    // segment 합치기 검사 주기
+    private Duration compactionInterval = Duration.ofSeconds(30);
+
+    // 커밋마다 fsync, false 이면 OS가 디스크에 쓸 때까지 유실될 수 있다
+    private boolean sync = true;
+}
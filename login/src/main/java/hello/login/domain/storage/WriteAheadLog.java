@@ -0,0 +1,149 @@
+package hello.login.domain.storage;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * 변경 기록 파일 (append only)
+ * 메모리 테이블에 반영하기 전에 기록해 두고, 재시작할 때 다시 읽어서 메모리 테이블을 복구한다.
+ *
+ * record = length(int) crc32(int) key(long) valueLength(int, -1 이면 삭제) value
+ * length, crc32는 key부터 끝까지 대상
+ */
+@Slf4j
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_SIZE = 4 + 4;
+    private static final int BODY_HEADER_SIZE = 8 + 4;
+    private static final int MAX_BODY_SIZE = 64 * 1024 * 1024;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean sync;
+
+    private WriteAheadLog(Path path, FileChannel channel, boolean sync) {
+        this.path = path;
+        this.channel = channel;
+        this.sync = sync;
+    }
+
+    static WriteAheadLog create(Path path, boolean sync) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return new WriteAheadLog(path, channel, sync);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    /**
+     * 여러 변경을 한 번에 쓰고 fsync 한 번으로 커밋한다(group commit).
+     */
+    void append(List<KeyValue> records) throws IOException {
+        int size = 0;
+        for (KeyValue record : records) {
+            size += HEADER_SIZE + BODY_HEADER_SIZE + valueLength(record);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32 crc = new CRC32();
+        for (KeyValue record : records) {
+            int bodyStart = buffer.position() + HEADER_SIZE;
+            buffer.putInt(BODY_HEADER_SIZE + valueLength(record));
+            buffer.putInt(0); // crc 자리
+            buffer.putLong(record.key);
+            buffer.putInt(record.isTombstone() ? -1 : record.value.length);
+            if (!record.isTombstone()) {
+                buffer.put(record.value);
+            }
+
+            crc.reset();
+            crc.update(buffer.array(), bodyStart, buffer.position() - bodyStart);
+            buffer.putInt(bodyStart - 4, (int) crc.getValue());
+        }
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 기록을 순서대로 읽는다. 쓰다가 중단된 마지막 기록(길이 부족, crc 불일치)에서 멈춘다.
+     */
+    static void replay(Path path, Consumer<KeyValue> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            CRC32 crc = new CRC32();
+            long count = 0;
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (length < BODY_HEADER_SIZE || length > MAX_BODY_SIZE) {
+                    log.warn("storage log corrupted record path={} records={}", path, count);
+                    break;
+                }
+
+                int expectedCrc;
+                byte[] body = new byte[length];
+                try {
+                    expectedCrc = in.readInt();
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    log.warn("storage log truncated record path={} records={}", path, count);
+                    break;
+                }
+                crc.reset();
+                crc.update(body);
+                if ((int) crc.getValue() != expectedCrc) {
+                    log.warn("storage log crc mismatch path={} records={}", path, count);
+                    break;
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap(body);
+                long key = buffer.getLong();
+                int valueLength = buffer.getInt();
+                if (valueLength > buffer.remaining()) {
+                    log.warn("storage log corrupted record path={} records={}", path, count);
+                    break;
+                }
+                byte[] value = StorageEngine.TOMBSTONE;
+                if (valueLength >= 0) {
+                    value = new byte[valueLength];
+                    buffer.get(value);
+                }
+                consumer.accept(new KeyValue(key, value));
+                count++;
+            }
+        }
+    }
+
+    private static int valueLength(KeyValue record) {
+        return record.isTombstone() ? 0 : record.value.length;
+    }
+}
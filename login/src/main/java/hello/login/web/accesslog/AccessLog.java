@@ -0,0 +1,194 @@
+package hello.login.web.accesslog;
+
+import hello.login.web.RequestIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.DispatcherType;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LogFilter, LogInterceptor의 REQUEST/RESPONSE 로그
+ * 요청 스레드는 고정 크기 기록을 링 버퍼에 넣기만 하고, 전용 스레드 하나가 모아서 로그를 쓴다.
+ * 로그 출력이 느려져도 요청 처리 시간이 늘지 않는다. (버퍼가 가득 차면 access-log.policy)
+ * 로그는 기록을 만든 클래스의 logger로 쓰고, MDC requestId도 기록의 값으로 채운다.
+ * 멈춘 뒤에 공개된 기록은 공개한 요청 스레드가 직접 꺼내서 쓴다.
+ */
+@Slf4j
+@Component
+public class AccessLog {
+
+    private final AccessLogBuffer buffer; // 동기 모드면 null
+    private final boolean block;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final LongAdder dropped = new LongAdder();
+    // 버퍼에서 꺼내는 스레드를 하나로 (기록 스레드는 끝날 때까지 잡고 있는다)
+    private final Lock drainLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AccessLog(AccessLogProperties properties) {
+        this.buffer = properties.isAsync() ? new AccessLogBuffer(properties.getBufferSize()) : null;
+        this.block = properties.getPolicy() == AccessLogPolicy.BLOCK;
+        this.batchSize = Math.max(properties.getBatchSize(), 1);
+        this.idleWaitNanos = properties.getIdleWait().toNanos();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (buffer == null) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "access-log");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("access log writer start bufferSize={}, policy={}", buffer.capacity(), block ? "BLOCK" : "DROP");
+    }
+
+    /**
+     * 남은 기록을 모두 쓰고 멈춘다
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+        if (writer.isAlive()) {
+            log.warn("access log writer did not stop, remaining={}", buffer.size());
+        } else {
+            // 기록 스레드의 마지막 drain 이후에 공개된 기록
+            drainRemaining();
+        }
+        buffer.close();
+    }
+
+    /**
+     * @param handler 필터처럼 핸들러를 모르면 null
+     */
+    public void request(Logger logger, String requestId, DispatcherType dispatcherType, String uri, Object handler) {
+        append(logger, false, requestId, dispatcherType, uri, handler, 0, 0);
+    }
+
+    /**
+     * @param elapsedNanos REQUEST 부터 걸린 시간
+     */
+    public void response(Logger logger, String requestId, DispatcherType dispatcherType, String uri, Object handler,
+                         int status, long elapsedNanos) {
+        append(logger, true, requestId, dispatcherType, uri, handler, status, elapsedNanos);
+    }
+
+    /**
+     * 버퍼가 가득 차서 버린 기록 수 (마지막으로 남긴 이후)
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    private void append(Logger logger, boolean response, String requestId, DispatcherType dispatcherType,
+                        String uri, Object handler, int status, long nanos) {
+        if (!running) {
+            write(logger, response, requestId, dispatcherType, uri, handler, status, nanos);
+            return;
+        }
+        long sequence = buffer.claim(block);
+        if (sequence < 0) {
+            dropped.increment();
+            return;
+        }
+        buffer.get(sequence).set(logger, response, requestId, dispatcherType, uri, handler, status, nanos);
+        buffer.publish(sequence);
+        // 공개하는 사이에 멈췄으면 기록 스레드가 이미 마지막 drain을 끝냈을 수 있다
+        if (!running) {
+            drainRemaining();
+        }
+    }
+
+    private void writeLoop() {
+        drainLock.lock();
+        try {
+            while (running) {
+                if (buffer.drain(this::write, batchSize) == 0) {
+                    reportDropped();
+                    LockSupport.parkNanos(idleWaitNanos);
+                }
+            }
+            // 멈추기 전에 들어온 기록
+            while (buffer.drain(this::write, batchSize) > 0) {
+            }
+            reportDropped();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    /**
+     * 멈춘 뒤 남은 기록을 호출한 스레드에서 쓴다
+     */
+    private void drainRemaining() {
+        drainLock.lock();
+        try {
+            while (buffer.drain(this::write, batchSize) > 0) {
+            }
+            reportDropped();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void write(AccessLogRecord record) {
+        write(record.logger, record.response, record.requestId, record.dispatcherType,
+                record.uri, record.handler, record.status, record.nanos);
+    }
+
+    private void write(Logger logger, boolean response, String requestId, DispatcherType dispatcherType,
+                       String uri, Object handler, int status, long nanos) {
+        String previous = MDC.get(RequestIdGenerator.MDC_KEY);
+        MDC.put(RequestIdGenerator.MDC_KEY, requestId);
+        try {
+            if (!response) {
+                if (handler == null) {
+                    logger.info("REQUEST [{}][{}][{}]", requestId, dispatcherType, uri);
+                } else {
+                    logger.info("REQUEST [{}][{}][{}][{}]", requestId, dispatcherType, uri, handler);
+                }
+            } else {
+                long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+                if (handler == null) {
+                    logger.info("RESPONSE [{}][{}][{}][{}][{}ms]", requestId, dispatcherType, uri, status, millis);
+                } else {
+                    logger.info("RESPONSE [{}][{}][{}][{}][{}][{}ms]", requestId, dispatcherType, uri, handler, status, millis);
+                }
+            }
+        } catch (RuntimeException e) {
+            // 기록 스레드가 멈추면 버퍼가 차서 모든 기록을 버리게 된다
+            log.warn("access log write failed", e);
+        } finally {
+            if (previous != null) {
+                MDC.put(RequestIdGenerator.MDC_KEY, previous);
+            } else {
+                MDC.remove(RequestIdGenerator.MDC_KEY);
+            }
+        }
+    }
+
+    private void reportDropped() {
+        long count = dropped.sumThenReset();
+        if (count > 0) {
+            log.warn("access log dropped {} records (buffer full)", count);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package hello.login.web.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 요청 스레드 여럿이 쓰고 기록 스레드 하나가 읽는 잠금 없는 링 버퍼
+ * 쓰는 쪽은 tail을 CAS로 한 칸 차지하고 칸을 채운 뒤 published에 순번을 적어 공개한다.
+ * 읽는 쪽은 공개된 칸만 순서대로 꺼내고 head를 옮겨 칸을 돌려준다.
+ * consumer는 예외를 던지지 않아야 한다.
+ */
+final class AccessLogBuffer {
+
+    private static final long BLOCK_WAIT_NANOS = 10_000;
+
+    private final AccessLogRecord[] records;
+    private final AtomicLongArray published; // 칸마다 마지막으로 공개된 순번
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // 기록 스레드만 바꾼다
+    private volatile boolean closed;
+
+    AccessLogBuffer(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size, 2) - 1) << 1;
+        records = new AccessLogRecord[capacity];
+        published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            records[i] = new AccessLogRecord();
+            published.set(i, -1);
+        }
+        mask = capacity - 1;
+    }
+
+    int capacity() {
+        return records.length;
+    }
+
+    /**
+     * 칸 하나를 차지한다
+     * @param block 가득 찼으면 자리가 날 때까지 기다린다
+     * @return 순번, 가득 차서 버린 경우 -1
+     */
+    long claim(boolean block) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head >= records.length) {
+                // 기록 스레드가 멈춘 뒤에는 기다려도 자리가 나지 않는다
+                if (!block || closed) {
+                    return -1;
+                }
+                LockSupport.parkNanos(BLOCK_WAIT_NANOS);
+                continue;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    AccessLogRecord get(long sequence) {
+        return records[(int) (sequence & mask)];
+    }
+
+    void publish(long sequence) {
+        published.set((int) (sequence & mask), sequence);
+    }
+
+    /**
+     * 공개된 기록을 순서대로 max 개까지 꺼낸다 (기록 스레드 하나만 호출한다)
+     * @return 꺼낸 수
+     */
+    int drain(Consumer<AccessLogRecord> consumer, int max) {
+        long next = head;
+        int count = 0;
+        while (count < max && published.get((int) (next & mask)) == next) {
+            AccessLogRecord record = records[(int) (next & mask)];
+            consumer.accept(record);
+            record.clear();
+            next++;
+            count++;
+        }
+        if (count > 0) {
+            head = next;
+        }
+        return count;
+    }
+
+    /**
+     * 더 이상 꺼내지 않으므로 기다리던 요청 스레드를 놓아준다
+     */
+    void close() {
+        closed = true;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+}
@@ -0,0 +1,17 @@
+package hello.login.web.accesslog;
+
+/**
+ * 버퍼가 가득 찼을 때
+ */
+public enum AccessLogPolicy {
+
+    /**
+     * 기록을 버리고 요청을 계속 처리한다 (버린 수는 주기적으로 남긴다)
+     */
+    DROP,
+
+    /**
+     * 자리가 날 때까지 요청 스레드가 기다린다
+     */
+    BLOCK
+}
@@ -0,0 +1,37 @@
+package hello.login.web.accesslog;
+
+import org.slf4j.Logger;
+
+import javax.servlet.DispatcherType;
+
+/**
+ * 링 버퍼 칸 하나 (미리 만들어 두고 재사용한다)
+ */
+final class AccessLogRecord {
+
+    Logger logger;
+    boolean response;
+    String requestId;
+    DispatcherType dispatcherType;
+    String uri;
+    Object handler;
+    int status;
+    long nanos; // 응답이면 처리 시간
+
+    void set(Logger logger, boolean response, String requestId, DispatcherType dispatcherType,
+             String uri, Object handler, int status, long nanos) {
+        this.logger = logger;
+        this.response = response;
+        this.requestId = requestId;
+        this.dispatcherType = dispatcherType;
+        this.uri = uri;
+        this.handler = handler;
+        this.status = status;
+        this.nanos = nanos;
+    }
+
+    // 요청 객체를 붙잡고 있지 않도록 쓰고 나면 비운다
+    void clear() {
+        set(null, false, null, null, null, null, 0, 0);
+    }
+}
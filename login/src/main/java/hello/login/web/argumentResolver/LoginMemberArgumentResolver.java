@@ -1,7 +1,7 @@
 package hello.login.web.argumentResolver;
 
 import hello.login.domain.member.Member;
-import hello.login.web.SessionConst;
+import hello.login.web.login.LoginSessionCheck;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.MethodParameter;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -10,15 +10,34 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
 import javax.servlet.http.HttpServletRequest;
-import javax.servlet.http.HttpSession;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolver {
 
+    private final LoginSessionCheck loginSessionCheck;
+
+    // 컨트롤러 파라미터는 바뀌지 않으므로 판단 결과를 저장해 둔다 (애노테이션을 매번 찾지 않는다)
+    private final Map<MethodParameter, Boolean> supportsCache = new ConcurrentHashMap<>();
+
+    public LoginMemberArgumentResolver(LoginSessionCheck loginSessionCheck) {
+        this.loginSessionCheck = loginSessionCheck;
+    }
 
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
-        log.info("supportsParameter 실행");
+        Boolean cached = supportsCache.get(parameter);
+        if (cached != null) {
+            return cached;
+        }
+        boolean supports = supports(parameter);
+        supportsCache.put(parameter, supports);
+        return supports;
+    }
+
+    private boolean supports(MethodParameter parameter) {
+        log.debug("supportsParameter 실행 {}", parameter);
 
         boolean hasLoginAnnotation = parameter.hasParameterAnnotation(Login.class);
         boolean hasMemberType = Member.class.isAssignableFrom(parameter.getParameterType());
@@ -29,14 +48,11 @@ public class LoginMemberArgumentResolver implements HandlerMethodArgumentResolve
     @Override
     public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer, NativeWebRequest webRequest, WebDataBinderFactory binderFactory) throws Exception {
 
-        log.info("resolveArgument 실행");
+        log.debug("resolveArgument 실행");
 
         HttpServletRequest request = (HttpServletRequest) webRequest.getNativeRequest();
-        HttpSession session = request.getSession(false);
-        if(session == null){
-            return null;
-        }
 
-        return session.getAttribute(SessionConst.LOGIN_MEMBER);
+        // 인터셉터가 이미 확인했으면 세션을 다시 조회하지 않는다
+        return loginSessionCheck.findLoginMember(request);
     }
 }
@@ -1,15 +1,24 @@
 package hello.login.web.filter;
 
+import hello.login.web.RequestIdGenerator;
+import hello.login.web.accesslog.AccessLog;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.UUID;
 
 @Slf4j
 public class LogFilter implements Filter {
 
+    private final AccessLog accessLog;
+
+    public LogFilter(AccessLog accessLog) {
+        this.accessLog = accessLog;
+    }
+
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
         log.info("log filter init");
@@ -17,20 +26,26 @@ public class LogFilter implements Filter {
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-        log.info("log filter doFilter");
+        log.debug("log filter doFilter");
 
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         String requestURI = httpRequest.getRequestURI();
 
-        String uuid = UUID.randomUUID().toString();
+        // MDC에 두면 이 요청의 다른 로그와 LogInterceptor가 같은 id를 쓴다
+        String uuid = RequestIdGenerator.generate();
+        MDC.put(RequestIdGenerator.MDC_KEY, uuid);
 
+        // REQUEST/RESPONSE 로그는 AccessLog 기록 스레드가 쓴다
+        long start = System.nanoTime();
         try{
-            log.info("REQUEST [{}][{}]", uuid, requestURI);
+            accessLog.request(log, uuid, request.getDispatcherType(), requestURI, null);
             chain.doFilter(request, response);
         }catch (Exception e){
             throw e;
         }finally {
-            log.info("RESPONSE [{}][{}]", uuid, requestURI);
+            accessLog.response(log, uuid, request.getDispatcherType(), requestURI, null,
+                    ((HttpServletResponse) response).getStatus(), System.nanoTime() - start);
+            MDC.remove(RequestIdGenerator.MDC_KEY);
         }
     }
 
@@ -1,19 +1,25 @@
 package hello.login.web.filter;
 
-import hello.login.web.SessionConst;
+import hello.login.web.login.LoginSessionCheck;
+import hello.login.web.path.PathPatterns;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.PatternMatchUtils;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 import java.io.IOException;
 
 @Slf4j
 public class LoginCheckFilter implements Filter {
 
-    private static final String[] whiteList = {"/", "/members/add", "/login", "/logout", "/css/*"};
+    // 시작할 때 한 번 컴파일한다 (PatternMatchUtils.simpleMatch는 요청마다 패턴을 모두 다시 해석한다)
+    private static final PathPatterns whiteList = PathPatterns.compile("/", "/members/add", "/login", "/logout", "/css/**");
+
+    private final LoginSessionCheck loginSessionCheck;
+
+    public LoginCheckFilter(LoginSessionCheck loginSessionCheck) {
+        this.loginSessionCheck = loginSessionCheck;
+    }
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
@@ -28,9 +34,8 @@ public class LoginCheckFilter implements Filter {
 
             if(isLoginCheckPath(requestURI)){
                 log.info("인증 체크 로직 실행 {}", requestURI);
-                HttpSession session = httpRequest.getSession(false);
                 // 로그인 안된 경우
-                if(session == null || session.getAttribute(SessionConst.LOGIN_MEMBER) == null){
+                if(!isLoggedIn(httpRequest)){
 
                     log.info("미인증 사용자 요청 {}", requestURI);
                     // 로그인 페이지로 redirect
@@ -50,11 +55,18 @@ public class LoginCheckFilter implements Filter {
 
     }
 
+    /**
+     * 세션을 만들지 않고, 세션 쿠키가 없으면 세션 저장소도 조회하지 않는다
+     */
+    private boolean isLoggedIn(HttpServletRequest request){
+        return loginSessionCheck.findLoginMember(request) != null;
+    }
+
     /**
      * 화이트 리스트의 경우 인증 체크X
      */
     private boolean isLoginCheckPath(String resultURI){
-        return !PatternMatchUtils.simpleMatch(whiteList, resultURI);
+        return !whiteList.matches(resultURI);
     }
 
 
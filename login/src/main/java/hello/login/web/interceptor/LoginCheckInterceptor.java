@@ -1,16 +1,21 @@
 package hello.login.web.interceptor;
 
-import hello.login.web.SessionConst;
+import hello.login.web.login.LoginSessionCheck;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.servlet.HandlerInterceptor;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import javax.servlet.http.HttpSession;
 
 @Slf4j
 public class LoginCheckInterceptor implements HandlerInterceptor {
 
+    private final LoginSessionCheck loginSessionCheck;
+
+    public LoginCheckInterceptor(LoginSessionCheck loginSessionCheck) {
+        this.loginSessionCheck = loginSessionCheck;
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
 
@@ -18,9 +23,8 @@ public class LoginCheckInterceptor implements HandlerInterceptor {
 
         log.info("인증 체크 인터셉터 실행 {}", requestURI);
 
-        HttpSession session = request.getSession();
-
-        if(session == null || session.getAttribute(SessionConst.LOGIN_MEMBER) == null){
+        // 세션을 만들지 않고, 세션 쿠키가 없으면 세션 저장소도 조회하지 않는다
+        if(loginSessionCheck.findLoginMember(request) == null){
             log.info("미인증 사용자 요청");
             // 로그인으로 redirect
             response.sendRedirect("/login?redirectURL=" + requestURI);
@@ -1,7 +1,11 @@
 package hello.login.web.item;
 
 import hello.login.domain.item.Item;
+import hello.login.domain.item.ItemPage;
 import hello.login.domain.item.ItemRepository;
+import hello.login.domain.item.ItemSearch;
+import hello.login.domain.item.ItemSort;
+import hello.login.domain.item.ItemVersionConflictException;
 import hello.login.web.item.form.ItemSaveForm;
 import hello.login.web.item.form.ItemUpdateForm;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +19,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
 
+
 @Slf4j
 @Controller
 @RequestMapping("/items")
@@ -24,12 +29,25 @@ public class ItemController {
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(defaultValue = "ID") ItemSort sort,
+                        @RequestParam(required = false) String after, Model model) {
+        ItemPage page = itemRepository.findPage(sort, after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "items/items";
     }
 
+    /**
+     * 상품 검색 (JSON) - 이름 앞부분, 가격/수량 범위
+     * 예) /items/search?itemName=it&maxPrice=20000&size=10
+     */
+    @ResponseBody
+    @GetMapping("/search")
+    public List<Item> search(@ModelAttribute ItemSearch cond,
+                             @RequestParam(defaultValue = "" + ItemPage.DEFAULT_SIZE) int size) {
+        return itemRepository.search(cond, size);
+    }
+
     @GetMapping("/{itemId}")
     public String item(@PathVariable long itemId, Model model) {
         Item item = itemRepository.findById(itemId);
@@ -98,8 +116,17 @@ public class ItemController {
         itemParam.setItemName(form.getItemName());
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
-
-        itemRepository.update(itemId, itemParam);
+        itemParam.setVersion(form.getVersion());
+
+        try {
+            itemRepository.update(itemId, itemParam);
+        } catch (ItemVersionConflictException e) {
+            // 다시 저장하면 최신 상품을 덮어쓰도록 version을 바꿔서 수정 화면을 보여준다
+            log.info("version conflict itemId={} expected={} current={}", itemId, e.getExpectedVersion(), e.getCurrentVersion());
+            bindingResult.reject("versionConflict");
+            form.setVersion(e.getCurrentVersion());
+            return "items/editForm";
+        }
         return "redirect:/items/{itemId}";
     }
 
@@ -22,4 +22,7 @@ public class ItemUpdateForm {
     //수정에서는 수량은 자유롭게 변경할 수 있다.
     private Integer quantity;
 
+    // 수정 화면을 연 시점의 version (다른 요청이 먼저 수정했는지 확인)
+    private Long version;
+
 }
\ No newline at end of file
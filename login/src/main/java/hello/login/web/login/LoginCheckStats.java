@@ -0,0 +1,23 @@
+package hello.login.web.login;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 로그인 확인 통계 (/login-check-stats 응답)
+ */
+@Data
+@AllArgsConstructor
+public class LoginCheckStats {
+
+    private boolean cookieCheck;
+
+    // 세션 쿠키가 있어서 세션을 조회한 수
+    private long sessionLookups;
+
+    // 세션 쿠키가 없어서 세션 조회를 건너뛴 수 (익명 요청)
+    private long sessionLookupsAvoided;
+
+    // 같은 요청에서 이미 확인한 결과를 다시 쓴 수 (인터셉터 다음 @Login 등)
+    private long requestCacheHits;
+}
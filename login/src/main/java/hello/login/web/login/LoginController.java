@@ -4,8 +4,11 @@ import hello.login.domain.login.LoginService;
 import hello.login.domain.member.Member;
 import hello.login.web.SessionConst;
 import hello.login.web.session.SessionManager;
+import hello.login.web.throttle.LoginThrottle;
+import hello.login.web.token.LoginTokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,6 +29,8 @@ public class LoginController {
 
     private final LoginService loginService;
     private final SessionManager sessionManager;
+    private final LoginTokenService loginTokenService;
+    private final LoginThrottle loginThrottle;
 
     @GetMapping("/login")
     public String LoginForm(@ModelAttribute("loginForm") LoginForm loginForm){
@@ -105,7 +110,14 @@ public class LoginController {
     @PostMapping("/login")
     public String loginV4(@Valid @ModelAttribute LoginForm form, BindingResult bindingResult,
                           @RequestParam(defaultValue = "/") String redirectURL,
-                          HttpServletRequest request){
+                          HttpServletRequest request, HttpServletResponse response){
+        // 로그인 시도 제한 (회원 저장소를 조회하기 전에 거절한다)
+        if(!loginThrottle.tryAcquire(form.getLoginId(), request.getRemoteAddr())){
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            bindingResult.reject("loginThrottled", "로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+            return "login/loginForm";
+        }
+
         if(bindingResult.hasErrors()){
             return "login/loginForm";
         }
@@ -118,6 +130,12 @@ public class LoginController {
         }
 
         // 로그인 성공 처리
+        // 서명 토큰 모드면 세션 대신 로그인 토큰 쿠키 발급
+        if(loginTokenService.isEnabled()){
+            response.addCookie(loginTokenService.issue(loginMember));
+            return "redirect:" + redirectURL;
+        }
+
         // 세션이 있으면 있는 세션 반환, 없으면 신규 세션을 생성
         HttpSession session = request.getSession(true);
         // 세션에 로그인 회원 정보를 보관
@@ -144,7 +162,12 @@ public class LoginController {
     }
 
     @PostMapping("/logout")
-    public String logoutV3(HttpServletRequest request){
+    public String logoutV3(HttpServletRequest request, HttpServletResponse response){
+        // 서명 토큰은 무효 목록에 등록하고 쿠키 삭제
+        if(loginTokenService.isEnabled()){
+            response.addCookie(loginTokenService.revoke(request));
+        }
+
         HttpSession session = request.getSession(false);
 
         if(session != null){
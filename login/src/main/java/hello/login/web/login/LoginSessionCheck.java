@@ -0,0 +1,93 @@
+package hello.login.web.login;
+
+import hello.login.web.SessionConst;
+import hello.login.web.session.SessionRepositoryFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로그인 회원 확인 (필터, 인터셉터, @Login 공용)
+ * 세션을 만들지 않고(getSession(false)), 세션 쿠키가 없는 요청은 세션 저장소를 조회하지도 않는다.
+ * 크롤러, 헬스 체크 같은 익명 요청이 세션 저장소에 부담을 주지 않는다.
+ * 확인한 결과는 요청 속성에 두어서 인터셉터와 @Login이 함께 써도 요청당 세션 조회는 한 번이다.
+ * (로그인, 로그아웃 요청은 로그인 확인을 하지 않으므로 같은 요청 안에서 결과가 바뀌지 않는다)
+ */
+@Component
+public class LoginSessionCheck {
+
+    private static final String DEFAULT_SESSION_COOKIE_NAME = "JSESSIONID";
+    private static final String RESOLVED_MEMBER = LoginSessionCheck.class.getName() + ".MEMBER";
+    private static final Object NO_MEMBER = new Object();
+
+    private final boolean cookieCheck;
+    private final String containerCookieName;
+
+    private final LongAdder sessionLookups = new LongAdder();
+    private final LongAdder sessionLookupsAvoided = new LongAdder();
+    private final LongAdder requestCacheHits = new LongAdder();
+
+    public LoginSessionCheck(ServerProperties serverProperties,
+                             @Value("${login.session-cookie-check:true}") boolean cookieCheck) {
+        String cookieName = serverProperties.getServlet().getSession().getCookie().getName();
+        this.containerCookieName = cookieName != null ? cookieName : DEFAULT_SESSION_COOKIE_NAME;
+        this.cookieCheck = cookieCheck;
+    }
+
+    /**
+     * @return 로그인 회원, 없으면 null
+     */
+    public Object findLoginMember(HttpServletRequest request) {
+        // 로그인 토큰 필터가 검증한 회원이 있으면 세션을 조회하지 않는다
+        Object tokenMember = request.getAttribute(SessionConst.LOGIN_MEMBER);
+        if (tokenMember != null) {
+            return tokenMember;
+        }
+
+        // 이 요청에서 이미 확인했다
+        Object resolved = request.getAttribute(RESOLVED_MEMBER);
+        if (resolved != null) {
+            requestCacheHits.increment();
+            return resolved != NO_MEMBER ? resolved : null;
+        }
+
+        Object member = lookup(request);
+        request.setAttribute(RESOLVED_MEMBER, member != null ? member : NO_MEMBER);
+        return member;
+    }
+
+    public LoginCheckStats getStats() {
+        return new LoginCheckStats(cookieCheck, sessionLookups.sum(), sessionLookupsAvoided.sum(), requestCacheHits.sum());
+    }
+
+    private Object lookup(HttpServletRequest request) {
+        if (cookieCheck && !hasSessionCookie(request)) {
+            sessionLookupsAvoided.increment();
+            return null;
+        }
+
+        sessionLookups.increment();
+        HttpSession session = request.getSession(false);
+        return session != null ? session.getAttribute(SessionConst.LOGIN_MEMBER) : null;
+    }
+
+    // 서블릿 컨테이너 세션(JSESSIONID), 세션 저장소 필터(SESSION) 쿠키
+    private boolean hasSessionCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            String name = cookie.getName();
+            if (name.equals(containerCookieName) || name.equals(SessionRepositoryFilter.SESSION_COOKIE_NAME)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
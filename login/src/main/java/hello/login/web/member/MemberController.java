@@ -1,7 +1,9 @@
 package hello.login.web.member;
 
+import hello.login.domain.member.DuplicateLoginIdException;
 import hello.login.domain.member.Member;
 import hello.login.domain.member.MemberRepository;
+import hello.login.domain.member.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
@@ -18,6 +20,7 @@ import javax.validation.Valid;
 public class MemberController {
 
     private final MemberRepository memberRepository;
+    private final PasswordHasher passwordHasher;
 
     @GetMapping("/add")
     public String addForm(@ModelAttribute("member")Member member){
@@ -30,7 +33,16 @@ public class MemberController {
             return "members/addMembersForm";
         }
 
-        memberRepository.save(member);
+        // 비밀번호는 해시로 저장한다
+        String password = member.getPassword();
+        member.setPassword(passwordHasher.hash(password));
+        try {
+            memberRepository.save(member);
+        } catch (DuplicateLoginIdException e) {
+            member.setPassword(password);
+            bindingResult.rejectValue("loginId", "duplicate", "이미 사용 중인 로그인 ID입니다.");
+            return "members/addMembersForm";
+        }
         return "redirect:/";
     }
 }
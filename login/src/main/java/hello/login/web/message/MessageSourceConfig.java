@@ -0,0 +1,48 @@
+package hello.login.web.message;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.util.StringUtils;
+
+/**
+ * messageSource 등록
+ * 스프링 부트 자동 설정(MessageSourceAutoConfiguration)과 같이 spring.messages.* 를 쓰고,
+ * messages.preload 이면 시작할 때 번들을 모두 읽어 두는 PreloadedMessageSource를 쓴다.
+ * 번들을 다시 읽는 설정(spring.messages.cache-duration)이면 ResourceBundleMessageSource를 쓴다.
+ */
+@Configuration
+public class MessageSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean
+    public MessageSource messageSource(MessageSourceProperties properties,
+                                       @Value("${messages.preload:true}") boolean preload) {
+        if (preload && properties.getCacheDuration() == null) {
+            return new PreloadedMessageSource(properties);
+        }
+
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(StringUtils.commaDelimitedListToStringArray(
+                StringUtils.trimAllWhitespace(properties.getBasename())));
+        if (properties.getEncoding() != null) {
+            messageSource.setDefaultEncoding(properties.getEncoding().name());
+        }
+        messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+        if (properties.getCacheDuration() != null) {
+            messageSource.setCacheMillis(properties.getCacheDuration().toMillis());
+        }
+        messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+        messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+        return messageSource;
+    }
+}
@@ -0,0 +1,231 @@
+package hello.login.web.message;
+
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 시작할 때 한 번 나눠 둔 메시지 형식 (잠그지 않고 여러 스레드에서 함께 쓴다)
+ * "{0} ~ {1} 까지 허용합니다." 처럼 형식 없는 인자 자리만 있으면 글자와 인자 번호로 나눠 두고 직접 이어 붙인다.
+ * 이때 정수 인자는 MessageFormat과 같이 찾는 로케일의 자리 구분(1,000)을 넣어 쓴다.
+ * 따옴표, {0,number,#} 같은 형식이 있거나 그 밖의 숫자, 날짜 인자는 MessageFormat을 복사해서 쓴다
+ * (MessageFormat은 스레드 안전하지 않다).
+ */
+final class MessageTemplate {
+
+    // 로케일마다 정수 자리 구분 (요청 헤더의 로케일이므로 이 수를 넘으면 기억하지 않는다)
+    private static final int MAX_GROUPINGS = 1000;
+    private static final Map<Locale, Optional<Grouping>> GROUPINGS = new ConcurrentHashMap<>();
+
+    private final String message;
+    private final Locale locale;
+    private final MessageFormat messageFormat;
+    private final IllegalArgumentException invalid;
+
+    // 인자 자리만 있는 형식: literals[0] {argumentIndexes[0]} literals[1] ... literals[n]
+    private final String[] literals;
+    private final int[] argumentIndexes;
+
+    private MessageTemplate(String message, Locale locale) {
+        this.message = message;
+        this.locale = locale;
+
+        MessageFormat format = null;
+        IllegalArgumentException error = null;
+        try {
+            format = new MessageFormat(message, locale);
+        } catch (IllegalArgumentException e) {
+            // ResourceBundleMessageSource와 같이 인자와 함께 쓸 때 예외를 던진다
+            error = e;
+        }
+        this.messageFormat = format;
+        this.invalid = error;
+
+        List<String> parts = format != null ? split(message) : null;
+        if (parts == null) {
+            this.literals = null;
+            this.argumentIndexes = null;
+        } else {
+            int count = parts.size() / 2;
+            this.literals = new String[count + 1];
+            this.argumentIndexes = new int[count];
+            for (int i = 0; i < count; i++) {
+                literals[i] = parts.get(i * 2);
+                argumentIndexes[i] = Integer.parseInt(parts.get(i * 2 + 1));
+            }
+            literals[count] = parts.get(count * 2);
+        }
+    }
+
+    static MessageTemplate compile(String message, Locale locale) {
+        return new MessageTemplate(message, locale);
+    }
+
+    /**
+     * 형식을 거치지 않은 메시지 (인자가 없을 때)
+     */
+    String getMessage() {
+        return message;
+    }
+
+    /**
+     * MessageFormat 형식에 맞는 메시지인지 (맞지 않으면 format에서 예외)
+     */
+    boolean isValid() {
+        return invalid == null;
+    }
+
+    String format(Object[] args, Locale locale) {
+        if (invalid != null) {
+            throw new IllegalArgumentException(invalid.getMessage(), invalid);
+        }
+        Grouping grouping = literals != null ? grouping(locale) : null;
+        if (literals == null || !simpleArguments(args, grouping)) {
+            MessageFormat format = locale.equals(this.locale)
+                    ? (MessageFormat) messageFormat.clone() : new MessageFormat(message, locale);
+            return format.format(args);
+        }
+
+        StringBuilder sb = new StringBuilder(message.length() + 16);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            sb.append(literals[i]);
+            int index = argumentIndexes[i];
+            if (args == null || index >= args.length) {
+                // MessageFormat과 같이 없는 인자는 자리 그대로 남긴다
+                sb.append('{').append(index).append('}');
+                continue;
+            }
+            Object arg = args[index];
+            if (arg == null) {
+                sb.append("null");
+            } else if (arg instanceof String) {
+                sb.append((String) arg);
+            } else if (arg instanceof Number) {
+                grouping.append(sb, ((Number) arg).longValue());
+            } else {
+                sb.append(arg);
+            }
+        }
+        return sb.append(literals[argumentIndexes.length]).toString();
+    }
+
+    /**
+     * 직접 이어 붙여도 MessageFormat과 같은 인자인지 (문자열, 0 이상 정수, 날짜가 아닌 그 밖의 객체는 toString)
+     */
+    private boolean simpleArguments(Object[] args, Grouping grouping) {
+        if (args == null) {
+            return true;
+        }
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            int index = argumentIndexes[i];
+            if (index >= args.length) {
+                continue;
+            }
+            Object arg = args[index];
+            if (arg instanceof Number) {
+                if (grouping == null || !isInteger(arg) || ((Number) arg).longValue() < 0) {
+                    return false;
+                }
+            } else if (arg instanceof Date) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Grouping grouping(Locale locale) {
+        Optional<Grouping> grouping = GROUPINGS.get(locale);
+        if (grouping == null) {
+            grouping = Optional.ofNullable(Grouping.of(locale));
+            if (GROUPINGS.size() < MAX_GROUPINGS) {
+                GROUPINGS.putIfAbsent(locale, grouping);
+            }
+        }
+        return grouping.orElse(null);
+    }
+
+    private static boolean isInteger(Object arg) {
+        return arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte;
+    }
+
+    /**
+     * 따옴표가 없고 인자 자리가 모두 {숫자} 이면 [글자, 번호, 글자, 번호, ..., 글자], 아니면 null
+     */
+    private static List<String> split(String message) {
+        if (message.indexOf('\'') >= 0) {
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        int open;
+        while ((open = message.indexOf('{', start)) >= 0) {
+            int close = message.indexOf('}', open);
+            if (close < 0 || close == open + 1) {
+                return null;
+            }
+            // 인자 번호는 9자리까지 (int 범위)
+            if (close - open > 10) {
+                return null;
+            }
+            for (int i = open + 1; i < close; i++) {
+                char c = message.charAt(i);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+            }
+            parts.add(message.substring(start, open));
+            parts.add(message.substring(open + 1, close));
+            start = close + 1;
+        }
+        parts.add(message.substring(start));
+        return parts;
+    }
+
+    /**
+     * 로케일의 정수 형식 (NumberFormat.getInstance 기본 형식 #,##0.### 일 때만)
+     */
+    private static final class Grouping {
+
+        private final char separator;
+        private final int size;
+
+        private Grouping(char separator, int size) {
+            this.separator = separator;
+            this.size = size;
+        }
+
+        static Grouping of(Locale locale) {
+            NumberFormat numberFormat = NumberFormat.getInstance(locale);
+            if (!(numberFormat instanceof DecimalFormat)) {
+                return null;
+            }
+            DecimalFormat decimalFormat = (DecimalFormat) numberFormat;
+            DecimalFormatSymbols symbols = decimalFormat.getDecimalFormatSymbols();
+            if (!"#,##0.###".equals(decimalFormat.toPattern()) || symbols.getZeroDigit() != '0'
+                    || !decimalFormat.isGroupingUsed() || decimalFormat.getGroupingSize() <= 0) {
+                return null;
+            }
+            return new Grouping(symbols.getGroupingSeparator(), decimalFormat.getGroupingSize());
+        }
+
+        void append(StringBuilder sb, long value) {
+            String digits = Long.toString(value);
+            int first = digits.length() % size;
+            if (first == 0) {
+                first = size;
+            }
+            sb.append(digits, 0, first);
+            for (int i = first; i < digits.length(); i += size) {
+                sb.append(separator).append(digits, i, i + size);
+            }
+        }
+    }
+}
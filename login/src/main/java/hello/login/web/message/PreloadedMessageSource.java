@@ -0,0 +1,289 @@
+package hello.login.web.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+/**
+ * 시작할 때 메시지 번들을 모두 읽어 둔 MessageSource (읽은 뒤에는 바뀌지 않는다)
+ * 번들 파일이 있는 로케일(messages_en 이면 en)과 기본 로케일마다 코드 -> 메시지 표를 하나씩 만든다.
+ * 표를 만들 때 ResourceBundleMessageSource와 같은 순서(basename 순서, en_US -> en -> 기본 로케일 -> 기본 번들)로
+ * 찾아서 채워 두므로, 메시지를 찾을 때는 로케일에 맞는 표 하나에서 한 번만 찾는다 (잠그지 않는다).
+ * 메시지 형식도 미리 나눠 둔다 (MessageTemplate).
+ * 번들을 다시 읽는 설정(spring.messages.cache-duration)에서는 쓰지 않는다.
+ */
+@Slf4j
+public class PreloadedMessageSource implements MessageSource {
+
+    private final boolean useCodeAsDefaultMessage;
+    private final boolean alwaysUseMessageFormat;
+
+    // 번들 파일이 있는 로케일의 표
+    private final Map<Locale, Map<String, MessageTemplate>> tables;
+    // 언어만 있는 로케일(en)의 표, en_US 처럼 표가 없는 로케일에서 찾는다
+    private final Map<String, Map<String, MessageTemplate>> languageTables;
+    // 맞는 번들이 없는 로케일의 표 (기본 로케일, fallback-to-system-locale=false 이면 기본 번들)
+    private final Map<String, MessageTemplate> fallbackTable;
+
+    public PreloadedMessageSource(MessageSourceProperties properties) {
+        this.useCodeAsDefaultMessage = properties.isUseCodeAsDefaultMessage();
+        this.alwaysUseMessageFormat = properties.isAlwaysUseMessageFormat();
+
+        String[] basenames = StringUtils.commaDelimitedListToStringArray(
+                StringUtils.trimAllWhitespace(properties.getBasename()));
+        Control control = new Control(properties.getEncoding(), properties.isFallbackToSystemLocale());
+        ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+
+        Set<Locale> locales = bundleLocales(basenames, classLoader);
+        locales.add(Locale.getDefault());
+        locales.add(Locale.ROOT);
+
+        Map<Locale, Map<String, MessageTemplate>> tables = new HashMap<>();
+        Map<String, Map<String, MessageTemplate>> languageTables = new HashMap<>();
+        for (Locale locale : locales) {
+            Map<String, MessageTemplate> table = load(basenames, locale, control, classLoader);
+            tables.put(locale, table);
+            if (!locale.getLanguage().isEmpty() && locale.getCountry().isEmpty() && locale.getVariant().isEmpty()) {
+                languageTables.put(locale.getLanguage(), table);
+            }
+        }
+        this.tables = Map.copyOf(tables);
+        this.languageTables = Map.copyOf(languageTables);
+        this.fallbackTable = properties.isFallbackToSystemLocale()
+                ? tables.get(Locale.getDefault()) : tables.get(Locale.ROOT);
+
+        log.info("messages preloaded basenames={}, locales={}, codes={}",
+                List.of(basenames), locales, tables.get(Locale.ROOT).size());
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        String message = getMessageInternal(code, args, locale);
+        if (message != null) {
+            return message;
+        }
+        if (defaultMessage == null) {
+            return useCodeAsDefaultMessage ? code : null;
+        }
+        return render(defaultMessage, args, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        String message = getMessageInternal(code, args, locale);
+        if (message != null) {
+            return message;
+        }
+        if (useCodeAsDefaultMessage) {
+            return code;
+        }
+        throw new NoSuchMessageException(code, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes != null) {
+            for (String code : codes) {
+                String message = getMessageInternal(code, resolvable.getArguments(), locale);
+                if (message != null) {
+                    return message;
+                }
+            }
+        }
+
+        // 메시지가 없으면 기본 메시지 (AbstractMessageSource와 같은 규칙)
+        String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage != null) {
+            if (resolvable instanceof DefaultMessageSourceResolvable
+                    && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage()) {
+                return defaultMessage;
+            }
+            if (!ObjectUtils.isEmpty(codes) && defaultMessage.equals(codes[0])) {
+                return defaultMessage;
+            }
+            return render(defaultMessage, resolvable.getArguments(), locale);
+        }
+        if (useCodeAsDefaultMessage && !ObjectUtils.isEmpty(codes)) {
+            return codes[0];
+        }
+        throw new NoSuchMessageException(!ObjectUtils.isEmpty(codes) ? codes[codes.length - 1] : null, locale);
+    }
+
+    private String getMessageInternal(String code, Object[] args, Locale locale) {
+        if (code == null) {
+            return null;
+        }
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        MessageTemplate template = table(locale).get(code);
+        if (template == null) {
+            return null;
+        }
+        if (ObjectUtils.isEmpty(args) && !alwaysUseMessageFormat) {
+            return template.getMessage();
+        }
+        return template.format(resolveArguments(args, locale), locale);
+    }
+
+    private Map<String, MessageTemplate> table(Locale locale) {
+        Map<String, MessageTemplate> table = tables.get(locale);
+        if (table != null) {
+            return table;
+        }
+        // en_US_POSIX -> en_US -> en (ResourceBundle 후보 순서)
+        if (!locale.getVariant().isEmpty() || !locale.getScript().isEmpty()) {
+            table = tables.get(Locale.of(locale.getLanguage(), locale.getCountry()));
+            if (table != null) {
+                return table;
+            }
+        }
+        table = languageTables.get(locale.getLanguage());
+        return table != null ? table : fallbackTable;
+    }
+
+    private String render(String defaultMessage, Object[] args, Locale locale) {
+        if (ObjectUtils.isEmpty(args) && !alwaysUseMessageFormat) {
+            return defaultMessage;
+        }
+        Locale formatLocale = locale != null ? locale : Locale.getDefault();
+        MessageTemplate template = MessageTemplate.compile(defaultMessage, formatLocale);
+        if (!template.isValid()) {
+            // 형식이 잘못된 기본 메시지는 그대로 쓴다 (MessageSourceSupport와 같다)
+            return defaultMessage;
+        }
+        return template.format(resolveArguments(args, formatLocale), formatLocale);
+    }
+
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        if (ObjectUtils.isEmpty(args)) {
+            return new Object[0];
+        }
+        Object[] resolved = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable) {
+                if (resolved == null) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage((MessageSourceResolvable) args[i], locale);
+            }
+        }
+        return resolved != null ? resolved : args;
+    }
+
+    /**
+     * 로케일 하나의 표: 앞의 basename에 있는 코드가 먼저다
+     */
+    private static Map<String, MessageTemplate> load(String[] basenames, Locale locale, Control control,
+                                                      ClassLoader classLoader) {
+        Map<String, MessageTemplate> table = new HashMap<>();
+        for (String basename : basenames) {
+            ResourceBundle bundle;
+            try {
+                bundle = ResourceBundle.getBundle(basename, locale, classLoader, control);
+            } catch (MissingResourceException e) {
+                log.warn("ResourceBundle [{}] not found for MessageSource: {}", basename, e.getMessage());
+                continue;
+            }
+            for (String code : bundle.keySet()) {
+                table.computeIfAbsent(code, key -> MessageTemplate.compile(bundle.getString(key), locale));
+            }
+        }
+        return Map.copyOf(table);
+    }
+
+    /**
+     * classpath의 basename_xx.properties 파일 이름에서 로케일을 찾는다
+     */
+    private static Set<Locale> bundleLocales(String[] basenames, ClassLoader classLoader) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        Set<Locale> locales = new LinkedHashSet<>();
+        for (String basename : basenames) {
+            String path = basename.replace('.', '/');
+            String prefix = StringUtils.getFilename(path) + "_";
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + path + "_*.properties")) {
+                    String filename = resource.getFilename();
+                    if (filename == null || !filename.startsWith(prefix)) {
+                        continue;
+                    }
+                    String suffix = filename.substring(prefix.length(), filename.length() - ".properties".length());
+                    Locale locale = StringUtils.parseLocaleString(suffix);
+                    if (locale != null && !locale.getLanguage().isEmpty()) {
+                        locales.add(locale);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("message bundle scan failed basename={}", basename, e);
+            }
+        }
+        return locales;
+    }
+
+    /**
+     * ResourceBundleMessageSource와 같이 properties 파일을 설정한 인코딩으로 읽는다
+     * 표를 만든 뒤에는 쓰지 않으므로 ResourceBundle 캐시에 남기지 않는다.
+     */
+    private static final class Control extends ResourceBundle.Control {
+
+        private final Charset encoding;
+        private final boolean fallbackToSystemLocale;
+
+        Control(Charset encoding, boolean fallbackToSystemLocale) {
+            this.encoding = encoding;
+            this.fallbackToSystemLocale = fallbackToSystemLocale;
+        }
+
+        @Override
+        public List<String> getFormats(String baseName) {
+            return FORMAT_PROPERTIES;
+        }
+
+        @Override
+        public ResourceBundle newBundle(String baseName, Locale locale, String format, ClassLoader loader, boolean reload)
+                throws IOException {
+            String resourceName = toResourceName(toBundleName(baseName, locale), "properties");
+            try (InputStream inputStream = loader.getResourceAsStream(resourceName)) {
+                if (inputStream == null) {
+                    return null;
+                }
+                return encoding != null
+                        ? new PropertyResourceBundle(new InputStreamReader(inputStream, encoding))
+                        : new PropertyResourceBundle(inputStream);
+            }
+        }
+
+        @Override
+        public Locale getFallbackLocale(String baseName, Locale locale) {
+            return fallbackToSystemLocale ? super.getFallbackLocale(baseName, locale) : null;
+        }
+
+        @Override
+        public long getTimeToLive(String baseName, Locale locale) {
+            return TTL_DONT_CACHE;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package hello.login.web.metrics;
+
+import lombok.Getter;
+
+/**
+ * 컨트롤러 메서드 하나의 처리 시간
+ */
+@Getter
+public class HandlerStats {
+
+    private final String handler; // ItemController#editForm
+    private final String pattern; // /items/{itemId}/edit
+    private final LatencyStats total; // 시작 후 전체
+    private final LatencyStats interval; // 마지막으로 끝난 구간 (metrics.interval)
+
+    HandlerStats(String handler, String pattern, LatencyStats total, LatencyStats interval) {
+        this.handler = handler;
+        this.pattern = pattern;
+        this.total = total;
+        this.interval = interval;
+    }
+}
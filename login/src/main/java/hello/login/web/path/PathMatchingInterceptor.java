@@ -0,0 +1,62 @@
+package hello.login.web.path;
+
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.util.ServletRequestPathUtils;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 경로 패턴을 미리 컴파일해 두고 맞는 요청에만 delegate를 실행한다
+ * InterceptorRegistration.addPathPatterns는 요청마다 패턴을 하나씩 비교하므로,
+ * 패턴 없이 이 클래스로 감싸서 등록하면 한 번의 트라이 탐색으로 끝난다.
+ */
+public class PathMatchingInterceptor implements HandlerInterceptor {
+
+    private final HandlerInterceptor delegate;
+    private PathPatterns includePatterns = PathPatterns.compile("/**");
+    private PathPatterns excludePatterns = PathPatterns.compile();
+
+    public PathMatchingInterceptor(HandlerInterceptor delegate) {
+        this.delegate = delegate;
+    }
+
+    public PathMatchingInterceptor addPathPatterns(String... patterns) {
+        this.includePatterns = PathPatterns.compile(patterns);
+        return this;
+    }
+
+    public PathMatchingInterceptor excludePathPatterns(String... patterns) {
+        this.excludePatterns = PathPatterns.compile(patterns);
+        return this;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        return !matches(request) || delegate.preHandle(request, response, handler);
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler, ModelAndView modelAndView) throws Exception {
+        if (matches(request)) {
+            delegate.postHandle(request, response, handler, modelAndView);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        if (matches(request)) {
+            delegate.afterCompletion(request, response, handler, ex);
+        }
+    }
+
+    boolean matches(String path) {
+        return includePatterns.matches(path) && !excludePatterns.matches(path);
+    }
+
+    // MappedInterceptor와 같이 context path를 뺀 경로로 비교한다
+    private boolean matches(HttpServletRequest request) {
+        return matches(ServletRequestPathUtils.getCachedPathValue(request));
+    }
+}
@@ -0,0 +1,233 @@
+package hello.login.web.path;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 시작할 때 한 번 컴파일해 두는 URL 패턴 집합
+ * 패턴을 '/' 단위 segment 트라이로 합쳐 두고, URI를 앞에서부터 segment 단위로 따라가며 찾는다.
+ * 패턴 수와 관계없이 URI 길이만큼만 비교하고 (** 가 있으면 그 뒤만 다시 본다) 문자열을 새로 만들지 않는다.
+ *
+ * 패턴 문법 (Ant 스타일)
+ * - /members/add : 그대로 일치
+ * - /items/*, /items/{itemId} : segment 하나 (빈 segment는 마지막 * 만)
+ * - /css/** : 0개 이상의 segment (/css 포함)
+ * - /*.ico, /item?.html : segment 안의 * (0자 이상), ? (1자)
+ * 스프링 PathPattern과 같이 끝의 '/' 하나는 있어도 된다 (/login 은 /login/ 도 포함).
+ */
+public final class PathPatterns {
+
+    private final Node root = new Node();
+    private final List<String> patterns = new ArrayList<>();
+
+    private PathPatterns() {
+    }
+
+    public static PathPatterns compile(String... patterns) {
+        PathPatterns compiled = new PathPatterns();
+        for (String pattern : patterns) {
+            compiled.add(pattern);
+        }
+        compiled.root.freeze();
+        return compiled;
+    }
+
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    public boolean matches(String path) {
+        if (path == null || patterns.isEmpty()) {
+            return false;
+        }
+        return match(root, path, path.startsWith("/") ? 1 : 0);
+    }
+
+    @Override
+    public String toString() {
+        return patterns.toString();
+    }
+
+    private void add(String pattern) {
+        patterns.add(pattern);
+        String trimmed = pattern.startsWith("/") ? pattern.substring(1) : pattern;
+        Node node = root;
+        String[] segments = trimmed.split("/", -1);
+        for (String segment : segments) {
+            node = node.child(segment);
+        }
+        node.terminal = true;
+        // '/'로 끝나는 패턴(/, /items/)은 '/'를 더 붙일 수 없다
+        node.optionalTrailingSeparator |= !segments[segments.length - 1].isEmpty();
+    }
+
+    /**
+     * @param from 다음 segment 시작 위치, 더 이상 segment가 없으면 -1
+     */
+    private static boolean match(Node node, String path, int from) {
+        if (node.anySegments != null && matchAnySegments(node.anySegments, path, from)) {
+            return true;
+        }
+        if (from < 0) {
+            return node.terminal;
+        }
+        // 끝의 '/' 뒤 빈 segment
+        if (from == path.length() && node.terminal && node.optionalTrailingSeparator) {
+            return true;
+        }
+        int slash = path.indexOf('/', from);
+        int end = slash < 0 ? path.length() : slash;
+        int next = slash < 0 ? -1 : slash + 1;
+
+        Node literal = node.literal(path, from, end);
+        if (literal != null && match(literal, path, next)) {
+            return true;
+        }
+        for (int i = 0; i < node.globs.length; i++) {
+            if (globMatches(node.globs[i], path, from, end) && match(node.globNodes[i], path, next)) {
+                return true;
+            }
+        }
+        // PathPattern과 같이 빈 segment는 마지막 * 만 맞는다 (/files/* 는 /files/ 포함, /items/{itemId} 는 제외)
+        if (node.anySegment != null && (end > from || next < 0) && match(node.anySegment, path, next)) {
+            return true;
+        }
+        return node.variable != null && end > from && match(node.variable, path, next);
+    }
+
+    // ** 가 segment를 0개, 1개, 2개... 먹은 경우를 차례로 본다
+    private static boolean matchAnySegments(Node node, String path, int from) {
+        while (true) {
+            if (match(node, path, from)) {
+                return true;
+            }
+            if (from < 0) {
+                return false;
+            }
+            int slash = path.indexOf('/', from);
+            from = slash < 0 ? -1 : slash + 1;
+        }
+    }
+
+    /**
+     * segment 하나 안의 * (0자 이상), ? (1자)
+     */
+    static boolean globMatches(String glob, String path, int from, int end) {
+        int g = 0;
+        int p = from;
+        int starGlob = -1;
+        int starPath = -1;
+        while (p < end) {
+            if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == path.charAt(p))) {
+                g++;
+                p++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                starGlob = g++;
+                starPath = p;
+            } else if (starGlob >= 0) {
+                g = starGlob + 1;
+                p = ++starPath;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    private static final class Node {
+
+        private static final String[] NO_KEYS = {};
+        private static final Node[] NO_NODES = {};
+
+        boolean terminal;
+        boolean optionalTrailingSeparator;
+        Node anySegment; // *
+        Node variable; // {name}
+        Node anySegments; // **
+
+        // 만드는 동안만 사용
+        private Map<String, Node> literalMap = new TreeMap<>();
+        private Map<String, Node> globMap = new TreeMap<>();
+
+        // freeze 후 (literals는 정렬되어 있어 이진 탐색한다)
+        String[] literals = NO_KEYS;
+        Node[] literalNodes = NO_NODES;
+        String[] globs = NO_KEYS;
+        Node[] globNodes = NO_NODES;
+
+        Node child(String segment) {
+            if (segment.equals("**")) {
+                return anySegments != null ? anySegments : (anySegments = new Node());
+            }
+            if (segment.equals("*")) {
+                return anySegment != null ? anySegment : (anySegment = new Node());
+            }
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                return variable != null ? variable : (variable = new Node());
+            }
+            if (segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0) {
+                return globMap.computeIfAbsent(segment, s -> new Node());
+            }
+            return literalMap.computeIfAbsent(segment, s -> new Node());
+        }
+
+        void freeze() {
+            literals = literalMap.keySet().toArray(NO_KEYS);
+            literalNodes = literalMap.values().toArray(NO_NODES);
+            globs = globMap.keySet().toArray(NO_KEYS);
+            globNodes = globMap.values().toArray(NO_NODES);
+            literalMap = null;
+            globMap = null;
+            for (Node node : literalNodes) {
+                node.freeze();
+            }
+            for (Node node : globNodes) {
+                node.freeze();
+            }
+            if (anySegment != null) {
+                anySegment.freeze();
+            }
+            if (variable != null) {
+                variable.freeze();
+            }
+            if (anySegments != null) {
+                anySegments.freeze();
+            }
+        }
+
+        Node literal(String path, int from, int end) {
+            int low = 0;
+            int high = literals.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compared = compare(literals[mid], path, from, end);
+                if (compared < 0) {
+                    low = mid + 1;
+                } else if (compared > 0) {
+                    high = mid - 1;
+                } else {
+                    return literalNodes[mid];
+                }
+            }
+            return null;
+        }
+
+        // String.compareTo와 같은 순서로 literal과 path[from, end)를 비교한다
+        private static int compare(String literal, String path, int from, int end) {
+            int length = end - from;
+            int common = Math.min(literal.length(), length);
+            for (int i = 0; i < common; i++) {
+                int compared = literal.charAt(i) - path.charAt(from + i);
+                if (compared != 0) {
+                    return compared;
+                }
+            }
+            return literal.length() - length;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hello.login.web.session;
+
+import java.util.function.LongSupplier;
+
+/**
+ * JVM 안의 샤드 저장소(SessionRegistry)를 사용하는 SessionRepository
+ * 만료, 용량 제한, 스냅샷은 SessionManager가 같은 저장소에 대해 수행한다.
+ */
+class LocalSessionRepository implements SessionRepository {
+
+    private final SessionRegistry registry;
+    private final LongSupplier clock;
+
+    LocalSessionRepository(SessionRegistry registry, LongSupplier clock) {
+        this.registry = registry;
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        registry.put(new ManagedSession(session.getId(), session.getValue(), session.getCreationTime(), clock.getAsLong()));
+    }
+
+    @Override
+    public StoredSession find(SessionId sessionId) {
+        ManagedSession session = registry.get(sessionId, clock.getAsLong());
+        return session != null ? new StoredSession(sessionId, session.getCreationTime(), session.getValue()) : null;
+    }
+
+    @Override
+    public void delete(SessionId sessionId) {
+        registry.remove(sessionId);
+    }
+}
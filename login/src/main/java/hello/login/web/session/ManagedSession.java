@@ -0,0 +1,112 @@
+package hello.login.web.session;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+/**
+ * 세션 저장소에 보관되는 세션 한 건
+ * 보관 값과 생성 시각, 마지막 접근 시각을 함께 가진다.
+ */
+class ManagedSession {
+
+    private final SessionId id;
+    private final Object value;
+    private final long creationTime;
+    private final long estimatedBytes;
+    private volatile long lastAccessedTime;
+    private volatile boolean invalidated;
+
+    static final long NOT_PERSISTED = -1L;
+    // 기록되기 전에 저장소에서 빠진 세션
+    static final long DISCARDED = -2L;
+
+    private static final AtomicLongFieldUpdater<ManagedSession> PERSISTED_ACCESS_TIME =
+            AtomicLongFieldUpdater.newUpdater(ManagedSession.class, "persistedAccessTime");
+
+    // 스냅샷 파일에 마지막으로 기록한 접근 시각
+    private volatile long persistedAccessTime = NOT_PERSISTED;
+
+    ManagedSession(SessionId id, Object value, long creationTime) {
+        this(id, value, creationTime, creationTime);
+    }
+
+    ManagedSession(SessionId id, Object value, long creationTime, long lastAccessedTime) {
+        this.id = id;
+        this.value = value;
+        this.creationTime = creationTime;
+        this.estimatedBytes = SessionSizeEstimator.estimate(value);
+        this.lastAccessedTime = lastAccessedTime;
+    }
+
+    SessionId getId() {
+        return id;
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    long getCreationTime() {
+        return creationTime;
+    }
+
+    long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    long getLastAccessedTime() {
+        return lastAccessedTime;
+    }
+
+    void touch(long now) {
+        // 여러 요청이 동시에 갱신해도 가장 최근 값만 남으면 충분하다
+        if (now > lastAccessedTime) {
+            lastAccessedTime = now;
+        }
+    }
+
+    long getPersistedAccessTime() {
+        return persistedAccessTime;
+    }
+
+    boolean isPersisted() {
+        return persistedAccessTime >= 0;
+    }
+
+    /**
+     * 이미 기록된 세션의 접근 시각 갱신
+     */
+    void markPersisted(long accessTime) {
+        persistedAccessTime = accessTime;
+    }
+
+    /**
+     * PUT을 기록한 뒤 호출한다
+     * @return 그 사이 저장소에서 빠졌으면(discard) false, 이때는 호출한 쪽이 REMOVE를 남긴다
+     */
+    boolean markFirstPersisted(long accessTime) {
+        return PERSISTED_ACCESS_TIME.compareAndSet(this, NOT_PERSISTED, accessTime);
+    }
+
+    /**
+     * 저장소에서 빠질 때 호출한다
+     * @return 아직 기록되지 않아 남길 것이 없으면 true, 이미 기록되었으면 false (REMOVE를 남긴다)
+     */
+    boolean discard() {
+        return PERSISTED_ACCESS_TIME.compareAndSet(this, NOT_PERSISTED, DISCARDED);
+    }
+
+    boolean isInvalidated() {
+        return invalidated;
+    }
+
+    void invalidate() {
+        invalidated = true;
+    }
+
+    /**
+     * 유휴 만료 시각과 절대 만료 시각 중 빠른 쪽
+     */
+    long expiresAt(long idleTimeoutMillis, long absoluteTimeoutMillis) {
+        return Math.min(lastAccessedTime + idleTimeoutMillis, creationTime + absoluteTimeoutMillis);
+    }
+}
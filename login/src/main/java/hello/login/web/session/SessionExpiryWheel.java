@@ -0,0 +1,85 @@
+package hello.login.web.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 세션 만료용 해시 타이밍 휠
+ * 만료 시각을 tick 단위 버킷에 넣어두고, 시간이 흐른 만큼의 버킷만 처리한다.
+ * 접근으로 만료 시각이 늘어난 세션은 버킷을 처리할 때 다시 등록한다(lazy reschedule).
+ * 따라서 전체 세션을 훑지 않고 세션당 O(1)로 만료를 처리한다.
+ */
+class SessionExpiryWheel {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Queue<ManagedSession>[] buckets;
+
+    // 다음에 처리할 tick (sweeper 스레드만 증가시킨다)
+    private volatile long nextTick;
+
+    SessionExpiryWheel(long tickMillis, int wheelSize, long now) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        int size = Integer.highestOneBit(Math.max(wheelSize, 1) * 2 - 1); // 2의 제곱수로 올림
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = newBuckets(size);
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.nextTick = now / tickMillis;
+    }
+
+    void schedule(ManagedSession session, long deadline) {
+        // 이미 지나간 tick이면 다음 처리 대상 버킷에 넣는다
+        long tick = Math.max(deadline / tickMillis, nextTick);
+        buckets[(int) (tick & mask)].add(session);
+    }
+
+    /**
+     * now 까지 경과한 버킷을 처리하고 만료 대상 세션을 반환한다.
+     * 단일 스레드(sweeper)에서만 호출한다.
+     */
+    List<ManagedSession> advance(long now, long idleTimeoutMillis, long absoluteTimeoutMillis) {
+        List<ManagedSession> expired = new ArrayList<>();
+        long currentTick = now / tickMillis;
+        // 한 바퀴 이상 밀렸으면 모든 버킷을 한 번씩만 보면 된다
+        long from = Math.max(nextTick, currentTick - mask);
+
+        for (long tick = from; tick <= currentTick; tick++) {
+            Queue<ManagedSession> bucket = buckets[(int) (tick & mask)];
+            nextTick = tick + 1;
+
+            for (int remaining = bucket.size(); remaining > 0; remaining--) {
+                ManagedSession session = bucket.poll();
+                if (session == null) {
+                    break;
+                }
+                // 이미 직접 만료된 세션은 휠에서 버린다
+                if (session.isInvalidated()) {
+                    continue;
+                }
+                long deadline = session.expiresAt(idleTimeoutMillis, absoluteTimeoutMillis);
+                if (deadline <= now) {
+                    expired.add(session);
+                } else {
+                    schedule(session, deadline);
+                }
+            }
+        }
+        return expired;
+    }
+
+    long getTickMillis() {
+        return tickMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Queue<ManagedSession>[] newBuckets(int size) {
+        return (Queue<ManagedSession>[]) new Queue<?>[size];
+    }
+}
@@ -0,0 +1,120 @@
+package hello.login.web.session;
+
+import java.util.Arrays;
+
+/**
+ * 128bit 세션 id
+ * 저장소 키로는 long 두 개만 쓰고, 쿠키에는 22자리 URL-safe Base64 문자열로 내보낸다.
+ * UUID 문자열(36자)보다 해시/비교가 싸고 키 객체도 작다.
+ */
+public final class SessionId {
+
+    public static final int ENCODED_LENGTH = 22;
+
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] DECODE = new byte[128];
+
+    static {
+        Arrays.fill(DECODE, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            DECODE[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private final long high;
+    private final long low;
+
+    public SessionId(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    /**
+     * 상위 비트부터 6bit씩 21글자, 마지막 2bit를 1글자로 인코딩한다.
+     */
+    public String encode() {
+        char[] chars = new char[ENCODED_LENGTH];
+        for (int i = 0; i < ENCODED_LENGTH - 1; i++) {
+            chars[i] = ALPHABET[sixBitsAt(122 - 6 * i)];
+        }
+        chars[ENCODED_LENGTH - 1] = ALPHABET[(int) (low & 3)];
+        return new String(chars);
+    }
+
+    /**
+     * 쿠키 값 파싱
+     * @return 형식이 맞지 않으면 null
+     */
+    public static SessionId parse(String value) {
+        if (value == null || value.length() != ENCODED_LENGTH) {
+            return null;
+        }
+
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < ENCODED_LENGTH - 1; i++) {
+            int bits = decode(value.charAt(i));
+            if (bits < 0) {
+                return null;
+            }
+            high = (high << 6) | (low >>> 58);
+            low = (low << 6) | bits;
+        }
+
+        // 마지막 글자는 2bit만 담는다. 같은 id를 가리키는 다른 문자열을 허용하지 않는다.
+        int last = decode(value.charAt(ENCODED_LENGTH - 1));
+        if (last < 0 || last > 3) {
+            return null;
+        }
+        high = (high << 2) | (low >>> 62);
+        low = (low << 2) | last;
+        return new SessionId(high, low);
+    }
+
+    private int sixBitsAt(int shift) {
+        if (shift >= 64) {
+            return (int) ((high >>> (shift - 64)) & 63);
+        }
+        if (shift + 6 <= 64) {
+            return (int) ((low >>> shift) & 63);
+        }
+        // high와 low에 걸친 6bit
+        return (int) (((high << (64 - shift)) | (low >>> shift)) & 63);
+    }
+
+    private static int decode(char c) {
+        return c < 128 ? DECODE[c] : -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SessionId)) {
+            return false;
+        }
+        SessionId other = (SessionId) o;
+        return high == other.high && low == other.low;
+    }
+
+    @Override
+    public int hashCode() {
+        // 난수라서 섞을 필요 없이 일부 비트만 써도 고르게 퍼진다
+        return (int) (low ^ (low >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return encode();
+    }
+}
@@ -0,0 +1,90 @@
+package hello.login.web.session;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 세션 id 생성기
+ * UUID.randomUUID()는 모든 스레드가 하나의 SecureRandom을 공유한다.
+ * 여기서는 스레드마다 DRBG 인스턴스와 난수 버퍼를 두고, 일정 개수를 만들 때마다 재시드한다.
+ * 가상 스레드는 버퍼를 풀에서 빌려 쓰고 돌려놓는다.
+ */
+public class SessionIdGenerator {
+
+    private static final int IDS_PER_REFILL = 64;
+    private static final int RESEED_INTERVAL = 1 << 16;
+
+    private final ThreadLocal<RandomBuffer> buffers = ThreadLocal.withInitial(RandomBuffer::new);
+    // 가상 스레드용 (동시에 만드는 스레드 수만큼만 생긴다)
+    private final Queue<RandomBuffer> pool = new ConcurrentLinkedQueue<>();
+
+    public SessionId generate() {
+        if (!Thread.currentThread().isVirtual()) {
+            return buffers.get().next();
+        }
+        RandomBuffer buffer = pool.poll();
+        if (buffer == null) {
+            buffer = new RandomBuffer();
+        }
+        try {
+            return buffer.next();
+        } finally {
+            pool.offer(buffer);
+        }
+    }
+
+    private static final class RandomBuffer {
+
+        private final SecureRandom random = newSecureRandom();
+        private final byte[] bytes = new byte[IDS_PER_REFILL * 16];
+        private int position = bytes.length;
+        private int generated;
+
+        SessionId next() {
+            if (position == bytes.length) {
+                refill();
+            }
+            long high = readLong(position);
+            long low = readLong(position + 8);
+            position += 16;
+            return new SessionId(high, low);
+        }
+
+        private void refill() {
+            if (generated >= RESEED_INTERVAL) {
+                reseed();
+                generated = 0;
+            }
+            random.nextBytes(bytes);
+            generated += IDS_PER_REFILL;
+            position = 0;
+        }
+
+        private void reseed() {
+            try {
+                random.reseed();
+            } catch (UnsupportedOperationException e) {
+                // 재시드를 지원하지 않는 구현체는 자체 시드 관리에 맡긴다
+            }
+        }
+
+        private long readLong(int offset) {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFF);
+            }
+            return value;
+        }
+
+        private static SecureRandom newSecureRandom() {
+            try {
+                // NativePRNG는 인스턴스가 달라도 내부 락을 공유하므로 인스턴스별 상태를 가지는 DRBG를 쓴다
+                return SecureRandom.getInstance("DRBG");
+            } catch (NoSuchAlgorithmException e) {
+                return new SecureRandom();
+            }
+        }
+    }
+}
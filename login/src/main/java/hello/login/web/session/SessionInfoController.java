@@ -1,5 +1,8 @@
 package hello.login.web.session;
 
+import hello.login.web.login.LoginCheckStats;
+import hello.login.web.login.LoginSessionCheck;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -10,8 +13,12 @@ import java.util.Date;
 
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 public class SessionInfoController {
 
+    private final SessionManager sessionManager;
+    private final LoginSessionCheck loginSessionCheck;
+
     @GetMapping("/session-info")
     public String sessionInfo(HttpServletRequest request){
         HttpSession session = request.getSession(false);
@@ -32,4 +39,20 @@ public class SessionInfoController {
         return "세션 출력";
     }
 
+    /**
+     * SessionManager 저장소 용량과 제거 통계
+     */
+    @GetMapping("/session-stats")
+    public SessionStats sessionStats(){
+        return sessionManager.getStats();
+    }
+
+    /**
+     * 세션 쿠키가 없어서 세션 조회를 건너뛴 익명 요청 수
+     */
+    @GetMapping("/login-check-stats")
+    public LoginCheckStats loginCheckStats(){
+        return loginSessionCheck.getStats();
+    }
+
 }
@@ -1,23 +1,129 @@
 package hello.login.web.session;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
  * 세션 관리
+ * 세션마다 유휴 만료(server.servlet.session.timeout)와 절대 만료(session.absolute-timeout)를 적용한다.
+ * 만료 처리는 백그라운드 sweeper 스레드가 타이밍 휠로 수행한다.
+ * 세션 수(session.max-entries)와 추정 메모리(session.max-bytes)를 넘으면 제거 정책에 따라 세션을 제거한다.
+ * 저장소는 session.shards 개의 샤드로 나뉜다.
+ * session.snapshot.enabled 이면 세션을 파일에 주기적으로 기록하고, 시작할 때 복구한다.
+ * SessionRepository 빈이 있으면(session.repository.type=replicated) 세션을 그 저장소에 보관한다.
+ * 이 경우 만료와 용량 관리는 세션 저장소 서버가 맡고, JVM 안의 저장소는 비어 있다.
  */
+@Slf4j
 @Component
 public class SessionManager {
 
     public static final String SESSION_COOKIE_NAME = "mySessionId";
-    private Map<String, Object> sessionStore = new ConcurrentHashMap<>();
+
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final long SWEEP_INTERVAL_MILLIS = 1000L;
+
+    private final SessionRegistry sessionStore;
+    private final SessionRepository sessionRepository;
+    private final SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
+    private final LongSupplier clock;
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+    private final long maxEntries;
+    private final long maxBytes;
+    private final SessionSnapshotter snapshotter;
+    private final long snapshotIntervalMillis;
+
+    private ScheduledExecutorService sweeper;
+
+    public SessionManager() {
+        this(DEFAULT_IDLE_TIMEOUT, new SessionProperties(), System::currentTimeMillis);
+    }
+
+    @Autowired
+    public SessionManager(ServerProperties serverProperties, SessionProperties sessionProperties,
+                          ObjectProvider<SessionRepository> sessionRepository) {
+        this(idleTimeoutOf(serverProperties), sessionProperties, System::currentTimeMillis, sessionRepository.getIfAvailable());
+    }
+
+    SessionManager(Duration idleTimeout, SessionProperties properties, LongSupplier clock) {
+        this(idleTimeout, properties, clock, null);
+    }
+
+    /**
+     * @param sessionRepository null 이면 JVM 안의 저장소
+     */
+    SessionManager(Duration idleTimeout, SessionProperties properties, LongSupplier clock, SessionRepository sessionRepository) {
+        this.clock = clock;
+        this.idleTimeoutMillis = idleTimeout.toMillis();
+        this.absoluteTimeoutMillis = properties.getAbsoluteTimeout().toMillis();
+        this.maxEntries = properties.getMaxEntries();
+        this.maxBytes = properties.getMaxBytes().toBytes();
+
+        SessionProperties.Snapshot snapshot = properties.getSnapshot();
+        this.snapshotter = snapshot.isEnabled()
+                ? new SessionSnapshotter(Paths.get(snapshot.getPath()), snapshot.getInitialFileSize().toBytes())
+                : null;
+        this.snapshotIntervalMillis = snapshot.getInterval().toMillis();
+        this.sessionStore = new SessionRegistry(shardCountOf(properties), idleTimeoutMillis, properties, clock.getAsLong(),
+                snapshotter != null ? snapshotter::onRemoval : session -> { });
+        this.sessionRepository = sessionRepository != null ? sessionRepository : new LocalSessionRepository(sessionStore, clock);
+    }
+
+    static Duration idleTimeoutOf(ServerProperties serverProperties) {
+        Duration timeout = serverProperties.getServlet().getSession().getTimeout();
+        return timeout != null ? timeout : DEFAULT_IDLE_TIMEOUT;
+    }
+
+    private static int shardCountOf(SessionProperties properties) {
+        // 0 이면 코어 수 기준
+        return properties.getShards() > 0 ? properties.getShards() : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * 스냅샷 복구는 요청을 받기 전에 끝나야 하므로 sweeper 시작 전에 수행한다.
+     */
+    @PostConstruct
+    public void startSweeper() {
+        restoreSnapshot();
+
+        sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::expireSessions, SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (snapshotter != null) {
+            sweeper.scheduleWithFixedDelay(this::flushSnapshot, snapshotIntervalMillis, snapshotIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+        log.info("session sweeper start shards={}, maxEntries={}, maxBytes={}",
+                sessionStore.getShardCount(), maxEntries, maxBytes);
+    }
+
+    @PreDestroy
+    public void stopSweeper() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+        closeSnapshot();
+    }
 
     /**
      * 세션 생성
@@ -28,16 +134,17 @@ public class SessionManager {
     public void createSession(Object value, HttpServletResponse response ){
 
         // 세션 id를 생성하고, 값을 세션에 저장
-        String sessionId = UUID.randomUUID().toString();
-        sessionStore.put(sessionId, value);
+        SessionId sessionId = sessionIdGenerator.generate();
+        sessionRepository.save(new StoredSession(sessionId, clock.getAsLong(), value));
 
         // 쿠키 생성
-        Cookie mySessionCookie = new Cookie(SESSION_COOKIE_NAME, sessionId);
+        Cookie mySessionCookie = new Cookie(SESSION_COOKIE_NAME, sessionId.encode());
         response.addCookie(mySessionCookie);
     }
 
     /**
      * 세션 조회
+     * 만료 시각이 지난 세션은 sweeper를 기다리지 않고 바로 제거한다.
      */
     public Object getSession(HttpServletRequest request){
         // findCookie 메소드로 떼어냈다
@@ -61,8 +168,15 @@ public class SessionManager {
             return null;
         }
 
+        // 형식이 맞지 않는 쿠키는 저장소를 조회하지 않는다
+        SessionId sessionId = SessionId.parse(sessionCookie.getValue());
+        if(sessionId == null){
+            return null;
+        }
+
         // 세션 저장소에 등록된 value가 있으면
-        return sessionStore.get(sessionCookie.getValue());
+        StoredSession session = sessionRepository.find(sessionId);
+        return session != null ? session.getValue() : null;
 
     }
 
@@ -73,8 +187,88 @@ public class SessionManager {
         Cookie sessionCookie = findCookie(request, SESSION_COOKIE_NAME);
         // 세션 저장소에 등록된 value가 있으면
         if(sessionCookie != null){
-            sessionStore.remove(sessionCookie.getValue());
+            SessionId sessionId = SessionId.parse(sessionCookie.getValue());
+            if(sessionId != null){
+                sessionRepository.delete(sessionId);
+            }
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 세션 정리 (sweeper 스레드에서 호출)
+     */
+    void expireSessions() {
+        try {
+            sessionStore.expire(clock.getAsLong());
+        } catch (RuntimeException e) {
+            // 예외로 스케줄이 멈추지 않도록 로그만 남긴다
+            log.error("session sweep error", e);
+        }
+    }
+
+    /**
+     * 스냅샷 파일에서 세션 복구
+     * 파일을 읽지 못해도 빈 저장소로 시작할 수 있으므로 로그만 남긴다.
+     */
+    void restoreSnapshot() {
+        if (snapshotter == null) {
+            return;
+        }
+        try {
+            int restored = snapshotter.restore(sessionStore, clock.getAsLong(), idleTimeoutMillis, absoluteTimeoutMillis);
+            log.info("session snapshot restored={}", restored);
+        } catch (IOException e) {
+            log.error("session snapshot restore error", e);
+        }
+    }
+
+    /**
+     * 마지막 flush 이후 변경된 세션을 스냅샷 파일에 추가 (sweeper 스레드에서 호출)
+     */
+    void flushSnapshot() {
+        try {
+            snapshotter.flush(sessionStore);
+        } catch (IOException | RuntimeException e) {
+            log.error("session snapshot flush error", e);
+        }
+    }
+
+    /**
+     * 종료 직전까지의 변경분을 기록하고 파일을 닫는다.
+     */
+    void closeSnapshot() {
+        if (snapshotter == null) {
+            return;
+        }
+        flushSnapshot();
+        try {
+            snapshotter.close();
+        } catch (IOException e) {
+            log.error("session snapshot close error", e);
+        }
+    }
+
+    public int getSessionCount() {
+        return sessionStore.size();
+    }
+
+    public SessionStats getStats() {
+        long entryCount = 0;
+        long estimatedBytes = 0;
+        long evictionCount = 0;
+        long evictedBytes = 0;
+        long expirationCount = 0;
+
+        List<SessionShardStats> shards = sessionStore.stats();
+        for (SessionShardStats shard : shards) {
+            entryCount += shard.getEntryCount();
+            estimatedBytes += shard.getEstimatedBytes();
+            evictionCount += shard.getEvictionCount();
+            evictedBytes += shard.getEvictedBytes();
+            expirationCount += shard.getExpirationCount();
         }
+        return new SessionStats(entryCount, estimatedBytes, maxEntries, maxBytes,
+                evictionCount, evictedBytes, expirationCount, shards);
     }
 
     public Cookie findCookie(HttpServletRequest request, String cookieName){
@@ -0,0 +1,82 @@
+package hello.login.web.session;
+
+import hello.login.web.session.eviction.EvictionPolicyType;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * SessionManager 설정 (session.*)
+ * 유휴 만료 시간은 server.servlet.session.timeout 값을 그대로 사용한다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "session")
+public class SessionProperties {
+
+    // 마지막 접근과 무관하게 생성 후 이 시간이 지나면 만료
+    private Duration absoluteTimeout = Duration.ofHours(8);
+
+    // 저장소 최대 세션 수
+    private long maxEntries = 100_000;
+
+    // 저장소 최대 추정 메모리
+    private DataSize maxBytes = DataSize.ofMegabytes(64);
+
+    private EvictionPolicyType evictionPolicy = EvictionPolicyType.TINY_LFU;
+
+    // 저장소 샤드 수 (2의 제곱수로 올림), 0 이면 코어 수
+    private int shards = 0;
+
+    private Snapshot snapshot = new Snapshot();
+
+    private Repository repository = new Repository();
+
+    /**
+     * 재시작해도 로그인이 유지되도록 세션을 파일에 기록 (session.snapshot.*)
+     */
+    @Data
+    public static class Snapshot {
+
+        private boolean enabled = false;
+
+        private String path = "session.snapshot";
+
+        // 변경분을 파일에 추가하는 주기
+        private Duration interval = Duration.ofSeconds(5);
+
+        // 처음 매핑하는 파일 크기, 부족하면 두 배씩 늘린다
+        private DataSize initialFileSize = DataSize.ofMegabytes(16);
+    }
+
+    /**
+     * 세션 저장소 (session.repository.*)
+     * replicated 이면 SessionManager와 HttpSession 모두 세션 저장소 서버(Redis 호환)에 기록한다.
+     */
+    @Data
+    public static class Repository {
+
+        private SessionRepositoryType type = SessionRepositoryType.LOCAL;
+
+        private String host = "localhost";
+
+        private int port = 6379;
+
+        // 응답 대기 시간
+        private Duration timeout = Duration.ofSeconds(1);
+
+        // 한 번에 보내는 최대 명령 수
+        private int maxBatchSize = 128;
+
+        // 보내지 못하고 쌓아둘 수 있는 최대 명령 수 (넘으면 기다리지 않고 실패)
+        private int maxPendingCommands = 8192;
+
+        private String keyPrefix = "login:session:";
+
+        // 같은 JVM에서 세션 저장소 서버 대역을 port로 실행 (로컬 개발용)
+        private boolean embedded = false;
+    }
+}
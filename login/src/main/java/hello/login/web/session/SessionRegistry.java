@@ -0,0 +1,95 @@
+package hello.login.web.session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 세션 id 해시로 샤드를 고르는 세션 저장소
+ * 샤드마다 독립된 맵과 락을 사용해서 코어 수가 많을 때의 경합과 전체 맵 resize 비용을 줄인다.
+ * 용량 한도(max-entries, max-bytes)는 샤드 수로 나누어 샤드별로 적용한다.
+ */
+class SessionRegistry {
+
+    private static final long TICK_MILLIS = 1000L;
+    private static final int WHEEL_SIZE = 2048; // 1초 * 2048 = 약 34분, 기본 유휴 시간을 한 바퀴에 담는다
+
+    private final SessionSegment[] segments;
+    private final int mask;
+
+    SessionRegistry(int shards, long idleTimeoutMillis, SessionProperties properties, long now) {
+        this(shards, idleTimeoutMillis, properties, now, session -> { });
+    }
+
+    /**
+     * @param removalListener 로그아웃, 만료, 제거 정책으로 세션이 저장소에서 빠질 때 호출된다
+     */
+    SessionRegistry(int shards, long idleTimeoutMillis, SessionProperties properties, long now,
+                    Consumer<ManagedSession> removalListener) {
+        int shardCount = Integer.highestOneBit(Math.max(shards, 1) * 2 - 1); // 2의 제곱수로 올림
+        long maxEntries = divideRoundUp(properties.getMaxEntries(), shardCount);
+        long maxBytes = divideRoundUp(properties.getMaxBytes().toBytes(), shardCount);
+        long absoluteTimeoutMillis = properties.getAbsoluteTimeout().toMillis();
+
+        this.segments = new SessionSegment[shardCount];
+        this.mask = shardCount - 1;
+        for (int i = 0; i < shardCount; i++) {
+            segments[i] = new SessionSegment(i, properties.getEvictionPolicy().create(maxEntries), maxEntries, maxBytes,
+                    idleTimeoutMillis, absoluteTimeoutMillis, new SessionExpiryWheel(TICK_MILLIS, WHEEL_SIZE, now),
+                    removalListener);
+        }
+    }
+
+    void put(ManagedSession session) {
+        segmentFor(session.getId()).put(session);
+    }
+
+    ManagedSession get(SessionId sessionId, long now) {
+        return segmentFor(sessionId).get(sessionId, now);
+    }
+
+    void remove(SessionId sessionId) {
+        segmentFor(sessionId).remove(sessionId);
+    }
+
+    void forEach(Consumer<ManagedSession> action) {
+        for (SessionSegment segment : segments) {
+            segment.forEach(action);
+        }
+    }
+
+    void expire(long now) {
+        for (SessionSegment segment : segments) {
+            segment.expire(now);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (SessionSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    int getShardCount() {
+        return segments.length;
+    }
+
+    List<SessionShardStats> stats() {
+        List<SessionShardStats> stats = new ArrayList<>(segments.length);
+        for (SessionSegment segment : segments) {
+            stats.add(segment.stats());
+        }
+        return stats;
+    }
+
+    private SessionSegment segmentFor(SessionId sessionId) {
+        // id가 난수이므로 맵 해시(low)와 겹치지 않는 high 비트로 샤드를 고른다
+        return segments[(int) (sessionId.getHigh() >>> 32) & mask];
+    }
+
+    private static long divideRoundUp(long value, int divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+}
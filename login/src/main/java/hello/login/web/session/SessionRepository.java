@@ -0,0 +1,23 @@
+package hello.login.web.session;
+
+/**
+ * 세션 저장소 SPI
+ * 기본은 JVM 안에 보관하는 LocalSessionRepository이고,
+ * session.repository.type=replicated 이면 여러 서버가 공유하는 세션 저장소 서버에 기록한다.
+ * 유휴 만료(server.servlet.session.timeout)와 절대 만료(session.absolute-timeout)는 구현체가 적용한다.
+ */
+public interface SessionRepository {
+
+    /**
+     * 세션 저장, 같은 id가 있으면 값을 교체한다.
+     */
+    void save(StoredSession session);
+
+    /**
+     * 세션 조회, 조회한 세션은 유휴 만료 시각이 연장된다.
+     * @return 없거나 만료되었으면 null
+     */
+    StoredSession find(SessionId sessionId);
+
+    void delete(SessionId sessionId);
+}
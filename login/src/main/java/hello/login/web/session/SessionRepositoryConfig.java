@@ -0,0 +1,58 @@
+package hello.login.web.session;
+
+import hello.login.web.session.replicated.EmbeddedSessionServer;
+import hello.login.web.session.replicated.ReplicatedSessionRepository;
+import hello.login.web.session.replicated.SessionStoreClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * session.repository.type=replicated 일 때 세션 저장소 서버 클라이언트와 HttpSession 필터 등록
+ * local 이면 SessionManager는 JVM 안의 저장소를, HttpSession은 서블릿 컨테이너 세션을 그대로 쓴다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "session.repository", name = "type", havingValue = "replicated")
+public class SessionRepositoryConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "session.repository", name = "embedded", havingValue = "true")
+    public EmbeddedSessionServer embeddedSessionServer(SessionProperties sessionProperties) throws IOException {
+        return new EmbeddedSessionServer(sessionProperties.getRepository().getPort());
+    }
+
+    @Bean(destroyMethod = "close")
+    public SessionStoreClient sessionStoreClient(SessionProperties sessionProperties,
+                                                 ObjectProvider<EmbeddedSessionServer> embeddedSessionServer) {
+        SessionProperties.Repository repository = sessionProperties.getRepository();
+        // 대역 서버를 쓰면 서버가 먼저 떠 있어야 한다
+        EmbeddedSessionServer server = embeddedSessionServer.getIfAvailable();
+        int port = server != null ? server.getPort() : repository.getPort();
+        return new SessionStoreClient(repository.getHost(), port, repository.getTimeout(),
+                repository.getMaxBatchSize(), repository.getMaxPendingCommands());
+    }
+
+    @Bean
+    public SessionRepository sessionRepository(SessionStoreClient sessionStoreClient,
+                                               ServerProperties serverProperties, SessionProperties sessionProperties) {
+        return new ReplicatedSessionRepository(sessionStoreClient, sessionProperties.getRepository().getKeyPrefix(),
+                SessionManager.idleTimeoutOf(serverProperties).toMillis(), sessionProperties.getAbsoluteTimeout().toMillis());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SessionRepositoryFilter> sessionRepositoryFilter(SessionRepository sessionRepository,
+                                                                                   ServerProperties serverProperties) {
+        int maxInactiveInterval = (int) SessionManager.idleTimeoutOf(serverProperties).getSeconds();
+
+        FilterRegistrationBean<SessionRepositoryFilter> filterRegistrationBean = new FilterRegistrationBean<>();
+        filterRegistrationBean.setFilter(new SessionRepositoryFilter(sessionRepository, maxInactiveInterval));
+        filterRegistrationBean.setOrder(0); // logFilter, loginCheckFilter 보다 먼저
+        filterRegistrationBean.addUrlPatterns("/*");
+        return filterRegistrationBean;
+    }
+}
@@ -0,0 +1,308 @@
+package hello.login.web.session;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletContext;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import javax.servlet.http.HttpSessionContext;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * request.getSession()이 서블릿 컨테이너 세션 대신 SessionRepository에 저장된 세션을 반환하도록 요청을 감싼다.
+ * 속성을 바꾸면 바로 저장소에 기록하므로(write-through) 리다이렉트된 다음 요청이 다른 서버로 가도 세션이 보인다.
+ * getAttribute로 꺼낸 객체를 직접 수정한 것은 setAttribute를 다시 호출해야 저장된다.
+ */
+public class SessionRepositoryFilter extends OncePerRequestFilter {
+
+    public static final String SESSION_COOKIE_NAME = "SESSION";
+
+    private final SessionRepository sessionRepository;
+    private final SessionIdGenerator sessionIdGenerator = new SessionIdGenerator();
+    private final int maxInactiveIntervalSeconds;
+
+    public SessionRepositoryFilter(SessionRepository sessionRepository, int maxInactiveIntervalSeconds) {
+        this.sessionRepository = sessionRepository;
+        this.maxInactiveIntervalSeconds = maxInactiveIntervalSeconds;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(new RepositoryRequest(request, response), response);
+    }
+
+    private final class RepositoryRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletResponse response;
+        private RepositoryHttpSession session;
+        private boolean requestedSessionLoaded;
+
+        RepositoryRequest(HttpServletRequest request, HttpServletResponse response) {
+            super(request);
+            this.response = response;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session != null && !session.invalidated) {
+                return session;
+            }
+            if (!requestedSessionLoaded) {
+                requestedSessionLoaded = true;
+                session = loadRequestedSession();
+                if (session != null) {
+                    return session;
+                }
+            }
+            if (!create) {
+                return null;
+            }
+
+            session = new RepositoryHttpSession(sessionIdGenerator.generate(), System.currentTimeMillis(),
+                    new HashMap<>(), true);
+            session.save();
+            writeCookie(session.id.encode(), -1);
+            return session;
+        }
+
+        @Override
+        public String changeSessionId() {
+            RepositoryHttpSession current = (RepositoryHttpSession) getSession(false);
+            if (current == null) {
+                throw new IllegalStateException("no session");
+            }
+            SessionId previousId = current.id;
+            current.id = sessionIdGenerator.generate();
+            current.save();
+            sessionRepository.delete(previousId);
+            writeCookie(current.id.encode(), -1);
+            return current.getId();
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            Cookie cookie = findCookie();
+            return cookie != null ? cookie.getValue() : null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            HttpSession current = getSession(false);
+            return current != null && current.getId().equals(getRequestedSessionId());
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromCookie() {
+            return findCookie() != null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromURL() {
+            return false;
+        }
+
+        @Override
+        @Deprecated
+        public boolean isRequestedSessionIdFromUrl() {
+            return false;
+        }
+
+        @SuppressWarnings("unchecked")
+        private RepositoryHttpSession loadRequestedSession() {
+            Cookie cookie = findCookie();
+            SessionId sessionId = cookie != null ? SessionId.parse(cookie.getValue()) : null;
+            if (sessionId == null) {
+                return null;
+            }
+            StoredSession stored = sessionRepository.find(sessionId);
+            // SessionManager가 만든 세션(값이 Member)은 HttpSession으로 쓰지 않는다
+            if (stored == null || !(stored.getValue() instanceof Map)) {
+                return null;
+            }
+            return new RepositoryHttpSession(sessionId, stored.getCreationTime(),
+                    (Map<String, Object>) stored.getValue(), false);
+        }
+
+        private Cookie findCookie() {
+            Cookie[] cookies = getCookies();
+            if (cookies == null) {
+                return null;
+            }
+            for (Cookie cookie : cookies) {
+                if (SESSION_COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie;
+                }
+            }
+            return null;
+        }
+
+        private void writeCookie(String value, int maxAge) {
+            Cookie cookie = new Cookie(SESSION_COOKIE_NAME, value);
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(maxAge);
+            response.addCookie(cookie);
+        }
+
+        private final class RepositoryHttpSession implements HttpSession {
+
+            private SessionId id;
+            private final long creationTime;
+            private final long lastAccessedTime = System.currentTimeMillis();
+            // 다른 요청과 공유될 수 있으므로 변경할 때마다 복사한다
+            private Map<String, Object> attributes;
+            private final boolean isNew;
+            private int maxInactiveInterval = maxInactiveIntervalSeconds;
+            private boolean invalidated;
+
+            RepositoryHttpSession(SessionId id, long creationTime, Map<String, Object> attributes, boolean isNew) {
+                this.id = id;
+                this.creationTime = creationTime;
+                this.attributes = attributes;
+                this.isNew = isNew;
+            }
+
+            void save() {
+                sessionRepository.save(new StoredSession(id, creationTime, attributes));
+            }
+
+            @Override
+            public long getCreationTime() {
+                checkValid();
+                return creationTime;
+            }
+
+            @Override
+            public String getId() {
+                return id.encode();
+            }
+
+            @Override
+            public long getLastAccessedTime() {
+                checkValid();
+                return lastAccessedTime;
+            }
+
+            @Override
+            public ServletContext getServletContext() {
+                return RepositoryRequest.this.getServletContext();
+            }
+
+            /**
+             * 만료 시간은 저장소 설정(server.servlet.session.timeout)을 따르므로 이 요청 안에서만 반영된다.
+             */
+            @Override
+            public void setMaxInactiveInterval(int interval) {
+                this.maxInactiveInterval = interval;
+            }
+
+            @Override
+            public int getMaxInactiveInterval() {
+                return maxInactiveInterval;
+            }
+
+            @Override
+            @Deprecated
+            public HttpSessionContext getSessionContext() {
+                return null;
+            }
+
+            @Override
+            public Object getAttribute(String name) {
+                checkValid();
+                return attributes.get(name);
+            }
+
+            @Override
+            @Deprecated
+            public Object getValue(String name) {
+                return getAttribute(name);
+            }
+
+            @Override
+            public Enumeration<String> getAttributeNames() {
+                checkValid();
+                return Collections.enumeration(attributes.keySet());
+            }
+
+            @Override
+            @Deprecated
+            public String[] getValueNames() {
+                checkValid();
+                return attributes.keySet().toArray(new String[0]);
+            }
+
+            @Override
+            public void setAttribute(String name, Object value) {
+                if (value == null) {
+                    removeAttribute(name);
+                    return;
+                }
+                checkValid();
+                Map<String, Object> changed = new HashMap<>(attributes);
+                changed.put(name, value);
+                attributes = changed;
+                save();
+            }
+
+            @Override
+            @Deprecated
+            public void putValue(String name, Object value) {
+                setAttribute(name, value);
+            }
+
+            @Override
+            public void removeAttribute(String name) {
+                checkValid();
+                if (!attributes.containsKey(name)) {
+                    return;
+                }
+                Map<String, Object> changed = new HashMap<>(attributes);
+                changed.remove(name);
+                attributes = changed;
+                save();
+            }
+
+            @Override
+            @Deprecated
+            public void removeValue(String name) {
+                removeAttribute(name);
+            }
+
+            @Override
+            public void invalidate() {
+                checkValid();
+                invalidated = true;
+                sessionRepository.delete(id);
+                writeCookie("", 0);
+            }
+
+            @Override
+            public boolean isNew() {
+                checkValid();
+                return isNew;
+            }
+
+            private void checkValid() {
+                if (invalidated) {
+                    throw new IllegalStateException("session invalidated");
+                }
+            }
+        }
+    }
+}
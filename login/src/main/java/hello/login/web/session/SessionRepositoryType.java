@@ -0,0 +1,10 @@
+package hello.login.web.session;
+
+public enum SessionRepositoryType {
+
+    // JVM 안에 보관
+    LOCAL,
+
+    // 여러 서버가 공유하는 세션 저장소 서버에 보관
+    REPLICATED
+}
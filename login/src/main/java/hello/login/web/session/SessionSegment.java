@@ -0,0 +1,182 @@
+package hello.login.web.session;
+
+import hello.login.web.session.eviction.SessionEvictionPolicy;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * 세션 저장소의 샤드 하나
+ * 샤드마다 맵, 타이밍 휠, 제거 정책, 락을 따로 가지므로 다른 샤드와 경합하지 않는다.
+ */
+class SessionSegment {
+
+    private final int index;
+    private final Map<SessionId, ManagedSession> sessions = new ConcurrentHashMap<>();
+    private final SessionExpiryWheel expiryWheel;
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+    private final Consumer<ManagedSession> removalListener;
+
+    // 제거 정책과 용량 계산은 lock 안에서만 변경한다
+    private final ReentrantLock lock = new ReentrantLock();
+    private final SessionEvictionPolicy evictionPolicy;
+    private final long maxEntries;
+    private final long maxBytes;
+    private long entryCount;
+    private long estimatedBytes;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder evictedBytes = new LongAdder();
+    private final LongAdder expirationCount = new LongAdder();
+
+    SessionSegment(int index, SessionEvictionPolicy evictionPolicy, long maxEntries, long maxBytes,
+                   long idleTimeoutMillis, long absoluteTimeoutMillis, SessionExpiryWheel expiryWheel,
+                   Consumer<ManagedSession> removalListener) {
+        this.index = index;
+        this.evictionPolicy = evictionPolicy;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.absoluteTimeoutMillis = absoluteTimeoutMillis;
+        this.expiryWheel = expiryWheel;
+        this.removalListener = removalListener;
+    }
+
+    /**
+     * 새 세션을 저장하고, 한도를 넘으면 제거 정책이 고른 세션을 제거한다.
+     * 같은 id의 세션이 있으면 교체한다.
+     */
+    void put(ManagedSession session) {
+        ManagedSession previous = sessions.put(session.getId(), session);
+
+        lock.lock();
+        try {
+            if (previous != null) {
+                // 교체된 세션은 타이밍 휠에서 무효 세션으로 건너뛴다
+                previous.invalidate();
+                evictionPolicy.recordRemove(previous.getId());
+                entryCount--;
+                estimatedBytes -= previous.getEstimatedBytes();
+            }
+            evictionPolicy.recordCreate(session.getId());
+            entryCount++;
+            estimatedBytes += session.getEstimatedBytes();
+
+            while (entryCount > maxEntries || estimatedBytes > maxBytes) {
+                SessionId victimId = evictionPolicy.selectVictim();
+                if (victimId == null) {
+                    break;
+                }
+                ManagedSession victim = sessions.get(victimId);
+                if (victim == null) {
+                    // 이미 다른 경로로 제거된 세션
+                    evictionPolicy.recordRemove(victimId);
+                    continue;
+                }
+                if (remove(victim)) {
+                    evictionCount.increment();
+                    evictedBytes.add(victim.getEstimatedBytes());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        expiryWheel.schedule(session, session.expiresAt(idleTimeoutMillis, absoluteTimeoutMillis));
+    }
+
+    /**
+     * 만료 시각이 지난 세션은 sweeper를 기다리지 않고 바로 제거한다.
+     */
+    ManagedSession get(SessionId sessionId, long now) {
+        ManagedSession session = sessions.get(sessionId);
+        if (session == null) {
+            missCount.increment();
+            return null;
+        }
+
+        if (session.expiresAt(idleTimeoutMillis, absoluteTimeoutMillis) <= now) {
+            if (remove(session)) {
+                expirationCount.increment();
+            }
+            missCount.increment();
+            return null;
+        }
+
+        hitCount.increment();
+        session.touch(now);
+
+        // 조회 경로에서는 락을 기다리지 않는다. 접근 기록을 일부 놓쳐도 제거 순서만 조금 달라진다.
+        if (lock.tryLock()) {
+            try {
+                evictionPolicy.recordAccess(sessionId);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return session;
+    }
+
+    void remove(SessionId sessionId) {
+        ManagedSession session = sessions.get(sessionId);
+        if (session != null) {
+            remove(session);
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 세션 정리 (sweeper 스레드에서 호출)
+     */
+    void expire(long now) {
+        for (ManagedSession session : expiryWheel.advance(now, idleTimeoutMillis, absoluteTimeoutMillis)) {
+            if (remove(session)) {
+                expirationCount.increment();
+            }
+        }
+    }
+
+    void forEach(Consumer<ManagedSession> action) {
+        sessions.values().forEach(action);
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    SessionShardStats stats() {
+        lock.lock();
+        try {
+            return new SessionShardStats(index, entryCount, estimatedBytes, hitCount.sum(), missCount.sum(),
+                    evictionCount.sum(), evictedBytes.sum(), expirationCount.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return 이번 호출로 실제 제거되었으면 true
+     */
+    private boolean remove(ManagedSession session) {
+        if (!sessions.remove(session.getId(), session)) {
+            return false;
+        }
+        session.invalidate();
+
+        lock.lock();
+        try {
+            evictionPolicy.recordRemove(session.getId());
+            entryCount--;
+            estimatedBytes -= session.getEstimatedBytes();
+        } finally {
+            lock.unlock();
+        }
+        removalListener.accept(session);
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package hello.login.web.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 세션 저장소 샤드 하나의 통계
+ */
+@Data
+@AllArgsConstructor
+public class SessionShardStats {
+
+    private int shard;
+    private long entryCount;
+    private long estimatedBytes;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long evictedBytes;
+    private long expirationCount;
+}
@@ -0,0 +1,41 @@
+package hello.login.web.session;
+
+import hello.login.domain.member.Member;
+
+/**
+ * 세션 한 건이 차지하는 힙 크기 추정
+ * 정확한 값이 아니라 저장소 용량 제한에 쓰는 근사치다.
+ */
+abstract class SessionSizeEstimator {
+
+    // ManagedSession + SessionId(long 2개) + ConcurrentHashMap 노드 + 타이밍 휠/제거 정책 노드
+    private static final long ENTRY_OVERHEAD = 192;
+    private static final long OBJECT_HEADER = 16;
+    private static final long DEFAULT_VALUE_SIZE = 256;
+
+    static long estimate(Object value) {
+        return ENTRY_OVERHEAD + sizeOf(value);
+    }
+
+    private static long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence) {
+            // String 객체 + byte[] (compact string 기준)
+            return OBJECT_HEADER + 24 + ((CharSequence) value).length();
+        }
+        if (value instanceof Number) {
+            return OBJECT_HEADER + 8;
+        }
+        if (value instanceof Member) {
+            Member member = (Member) value;
+            return OBJECT_HEADER + 32
+                    + sizeOf(member.getId())
+                    + sizeOf(member.getLoginId())
+                    + sizeOf(member.getName())
+                    + sizeOf(member.getPassword());
+        }
+        return DEFAULT_VALUE_SIZE;
+    }
+}
@@ -0,0 +1,262 @@
+package hello.login.web.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * 세션 스냅샷 파일 (memory-mapped append log)
+ *
+ * header : magic(int) version(int)
+ * record : length(int) type(byte) idHigh(long) idLow(long) body crc32(int)
+ *   PUT    body = creationTime(long) lastAccessedTime(long) valueLength(int) value(byte[])
+ *   TOUCH  body = lastAccessedTime(long)
+ *   REMOVE body 없음
+ * length는 type부터 body 끝까지의 길이이고, 0 이면 로그의 끝이다.
+ * 변경분은 파일 끝에 추가만 하고, 파일 전체를 다시 쓰는 것은 rewrite(압축)할 때뿐이다.
+ */
+@Slf4j
+class SessionSnapshotFile implements Closeable {
+
+    static final int MAGIC = 0x53534E50; // "SSNP"
+    static final int VERSION = 1;
+
+    static final byte PUT = 1;
+    static final byte TOUCH = 2;
+    static final byte REMOVE = 3;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int ID_SIZE = 16;
+    private static final int FRAME_SIZE = 4 + 4; // length + crc32
+
+    /**
+     * 파일을 처음부터 읽을 때 기록마다 호출된다.
+     */
+    interface RecordHandler {
+
+        void put(SessionId sessionId, long creationTime, long lastAccessedTime, byte[] value);
+
+        void touch(SessionId sessionId, long lastAccessedTime);
+
+        void remove(SessionId sessionId);
+    }
+
+    /**
+     * rewrite 할 때 새 파일에 살아있는 세션을 기록한다.
+     */
+    interface Writer {
+
+        void writeTo(SessionSnapshotFile file) throws IOException;
+    }
+
+    private final Path path;
+    private final long initialSize;
+    private final CRC32 crc = new CRC32();
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private SessionSnapshotFile(Path path, long initialSize) {
+        this.path = path;
+        this.initialSize = initialSize;
+    }
+
+    /**
+     * 파일을 열고 기존 기록을 모두 handler로 전달한 뒤, 이어서 기록할 위치를 잡는다.
+     * 파일이 없거나 버전이 다르면 새 파일로 시작한다.
+     */
+    static SessionSnapshotFile open(Path path, long initialSize, RecordHandler handler) throws IOException {
+        SessionSnapshotFile file = new SessionSnapshotFile(path, initialSize);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        file.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long existingSize = file.channel.size();
+        file.map(Math.max(existingSize, initialSize));
+
+        if (existingSize >= HEADER_SIZE && file.readHeader()) {
+            file.replay(handler);
+        } else {
+            if (existingSize > 0) {
+                log.warn("session snapshot format mismatch, start new file path={}", path);
+            }
+            file.writeHeader();
+        }
+        return file;
+    }
+
+    void appendPut(SessionId sessionId, long creationTime, long lastAccessedTime, byte[] value) throws IOException {
+        int start = beginRecord(PUT, sessionId, 8 + 8 + 4 + value.length);
+        buffer.putLong(creationTime);
+        buffer.putLong(lastAccessedTime);
+        buffer.putInt(value.length);
+        buffer.put(value);
+        endRecord(start);
+    }
+
+    void appendTouch(SessionId sessionId, long lastAccessedTime) throws IOException {
+        int start = beginRecord(TOUCH, sessionId, 8);
+        buffer.putLong(lastAccessedTime);
+        endRecord(start);
+    }
+
+    void appendRemove(SessionId sessionId) throws IOException {
+        int start = beginRecord(REMOVE, sessionId, 0);
+        endRecord(start);
+    }
+
+    /**
+     * 기록된 바이트 수 (header 포함)
+     */
+    long size() {
+        return buffer.position();
+    }
+
+    /**
+     * 살아있는 세션만 담은 새 파일을 만들어서 현재 파일을 교체한다.
+     * 새 파일을 끝까지 쓴 다음 rename 하므로 도중에 종료되어도 기존 파일이 남는다.
+     */
+    void rewrite(Writer writer) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+
+        SessionSnapshotFile next = new SessionSnapshotFile(temp, initialSize);
+        next.channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            next.map(initialSize);
+            next.writeHeader();
+            writer.writeTo(next);
+            next.force();
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            next.channel.close();
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+
+        channel.close();
+        channel = next.channel;
+        buffer = next.buffer;
+    }
+
+    /**
+     * 재배포(프로세스 재시작)는 OS 페이지 캐시에 남은 내용으로 충분하다.
+     * 장비 장애에 대비해 디스크까지 내려야 할 때만 호출한다.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private int beginRecord(byte type, SessionId sessionId, int bodyLength) throws IOException {
+        int length = 1 + ID_SIZE + bodyLength;
+        ensureCapacity(FRAME_SIZE + length);
+
+        int start = buffer.position();
+        buffer.putInt(length);
+        buffer.put(type);
+        buffer.putLong(sessionId.getHigh());
+        buffer.putLong(sessionId.getLow());
+        return start;
+    }
+
+    private void endRecord(int start) {
+        ByteBuffer record = buffer.duplicate();
+        record.position(start + 4).limit(buffer.position());
+        crc.reset();
+        crc.update(record);
+        buffer.putInt((int) crc.getValue());
+    }
+
+    private void ensureCapacity(int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return;
+        }
+        long newSize = Math.max((long) buffer.capacity() * 2, (long) buffer.position() + required);
+        if (newSize > Integer.MAX_VALUE) {
+            throw new IOException("session snapshot file too large path=" + path);
+        }
+        map(newSize);
+    }
+
+    private void map(long size) throws IOException {
+        int position = buffer != null ? buffer.position() : 0;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.position(position);
+    }
+
+    private boolean readHeader() {
+        return buffer.getInt(0) == MAGIC && buffer.getInt(4) == VERSION;
+    }
+
+    private void writeHeader() {
+        buffer.position(0);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+    }
+
+    private void replay(RecordHandler handler) {
+        buffer.position(HEADER_SIZE);
+        while (buffer.remaining() >= FRAME_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt(start);
+            if (length == 0) {
+                break;
+            }
+            if (!isValidRecord(start, length)) {
+                // 쓰다 만 기록: 여기서부터 이어서 기록하고, 뒤에 남은 바이트는 지운다
+                log.warn("session snapshot truncated at offset={} path={}", start, path);
+                clearFrom(start);
+                break;
+            }
+
+            buffer.position(start + 4);
+            byte type = buffer.get();
+            SessionId sessionId = new SessionId(buffer.getLong(), buffer.getLong());
+            if (type == PUT) {
+                long creationTime = buffer.getLong();
+                long lastAccessedTime = buffer.getLong();
+                byte[] value = new byte[buffer.getInt()];
+                buffer.get(value);
+                handler.put(sessionId, creationTime, lastAccessedTime, value);
+            } else if (type == TOUCH) {
+                handler.touch(sessionId, buffer.getLong());
+            } else if (type == REMOVE) {
+                handler.remove(sessionId);
+            }
+            buffer.position(start + FRAME_SIZE + length);
+        }
+    }
+
+    private boolean isValidRecord(int start, int length) {
+        if (length < 1 + ID_SIZE || length > buffer.limit() - start - FRAME_SIZE) {
+            return false;
+        }
+        ByteBuffer record = buffer.duplicate();
+        record.position(start + 4).limit(start + 4 + length);
+        crc.reset();
+        crc.update(record);
+        return (int) crc.getValue() == buffer.getInt(start + 4 + length);
+    }
+
+    private void clearFrom(int start) {
+        for (int i = start; i < buffer.limit(); i++) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(start);
+    }
+}
@@ -0,0 +1,209 @@
+package hello.login.web.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 세션 저장소를 스냅샷 파일에 주기적으로 기록하고, 시작할 때 복구한다.
+ * flush 마다 새 세션(PUT), 접근 시각이 바뀐 세션(TOUCH), 제거된 세션(REMOVE)만 파일 끝에 추가한다.
+ * 쌓인 기록이 마지막 압축 때보다 충분히 커지면 살아있는 세션만 담은 파일로 다시 쓴다.
+ */
+@Slf4j
+class SessionSnapshotter {
+
+    private static final long MIN_COMPACTION_BYTES = 1024 * 1024;
+    private static final int COMPACTION_RATIO = 2;
+
+    private final Path path;
+    private final long initialFileSize;
+
+    // 제거는 요청/sweeper 스레드에서 일어나므로 큐에 모았다가 flush 할 때 기록한다
+    private final Queue<SessionId> removedSessions = new ConcurrentLinkedQueue<>();
+
+    private SessionSnapshotFile file;
+    private long compactedSize;
+
+    SessionSnapshotter(Path path, long initialFileSize) {
+        this.path = path;
+        this.initialFileSize = initialFileSize;
+    }
+
+    /**
+     * 세션 저장소의 removal listener
+     */
+    void onRemoval(ManagedSession session) {
+        // 파일에 기록된 적 없는 세션은 남길 것이 없다 (flush가 PUT을 쓰는 중이면 flush가 REMOVE를 남긴다)
+        if (!session.discard()) {
+            removedSessions.add(session.getId());
+        }
+    }
+
+    /**
+     * 스냅샷 파일의 기록을 순서대로 적용해서 살아있는 세션을 저장소에 다시 넣는다.
+     * @return 복구한 세션 수
+     */
+    synchronized int restore(SessionRegistry registry, long now, long idleTimeoutMillis, long absoluteTimeoutMillis)
+            throws IOException {
+        Map<SessionId, RestoredSession> restored = new LinkedHashMap<>();
+        file = SessionSnapshotFile.open(path, initialFileSize, new SessionSnapshotFile.RecordHandler() {
+            @Override
+            public void put(SessionId sessionId, long creationTime, long lastAccessedTime, byte[] value) {
+                restored.put(sessionId, new RestoredSession(creationTime, lastAccessedTime, value));
+            }
+
+            @Override
+            public void touch(SessionId sessionId, long lastAccessedTime) {
+                RestoredSession session = restored.get(sessionId);
+                if (session != null) {
+                    session.lastAccessedTime = lastAccessedTime;
+                }
+            }
+
+            @Override
+            public void remove(SessionId sessionId) {
+                restored.remove(sessionId);
+            }
+        });
+
+        int count = 0;
+        for (Map.Entry<SessionId, RestoredSession> entry : restored.entrySet()) {
+            RestoredSession restoredSession = entry.getValue();
+            // 꺼져 있는 동안 만료된 세션은 역직렬화하지 않는다
+            long expiresAt = Math.min(restoredSession.lastAccessedTime + idleTimeoutMillis,
+                    restoredSession.creationTime + absoluteTimeoutMillis);
+            if (expiresAt <= now) {
+                continue;
+            }
+
+            // 클래스가 바뀌었거나 허용하지 않는 타입이면 해당 세션만 버린다
+            Object value = SessionValueSerializer.deserialize(restoredSession.value, 0, restoredSession.value.length);
+            if (value == null) {
+                continue;
+            }
+            ManagedSession session = new ManagedSession(entry.getKey(), value,
+                    restoredSession.creationTime, restoredSession.lastAccessedTime);
+            session.markPersisted(restoredSession.lastAccessedTime);
+            registry.put(session);
+            count++;
+        }
+
+        // 복구하지 않은 기록(만료, 제거)이 많으면 바로 압축해 둔다
+        compactedSize = file.size();
+        if (restored.size() > count) {
+            compact(registry);
+        }
+        return count;
+    }
+
+    /**
+     * 마지막 flush 이후의 변경분을 파일 끝에 추가한다.
+     */
+    synchronized void flush(SessionRegistry registry) throws IOException {
+        // 복구에 실패했거나 이미 닫힌 경우
+        if (file == null) {
+            return;
+        }
+        IOException[] error = new IOException[1];
+        registry.forEach(session -> {
+            if (error[0] == null) {
+                try {
+                    append(session);
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+
+        // 저장소 순회가 끝난 뒤에 제거를 기록해야 같은 세션의 PUT 뒤에 REMOVE가 온다
+        SessionId removed;
+        while ((removed = removedSessions.poll()) != null) {
+            file.appendRemove(removed);
+        }
+
+        if (file.size() > Math.max(MIN_COMPACTION_BYTES, compactedSize * COMPACTION_RATIO)) {
+            compact(registry);
+        }
+    }
+
+    synchronized void close() throws IOException {
+        if (file != null) {
+            file.close();
+            file = null;
+        }
+    }
+
+    private void append(ManagedSession session) throws IOException {
+        if (session.isInvalidated()) {
+            return;
+        }
+        long lastAccessedTime = session.getLastAccessedTime();
+        if (session.getPersistedAccessTime() == ManagedSession.NOT_PERSISTED) {
+            byte[] value = SessionValueSerializer.serialize(session.getValue());
+            if (value != null) {
+                file.appendPut(session.getId(), session.getCreationTime(), lastAccessedTime, value);
+            }
+            // 직렬화할 수 없는 값도 매번 다시 시도하지 않도록 기록한 것으로 표시한다
+            if (!session.markFirstPersisted(lastAccessedTime) && value != null) {
+                // PUT을 쓰는 사이 로그아웃되었다
+                file.appendRemove(session.getId());
+            }
+        } else if (session.isPersisted() && lastAccessedTime > session.getPersistedAccessTime()) {
+            file.appendTouch(session.getId(), lastAccessedTime);
+            session.markPersisted(lastAccessedTime);
+        }
+    }
+
+    private void compact(SessionRegistry registry) throws IOException {
+        long before = file.size();
+        file.rewrite(next -> {
+            IOException[] error = new IOException[1];
+            registry.forEach(session -> {
+                if (error[0] != null || session.isInvalidated()) {
+                    return;
+                }
+                byte[] value = SessionValueSerializer.serialize(session.getValue());
+                if (value == null) {
+                    return;
+                }
+                long lastAccessedTime = session.getLastAccessedTime();
+                try {
+                    next.appendPut(session.getId(), session.getCreationTime(), lastAccessedTime, value);
+                    if (session.isPersisted()) {
+                        session.markPersisted(lastAccessedTime);
+                    } else if (!session.markFirstPersisted(lastAccessedTime)) {
+                        next.appendRemove(session.getId());
+                    }
+                } catch (IOException e) {
+                    error[0] = e;
+                }
+            });
+            if (error[0] != null) {
+                throw error[0];
+            }
+        });
+        compactedSize = file.size();
+        log.info("session snapshot compacted {} -> {} bytes", before, compactedSize);
+    }
+
+    private static class RestoredSession {
+
+        private final long creationTime;
+        private long lastAccessedTime;
+        private final byte[] value;
+
+        RestoredSession(long creationTime, long lastAccessedTime, byte[] value) {
+            this.creationTime = creationTime;
+            this.lastAccessedTime = lastAccessedTime;
+            this.value = value;
+        }
+    }
+}
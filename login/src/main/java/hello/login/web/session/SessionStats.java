@@ -0,0 +1,28 @@
+package hello.login.web.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 세션 저장소 통계 스냅샷 (/session-stats 응답)
+ */
+@Data
+@AllArgsConstructor
+public class SessionStats {
+
+    private long entryCount;
+    private long estimatedBytes;
+    private long maxEntries;
+    private long maxBytes;
+
+    // 용량 초과로 제거된 세션 수와 추정 크기
+    private long evictionCount;
+    private long evictedBytes;
+
+    // 유휴/절대 만료로 제거된 세션 수
+    private long expirationCount;
+
+    private List<SessionShardStats> shards;
+}
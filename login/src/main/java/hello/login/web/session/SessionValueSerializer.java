@@ -0,0 +1,54 @@
+package hello.login.web.session;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * 세션 값 직렬화 (스냅샷 파일, 세션 저장소 서버 공용)
+ * 역직렬화는 허용한 클래스만 읽는다.
+ */
+@Slf4j
+public abstract class SessionValueSerializer {
+
+    // 세션 값은 Member, HttpSession 속성 맵
+    private static final ObjectInputFilter VALUE_FILTER =
+            ObjectInputFilter.Config.createFilter("hello.login.domain.**;java.lang.*;java.util.*;!*");
+
+    /**
+     * @return 직렬화할 수 없으면 null
+     */
+    public static byte[] serialize(Object value) {
+        if (!(value instanceof Serializable)) {
+            log.warn("session value is not serializable type={}", value != null ? value.getClass().getName() : null);
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            log.warn("session value serialize error type={}", value.getClass().getName(), e);
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return 클래스가 바뀌었거나 허용하지 않는 타입이면 null
+     */
+    public static Object deserialize(byte[] value, int offset, int length) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(value, offset, length))) {
+            in.setObjectInputFilter(VALUE_FILTER);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            log.warn("session value deserialize error", e);
+            return null;
+        }
+    }
+}
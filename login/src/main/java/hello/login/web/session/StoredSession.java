@@ -0,0 +1,17 @@
+package hello.login.web.session;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * SessionRepository에 저장되는 세션
+ * value는 SessionManager에서는 로그인 회원, HttpSession에서는 속성 맵이다.
+ */
+@Data
+@AllArgsConstructor
+public class StoredSession {
+
+    private SessionId id;
+    private long creationTime;
+    private Object value;
+}
@@ -0,0 +1,22 @@
+package hello.login.web.session.eviction;
+
+/**
+ * session.eviction-policy 설정 값
+ */
+public enum EvictionPolicyType {
+
+    LRU {
+        @Override
+        public SessionEvictionPolicy create(long maximumSize) {
+            return new LruEvictionPolicy();
+        }
+    },
+    TINY_LFU {
+        @Override
+        public SessionEvictionPolicy create(long maximumSize) {
+            return new TinyLfuEvictionPolicy(maximumSize);
+        }
+    };
+
+    public abstract SessionEvictionPolicy create(long maximumSize);
+}
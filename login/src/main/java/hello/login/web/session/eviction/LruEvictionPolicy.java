@@ -0,0 +1,37 @@
+package hello.login.web.session.eviction;
+
+import hello.login.web.session.SessionId;
+
+import java.util.LinkedHashMap;
+
+/**
+ * 가장 오래 접근하지 않은 세션부터 제거
+ */
+public class LruEvictionPolicy implements SessionEvictionPolicy {
+
+    // accessOrder = true 이면 get 할 때마다 맨 뒤로 이동한다
+    private final LinkedHashMap<SessionId, Boolean> order = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void recordCreate(SessionId sessionId) {
+        order.put(sessionId, Boolean.TRUE);
+    }
+
+    @Override
+    public void recordAccess(SessionId sessionId) {
+        order.get(sessionId);
+    }
+
+    @Override
+    public void recordRemove(SessionId sessionId) {
+        order.remove(sessionId);
+    }
+
+    @Override
+    public SessionId selectVictim() {
+        if (order.isEmpty()) {
+            return null;
+        }
+        return order.keySet().iterator().next();
+    }
+}
@@ -0,0 +1,22 @@
+package hello.login.web.session.eviction;
+
+import hello.login.web.session.SessionId;
+
+/**
+ * 세션 저장소 용량 초과 시 제거할 세션을 고르는 정책
+ * 호출하는 쪽(SessionManager)이 락을 잡고 호출하므로 구현체는 스레드 안전하지 않아도 된다.
+ */
+public interface SessionEvictionPolicy {
+
+    void recordCreate(SessionId sessionId);
+
+    void recordAccess(SessionId sessionId);
+
+    void recordRemove(SessionId sessionId);
+
+    /**
+     * 제거할 세션 id, 제거할 대상이 없으면 null
+     * 선택만 하고 실제 제거는 recordRemove 호출로 반영한다.
+     */
+    SessionId selectVictim();
+}
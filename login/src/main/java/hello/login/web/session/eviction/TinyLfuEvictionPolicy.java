@@ -0,0 +1,124 @@
+package hello.login.web.session.eviction;
+
+import hello.login.web.session.SessionId;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * W-TinyLFU 방식의 제거 정책
+ * 새 세션은 작은 window(LRU)에 들어가고, 넘치면 main 영역(probation/protected SLRU)으로 옮겨진다.
+ * 제거가 필요할 때 window 후보와 main 희생자의 접근 빈도를 비교해서 빈도가 낮은 쪽을 제거한다.
+ * 방금 만든 세션은 후보가 되지 않는다. window에 그 세션만 있으면 방금 window에서 밀려난 세션이 후보가 된다.
+ * 쿠키를 다시 보내지 않는 봇 세션처럼 한 번만 쓰이는 세션이 자주 쓰이는 세션을 밀어내지 못한다.
+ */
+public class TinyLfuEvictionPolicy implements SessionEvictionPolicy {
+
+    private static final double WINDOW_RATIO = 0.01;
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final LinkedHashMap<SessionId, Boolean> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<SessionId, Boolean> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<SessionId, Boolean> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch;
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    // 마지막으로 만든 세션 (제거 대상에서 뺀다)
+    private SessionId admitting;
+    // 마지막으로 window에서 probation으로 밀려난 세션
+    private SessionId demoted;
+
+    public TinyLfuEvictionPolicy(long maximumSize) {
+        this.sketch = new FrequencySketch(maximumSize);
+        this.windowMaximum = Math.max(1, (long) (maximumSize * WINDOW_RATIO));
+        this.protectedMaximum = (long) ((maximumSize - windowMaximum) * PROTECTED_RATIO);
+    }
+
+    @Override
+    public void recordCreate(SessionId sessionId) {
+        sketch.increment(sessionId.hashCode());
+        window.put(sessionId, Boolean.TRUE);
+        admitting = sessionId;
+
+        // window가 넘치면 가장 오래된 세션을 probation으로 보낸다
+        while (window.size() > windowMaximum) {
+            SessionId eldest = removeEldest(window);
+            probation.put(eldest, Boolean.TRUE);
+            demoted = eldest;
+        }
+    }
+
+    @Override
+    public void recordAccess(SessionId sessionId) {
+        sketch.increment(sessionId.hashCode());
+
+        if (window.get(sessionId) != null || protectedArea.get(sessionId) != null) {
+            return;
+        }
+
+        // probation에서 다시 접근되면 protected로 승격
+        if (probation.remove(sessionId) != null) {
+            protectedArea.put(sessionId, Boolean.TRUE);
+            while (protectedArea.size() > protectedMaximum) {
+                SessionId eldest = removeEldest(protectedArea);
+                probation.put(eldest, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Override
+    public void recordRemove(SessionId sessionId) {
+        if (sessionId.equals(admitting)) {
+            admitting = null;
+        }
+        if (sessionId.equals(demoted)) {
+            demoted = null;
+        }
+        if (window.remove(sessionId) == null && probation.remove(sessionId) == null) {
+            protectedArea.remove(sessionId);
+        }
+    }
+
+    @Override
+    public SessionId selectVictim() {
+        SessionId candidate = eldestExcept(window, admitting);
+        if (candidate == null && demoted != null && probation.containsKey(demoted)) {
+            candidate = demoted;
+        }
+        SessionId victim = eldestExcept(probation, candidate);
+        if (victim == null) {
+            victim = eldest(protectedArea);
+        }
+
+        if (victim == null) {
+            // 다른 세션이 없으면 방금 만든 세션이라도 제거한다
+            return candidate != null ? candidate : admitting;
+        }
+        if (candidate == null) {
+            return victim;
+        }
+
+        // 빈도가 같으면 기존 세션을 지킨다
+        return sketch.frequency(candidate.hashCode()) > sketch.frequency(victim.hashCode()) ? victim : candidate;
+    }
+
+    private static SessionId eldest(LinkedHashMap<SessionId, Boolean> area) {
+        return area.isEmpty() ? null : area.keySet().iterator().next();
+    }
+
+    private static SessionId eldestExcept(LinkedHashMap<SessionId, Boolean> area, SessionId excluded) {
+        for (SessionId sessionId : area.keySet()) {
+            if (!sessionId.equals(excluded)) {
+                return sessionId;
+            }
+        }
+        return null;
+    }
+
+    private static SessionId removeEldest(LinkedHashMap<SessionId, Boolean> area) {
+        Iterator<SessionId> iterator = area.keySet().iterator();
+        SessionId eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+}
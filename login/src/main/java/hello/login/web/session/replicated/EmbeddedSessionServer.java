@@ -0,0 +1,204 @@
+package hello.login.web.session.replicated;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.LongSupplier;
+
+/**
+ * 세션 저장소 서버 대역 (같은 JVM에서 실행)
+ * 실제 환경의 Redis 호환 서버 대신 로컬 개발과 여러 노드 테스트에 사용한다.
+ * 세션 저장소가 쓰는 명령(PING, GET, SET [PX], DEL, PEXPIRE, DBSIZE, FLUSHALL)만 지원한다.
+ */
+@Slf4j
+public class EmbeddedSessionServer implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Entry> store = new ConcurrentHashMap<>();
+    private final Set<Socket> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+    private final LongSupplier clock;
+
+    /**
+     * @param port 0 이면 임의의 빈 포트
+     */
+    public EmbeddedSessionServer(int port) throws IOException {
+        this(port, System::currentTimeMillis);
+    }
+
+    EmbeddedSessionServer(int port, LongSupplier clock) throws IOException {
+        this.clock = clock;
+        this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "session-store-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::acceptLoop);
+        log.info("embedded session store started port={}", getPort());
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * 만료되지 않은 키 수
+     */
+    public int size() {
+        long now = clock.getAsLong();
+        store.values().removeIf(entry -> entry.isExpired(now));
+        return store.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket client = serverSocket.accept();
+                client.setTcpNoDelay(true);
+                clients.add(client);
+                executor.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("embedded session store accept error", e);
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        try (client) {
+            InputStream in = new BufferedInputStream(client.getInputStream(), 64 * 1024);
+            OutputStream out = new BufferedOutputStream(client.getOutputStream(), 64 * 1024);
+            while (true) {
+                Object request = Resp.read(in);
+                if (!(request instanceof byte[][])) {
+                    Resp.writeError(out, "ERR command must be an array");
+                } else {
+                    try {
+                        execute((byte[][]) request, out);
+                    } catch (RuntimeException e) {
+                        // 인자 개수, 숫자 형식 오류
+                        Resp.writeError(out, "ERR " + e.getMessage());
+                    }
+                }
+                // pipeline으로 들어온 명령은 응답도 모아서 보낸다
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (EOFException | SocketException e) {
+            // 클라이언트 연결 종료
+        } catch (IOException | RuntimeException e) {
+            log.warn("embedded session store connection error", e);
+        } finally {
+            clients.remove(client);
+        }
+    }
+
+    private void execute(byte[][] args, OutputStream out) throws IOException {
+        long now = clock.getAsLong();
+        String command = Resp.string(args[0]).toUpperCase();
+        switch (command) {
+            case "PING":
+                Resp.writeSimple(out, "PONG");
+                break;
+            case "GET": {
+                Entry entry = get(key(args[1]), now);
+                Resp.writeBulk(out, entry != null ? entry.value : null);
+                break;
+            }
+            case "SET": {
+                long expiresAt = 0;
+                if (args.length == 5 && "PX".equalsIgnoreCase(Resp.string(args[3]))) {
+                    expiresAt = now + Long.parseLong(Resp.string(args[4]));
+                } else if (args.length != 3) {
+                    Resp.writeError(out, "ERR syntax error");
+                    break;
+                }
+                store.put(key(args[1]), new Entry(args[2], expiresAt));
+                Resp.writeSimple(out, "OK");
+                break;
+            }
+            case "DEL": {
+                long deleted = 0;
+                for (int i = 1; i < args.length; i++) {
+                    Entry entry = store.remove(key(args[i]));
+                    if (entry != null && !entry.isExpired(now)) {
+                        deleted++;
+                    }
+                }
+                Resp.writeInteger(out, deleted);
+                break;
+            }
+            case "PEXPIRE": {
+                long expiresAt = now + Long.parseLong(Resp.string(args[2]));
+                Entry entry = store.computeIfPresent(key(args[1]),
+                        (key, current) -> current.isExpired(now) ? null : new Entry(current.value, expiresAt));
+                Resp.writeInteger(out, entry != null ? 1 : 0);
+                break;
+            }
+            case "DBSIZE":
+                Resp.writeInteger(out, size());
+                break;
+            case "FLUSHALL":
+                store.clear();
+                Resp.writeSimple(out, "OK");
+                break;
+            default:
+                Resp.writeError(out, "ERR unknown command '" + command + "'");
+        }
+    }
+
+    private Entry get(String key, long now) {
+        Entry entry = store.get(key);
+        if (entry != null && entry.isExpired(now)) {
+            store.remove(key, entry);
+            return null;
+        }
+        return entry;
+    }
+
+    private static String key(byte[] key) {
+        return Resp.string(key);
+    }
+
+    private static final class Entry {
+
+        private final byte[] value;
+        private final long expiresAt; // 0 이면 만료 없음
+
+        Entry(byte[] value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != 0 && expiresAt <= now;
+        }
+    }
+}
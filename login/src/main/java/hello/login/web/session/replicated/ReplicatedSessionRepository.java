@@ -0,0 +1,107 @@
+package hello.login.web.session.replicated;
+
+import hello.login.web.session.SessionId;
+import hello.login.web.session.SessionRepository;
+import hello.login.web.session.SessionValueSerializer;
+import hello.login.web.session.StoredSession;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * 여러 서버가 공유하는 세션 저장소 서버(Redis 호환)를 사용하는 SessionRepository
+ * 저장, 삭제는 응답까지 기다리고(write-through), 만료 시각 연장은 응답을 기다리지 않는다.
+ * 유휴 만료는 키 TTL로, 절대 만료는 값에 함께 저장한 생성 시각으로 적용한다.
+ *
+ * value : creationTime(long) + 직렬화한 세션 값
+ */
+public class ReplicatedSessionRepository implements SessionRepository {
+
+    private static final byte[] GET = Resp.bytes("GET");
+    private static final byte[] SET = Resp.bytes("SET");
+    private static final byte[] DEL = Resp.bytes("DEL");
+    private static final byte[] PEXPIRE = Resp.bytes("PEXPIRE");
+    private static final byte[] PX = Resp.bytes("PX");
+
+    private final SessionStoreClient client;
+    private final String keyPrefix;
+    private final long idleTimeoutMillis;
+    private final long absoluteTimeoutMillis;
+    private final byte[] idleTimeout;
+    private final LongSupplier clock;
+
+    public ReplicatedSessionRepository(SessionStoreClient client, String keyPrefix,
+                                       long idleTimeoutMillis, long absoluteTimeoutMillis) {
+        this(client, keyPrefix, idleTimeoutMillis, absoluteTimeoutMillis, System::currentTimeMillis);
+    }
+
+    ReplicatedSessionRepository(SessionStoreClient client, String keyPrefix,
+                                long idleTimeoutMillis, long absoluteTimeoutMillis, LongSupplier clock) {
+        this.client = client;
+        this.keyPrefix = keyPrefix;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.absoluteTimeoutMillis = absoluteTimeoutMillis;
+        this.idleTimeout = Resp.bytes(Long.toString(idleTimeoutMillis));
+        this.clock = clock;
+    }
+
+    @Override
+    public void save(StoredSession session) {
+        long ttl = ttlOf(session.getCreationTime());
+        if (ttl <= 0) {
+            delete(session.getId());
+            return;
+        }
+
+        byte[] value = SessionValueSerializer.serialize(session.getValue());
+        if (value == null) {
+            throw new IllegalArgumentException("session value is not serializable");
+        }
+        byte[] stored = ByteBuffer.allocate(8 + value.length)
+                .putLong(session.getCreationTime())
+                .put(value)
+                .array();
+        client.execute(SET, key(session.getId()), stored, PX, Resp.bytes(Long.toString(ttl)));
+    }
+
+    @Override
+    public StoredSession find(SessionId sessionId) {
+        byte[] key = key(sessionId);
+        // 조회와 만료 시각 연장을 한 번에 보낸다
+        CompletableFuture<Object> reply = client.send(GET, key);
+        client.send(PEXPIRE, key, idleTimeout);
+
+        byte[] stored = (byte[]) client.await(reply);
+        if (stored == null || stored.length < 8) {
+            return null;
+        }
+
+        long creationTime = ByteBuffer.wrap(stored).getLong();
+        long ttl = ttlOf(creationTime);
+        if (ttl <= 0) {
+            client.send(DEL, key);
+            return null;
+        }
+        if (ttl < idleTimeoutMillis) {
+            // 절대 만료가 유휴 만료보다 먼저 온다
+            client.send(PEXPIRE, key, Resp.bytes(Long.toString(ttl)));
+        }
+
+        Object value = SessionValueSerializer.deserialize(stored, 8, stored.length - 8);
+        return value != null ? new StoredSession(sessionId, creationTime, value) : null;
+    }
+
+    @Override
+    public void delete(SessionId sessionId) {
+        client.execute(DEL, key(sessionId));
+    }
+
+    private long ttlOf(long creationTime) {
+        return Math.min(idleTimeoutMillis, creationTime + absoluteTimeoutMillis - clock.getAsLong());
+    }
+
+    private byte[] key(SessionId sessionId) {
+        return Resp.bytes(keyPrefix + sessionId.encode());
+    }
+}
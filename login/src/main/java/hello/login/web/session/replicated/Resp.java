@@ -0,0 +1,138 @@
+package hello.login.web.session.replicated;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 세션 저장소 서버와 주고받는 RESP(REdis Serialization Protocol) 인코딩
+ * 명령은 bulk string 배열, 응답은 simple string / error / integer / bulk string 만 사용한다.
+ */
+abstract class Resp {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    static void writeCommand(OutputStream out, byte[][] args) throws IOException {
+        writePrefixed(out, '*', args.length);
+        for (byte[] arg : args) {
+            writeBulk(out, arg);
+        }
+    }
+
+    static void writeSimple(OutputStream out, String value) throws IOException {
+        out.write('+');
+        out.write(bytes(value));
+        out.write(CRLF);
+    }
+
+    static void writeError(OutputStream out, String message) throws IOException {
+        out.write('-');
+        out.write(bytes(message));
+        out.write(CRLF);
+    }
+
+    static void writeInteger(OutputStream out, long value) throws IOException {
+        writePrefixed(out, ':', value);
+    }
+
+    static void writeBulk(OutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            writePrefixed(out, '$', -1);
+            return;
+        }
+        writePrefixed(out, '$', value.length);
+        out.write(value);
+        out.write(CRLF);
+    }
+
+    /**
+     * 응답 하나를 읽는다.
+     * @return String(simple), Long(integer), byte[](bulk), null(nil), byte[][](array), RespError(error)
+     */
+    static Object read(InputStream in) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            throw new EOFException("connection closed");
+        }
+        switch (type) {
+            case '+':
+                return readLine(in);
+            case '-':
+                return new RespError(readLine(in));
+            case ':':
+                return Long.parseLong(readLine(in));
+            case '$':
+                return readBulk(in, Integer.parseInt(readLine(in)));
+            case '*':
+                int count = Integer.parseInt(readLine(in));
+                byte[][] array = new byte[count][];
+                for (int i = 0; i < count; i++) {
+                    if (in.read() != '$') {
+                        throw new IOException("bulk string expected");
+                    }
+                    array[i] = readBulk(in, Integer.parseInt(readLine(in)));
+                }
+                return array;
+            default:
+                throw new IOException("unknown reply type " + (char) type);
+        }
+    }
+
+    private static byte[] readBulk(InputStream in, int length) throws IOException {
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = in.readNBytes(length);
+        if (value.length != length || in.read() != '\r' || in.read() != '\n') {
+            throw new EOFException("connection closed");
+        }
+        return value;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\r') {
+            if (c < 0) {
+                throw new EOFException("connection closed");
+            }
+            line.append((char) c);
+        }
+        if (in.read() != '\n') {
+            throw new IOException("CRLF expected");
+        }
+        return line.toString();
+    }
+
+    private static void writePrefixed(OutputStream out, char prefix, long value) throws IOException {
+        out.write(prefix);
+        out.write(bytes(Long.toString(value)));
+        out.write(CRLF);
+    }
+
+    /**
+     * 에러 응답
+     */
+    static final class RespError {
+
+        private final String message;
+
+        RespError(String message) {
+            this.message = message;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+}
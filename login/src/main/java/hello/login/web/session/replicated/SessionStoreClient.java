@@ -0,0 +1,250 @@
+package hello.login.web.session.replicated;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 세션 저장소 서버 클라이언트 (연결 하나를 모든 요청 스레드가 공유)
+ * 요청 스레드는 명령을 큐에 넣기만 하고, writer 스레드가 쌓인 명령을 한 번에 써서 보낸다(batch).
+ * 응답을 기다리지 않고 다음 명령을 보내며(pipeline), reader 스레드가 보낸 순서대로 응답을 짝지어 완료한다.
+ * 보내지 못한 명령이 maxPendingCommands 만큼 쌓이면(서버가 느리거나 멈춤) 새 명령은 기다리지 않고 바로 실패한다.
+ */
+@Slf4j
+public class SessionStoreClient implements Closeable {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final InetSocketAddress address;
+    private final long timeoutMillis;
+    private final int maxBatchSize;
+    private final BlockingQueue<Command> queue;
+    private final Thread writer;
+    private volatile boolean closed;
+
+    // writer 스레드에서만 변경한다
+    private Connection connection;
+
+    private final LongAdder commandCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+
+    public SessionStoreClient(String host, int port, Duration timeout, int maxBatchSize, int maxPendingCommands) {
+        this.address = new InetSocketAddress(host, port);
+        this.timeoutMillis = timeout.toMillis();
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new LinkedBlockingQueue<>(maxPendingCommands);
+        this.writer = new Thread(this::writeLoop, "session-store-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 명령을 보내고 응답을 기다리지 않는다.
+     * 쌓인 명령이 가득 차 있으면 연결 실패와 같이 SessionStoreException으로 완료한다.
+     */
+    public CompletableFuture<Object> send(byte[]... args) {
+        Command command = new Command(args);
+        if (closed) {
+            command.future.completeExceptionally(new SessionStoreException("client closed"));
+            return command.future;
+        }
+        if (!queue.offer(command)) {
+            command.future.completeExceptionally(new SessionStoreException("session store queue full " + address));
+        }
+        return command.future;
+    }
+
+    /**
+     * 명령을 보내고 응답을 기다린다.
+     */
+    public Object execute(byte[]... args) {
+        return await(send(args));
+    }
+
+    /**
+     * 응답을 timeout 만큼 기다린다.
+     * @throws SessionStoreException 연결 실패, 시간 초과, 에러 응답
+     */
+    public Object await(CompletableFuture<Object> reply) {
+        try {
+            return reply.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SessionStoreException) {
+                throw (SessionStoreException) e.getCause();
+            }
+            throw new SessionStoreException("session store error", e.getCause());
+        } catch (TimeoutException e) {
+            throw new SessionStoreException("session store timeout " + timeoutMillis + "ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionStoreException("interrupted", e);
+        }
+    }
+
+    public long getCommandCount() {
+        return commandCount.sum();
+    }
+
+    public long getBatchCount() {
+        return batchCount.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        writer.interrupt();
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        SessionStoreException error = new SessionStoreException("client closed");
+        Command command;
+        while ((command = queue.poll()) != null) {
+            command.future.completeExceptionally(error);
+        }
+        if (connection != null) {
+            connection.fail(error);
+        }
+    }
+
+    private void writeLoop() {
+        List<Command> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                Command first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 기다리는 동안 쌓인 명령을 한 번에 보낸다
+                queue.drainTo(batch, maxBatchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Command> batch) {
+        Connection current;
+        try {
+            current = connect();
+        } catch (IOException e) {
+            SessionStoreException error = new SessionStoreException("session store connect error " + address, e);
+            batch.forEach(command -> command.future.completeExceptionally(error));
+            return;
+        }
+
+        try {
+            for (Command command : batch) {
+                // 응답이 먼저 도착할 수 있으므로 쓰기 전에 응답 대기열에 넣는다
+                current.inFlight.add(command);
+                Resp.writeCommand(current.out, command.args);
+            }
+            current.out.flush();
+            batchCount.increment();
+            commandCount.add(batch.size());
+        } catch (IOException e) {
+            current.fail(new SessionStoreException("session store write error " + address, e));
+        }
+    }
+
+    private Connection connect() throws IOException {
+        if (connection == null || connection.broken) {
+            connection = new Connection(address, (int) timeoutMillis);
+        }
+        return connection;
+    }
+
+    private static final class Command {
+
+        private final byte[][] args;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        Command(byte[][] args) {
+            this.args = args;
+        }
+    }
+
+    /**
+     * 서버 연결 하나와 응답 대기열
+     * 연결이 끊기면 대기 중인 명령을 모두 실패시키고, writer가 다음 batch에서 새로 연결한다.
+     */
+    private static final class Connection {
+
+        private final Socket socket;
+        private final OutputStream out;
+        private final Queue<Command> inFlight = new ConcurrentLinkedQueue<>();
+        private volatile boolean broken;
+
+        Connection(InetSocketAddress address, int connectTimeoutMillis) throws IOException {
+            socket = new Socket();
+            socket.setTcpNoDelay(true);
+            socket.connect(address, connectTimeoutMillis);
+            out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+
+            InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+            Thread reader = new Thread(() -> readLoop(in), "session-store-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private void readLoop(InputStream in) {
+            try {
+                while (!broken) {
+                    Object reply = Resp.read(in);
+                    Command command = inFlight.poll();
+                    if (command == null) {
+                        throw new IOException("unexpected reply");
+                    }
+                    if (reply instanceof Resp.RespError) {
+                        command.future.completeExceptionally(new SessionStoreException(((Resp.RespError) reply).getMessage()));
+                    } else {
+                        command.future.complete(reply);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                if (!broken) {
+                    log.warn("session store connection lost {}", socket.getRemoteSocketAddress(), e);
+                }
+                fail(new SessionStoreException("session store connection lost", e));
+            }
+        }
+
+        void fail(SessionStoreException error) {
+            broken = true;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // 이미 끊긴 연결
+            }
+            Command command;
+            while ((command = inFlight.poll()) != null) {
+                command.future.completeExceptionally(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package hello.login.web.session.replicated;
+
+/**
+ * 세션 저장소 서버 통신 실패 (연결 끊김, 응답 시간 초과, 에러 응답)
+ */
+public class SessionStoreException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SessionStoreException(String message) {
+        super(message);
+    }
+
+    public SessionStoreException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
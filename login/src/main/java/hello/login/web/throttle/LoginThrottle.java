@@ -0,0 +1,52 @@
+package hello.login.web.throttle;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 로그인 시도 제한 (IP별, loginId별)
+ * 회원 저장소를 조회하기 전에 확인하므로 대입 공격이 들어와도 거절은 카운터 읽기 비용뿐이다.
+ * 성공한 시도도 함께 센다.
+ */
+@Slf4j
+@Component
+public class LoginThrottle {
+
+    private final boolean enabled;
+    private final SlidingWindowLimiter addresses;
+    private final SlidingWindowLimiter loginIds;
+
+    @Autowired
+    public LoginThrottle(LoginThrottleProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    LoginThrottle(LoginThrottleProperties properties, LongSupplier clock) {
+        this.enabled = properties.isEnabled();
+        this.addresses = new SlidingWindowLimiter(properties.getSlots(), properties.getMaxAttemptsPerAddress(),
+                properties.getWindow(), clock);
+        this.loginIds = new SlidingWindowLimiter(properties.getSlots(), properties.getMaxAttemptsPerLoginId(),
+                properties.getWindow(), clock);
+    }
+
+    /**
+     * @return 시도해도 되면 true (IP를 먼저 확인하고, IP에서 막힌 시도는 loginId에 세지 않는다)
+     */
+    public boolean tryAcquire(String loginId, String remoteAddr) {
+        if (!enabled) {
+            return true;
+        }
+        if (!addresses.tryAcquire(remoteAddr != null ? remoteAddr : "")) {
+            log.debug("login throttled: remoteAddr={}", remoteAddr);
+            return false;
+        }
+        if (!loginIds.tryAcquire(loginId != null ? loginId : "")) {
+            log.debug("login throttled: loginId={}", loginId);
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,29 @@
+package hello.login.web.throttle;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 로그인 시도 제한 설정 (login.throttle.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "login.throttle")
+public class LoginThrottleProperties {
+
+    private boolean enabled = true;
+
+    private Duration window = Duration.ofMinutes(1);
+
+    // window 동안 같은 loginId로 시도할 수 있는 횟수
+    private int maxAttemptsPerLoginId = 10;
+
+    // window 동안 같은 IP에서 시도할 수 있는 횟수 (프록시 뒤라면 server.forward-headers-strategy 설정)
+    private int maxAttemptsPerAddress = 100;
+
+    // 제한기마다 행별 칸 수 (메모리 = 칸 수 * 16 바이트)
+    private int slots = 65536;
+}
@@ -0,0 +1,123 @@
+package hello.login.web.throttle;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * 키별 시도 횟수를 제한하는 sliding window 카운터 (근사)
+ * 고정 크기 long 배열을 해시로 나눠 쓰므로 키가 아무리 많아도 메모리가 늘지 않는다.
+ * 칸 하나에 (window 번호, 직전 window 수, 현재 window 수)를 묶어 두고 CAS로 바꾸므로 잠그지 않는다.
+ * 직전 window 수를 지나간 비율만큼 줄여서 더하므로 window 경계에서 한도의 두 배가 몰리지 않는다.
+ * 키마다 행별로 한 칸씩 세고 작은 값을 쓴다 (count-min).
+ * 행마다 시드가 다른 해시를 키 문자열 전체에 대해 따로 계산하므로, 한 행에서 겹친 키가 다른 행에서도 겹치지는 않는다.
+ * 해시가 겹친 키는 함께 세어지므로 실제보다 일찍 막힐 수는 있어도 늦게 막히지는 않는다.
+ * 확인과 증가 사이에 동시에 들어온 시도만큼은 한도를 넘을 수 있다.
+ */
+public final class SlidingWindowLimiter {
+
+    private static final int ROWS = 2;
+    private static final int COUNT_BITS = 22;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    private static final int EPOCH_SHIFT = COUNT_BITS * 2;
+    private static final long EPOCH_MASK = (1L << (Long.SIZE - EPOCH_SHIFT)) - 1;
+
+    private final AtomicLongArray slots;
+    // 행별 해시 시드 (인스턴스마다 무작위라 겹치는 키를 미리 만들 수 없다)
+    private final long firstSeed;
+    private final long secondSeed;
+    private final int columnMask;
+    private final int limit;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    /**
+     * @param columns 행마다 칸 수 (2의 거듭제곱으로 올린다), 메모리는 columns * 16 바이트
+     */
+    public SlidingWindowLimiter(int columns, int limit, Duration window, LongSupplier clock) {
+        if (limit < 1 || limit > COUNT_MASK) {
+            throw new IllegalArgumentException("limit=" + limit);
+        }
+        int width = columns > 1 ? Integer.highestOneBit(columns - 1) << 1 : 1;
+        this.slots = new AtomicLongArray(width * ROWS);
+        this.columnMask = width - 1;
+        this.firstSeed = ThreadLocalRandom.current().nextLong();
+        this.secondSeed = ThreadLocalRandom.current().nextLong();
+        this.limit = limit;
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * @return 한도 안이면 세고 true, 한도를 넘었으면 세지 않고 false
+     */
+    public boolean tryAcquire(String key) {
+        long now = clock.getAsLong();
+        long window = now / windowMillis;
+        long epoch = window & EPOCH_MASK;
+        double previousWeight = 1.0 - (double) (now - window * windowMillis) / windowMillis;
+
+        int first = (int) hash(key, firstSeed) & columnMask;
+        int second = columnMask + 1 + ((int) hash(key, secondSeed) & columnMask);
+
+        // 거절은 읽기만 한다
+        double estimate = Math.min(estimate(slots.get(first), epoch, previousWeight),
+                estimate(slots.get(second), epoch, previousWeight));
+        if (estimate >= limit) {
+            return false;
+        }
+        increment(first, epoch);
+        increment(second, epoch);
+        return true;
+    }
+
+    private static double estimate(long slot, long epoch, double previousWeight) {
+        long slotEpoch = slot >>> EPOCH_SHIFT;
+        if (slotEpoch == epoch) {
+            return (slot & COUNT_MASK) + ((slot >>> COUNT_BITS) & COUNT_MASK) * previousWeight;
+        }
+        if (slotEpoch == ((epoch - 1) & EPOCH_MASK)) {
+            // 이 칸의 현재 수가 직전 window 수가 된다
+            return (slot & COUNT_MASK) * previousWeight;
+        }
+        return 0;
+    }
+
+    private void increment(int index, long epoch) {
+        while (true) {
+            long slot = slots.get(index);
+            long slotEpoch = slot >>> EPOCH_SHIFT;
+            long next;
+            if (slotEpoch == epoch) {
+                if ((slot & COUNT_MASK) == COUNT_MASK) {
+                    return;
+                }
+                next = slot + 1;
+            } else if (slotEpoch == ((epoch - 1) & EPOCH_MASK)) {
+                next = epoch << EPOCH_SHIFT | (slot & COUNT_MASK) << COUNT_BITS | 1;
+            } else {
+                next = epoch << EPOCH_SHIFT | 1;
+            }
+            if (slots.compareAndSet(index, slot, next)) {
+                return;
+            }
+        }
+    }
+
+    private static long hash(String key, long seed) {
+        long h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(h ^ key.length());
+    }
+
+    private static long mix(long value) {
+        // splitmix64
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,19 @@
+package hello.login.web.token;
+
+import hello.login.domain.member.Member;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 검증된 로그인 토큰
+ */
+@Data
+@AllArgsConstructor
+public class LoginToken {
+
+    // 로그인마다 하나 (새 토큰으로 교체해도 그대로), 로그아웃 목록에 등록한다
+    private long loginSessionId;
+    private long loginAt;
+    private long expiresAt;
+    private Member member;
+}
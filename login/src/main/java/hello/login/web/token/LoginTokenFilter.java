@@ -0,0 +1,40 @@
+package hello.login.web.token;
+
+import hello.login.web.SessionConst;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 로그인 토큰 쿠키를 요청마다 한 번 검증해서 회원 정보를 request attribute(SessionConst.LOGIN_MEMBER)에 둔다.
+ * 로그인 체크 필터, 인터셉터, @Login ArgumentResolver는 이 값이 있으면 세션을 조회하지 않는다.
+ */
+public class LoginTokenFilter extends OncePerRequestFilter {
+
+    private final LoginTokenService loginTokenService;
+
+    public LoginTokenFilter(LoginTokenService loginTokenService) {
+        this.loginTokenService = loginTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        LoginToken loginToken = loginTokenService.verify(request);
+        if (loginToken != null) {
+            request.setAttribute(SessionConst.LOGIN_MEMBER, loginToken.getMember());
+
+            // 사용 중인 사용자는 만료 전에 새 토큰으로 교체
+            Cookie refreshed = loginTokenService.refresh(loginToken);
+            if (refreshed != null) {
+                response.addCookie(refreshed);
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+}
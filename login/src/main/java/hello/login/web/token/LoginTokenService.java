@@ -0,0 +1,267 @@
+package hello.login.web.token;
+
+import hello.login.domain.member.Member;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * 서명 토큰 로그인 (login.stateless.enabled)
+ * 회원 정보를 HMAC 서명한 쿠키에 담아서 세션 저장소 조회 없이 로그인 여부를 확인한다.
+ *
+ * token = base64url(payload) "." base64url(HMAC-SHA256(payload) 앞 16byte)
+ * payload = version(byte) loginSessionId(long) loginAt(long, ms) expiresAt(long, ms) memberId(long) loginId(utf8) name(utf8)
+ * 문자열은 길이(short) + 바이트, 비밀번호는 담지 않는다.
+ * loginSessionId, loginAt은 로그인할 때 정하고 새 토큰으로 교체해도 그대로 둔다
+ * (로그아웃하면 그 로그인의 토큰이 모두 무효, 로그인 후 max-lifetime이 지나면 다시 로그인).
+ */
+@Slf4j
+@Component
+public class LoginTokenService {
+
+    private static final byte VERSION = 2;
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final StatelessLoginProperties properties;
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final long maxLifetimeMillis;
+    private final LongSupplier clock;
+    private final SecureRandom random = new SecureRandom();
+    private final RevokedTokenBloomFilter revokedTokens;
+
+    // Mac.getInstance는 비싸고 Mac은 스레드 안전하지 않으므로 스레드마다 초기화한 인스턴스를 둔다
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+    // 가상 스레드용 (동시에 서명하는 스레드 수만큼만 생긴다)
+    private final Queue<Mac> macPool = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public LoginTokenService(StatelessLoginProperties properties) {
+        this(properties, System::currentTimeMillis);
+    }
+
+    LoginTokenService(StatelessLoginProperties properties, LongSupplier clock) {
+        this.properties = properties;
+        this.key = new SecretKeySpec(secretOf(properties), ALGORITHM);
+        this.ttlMillis = properties.getTtl().toMillis();
+        this.maxLifetimeMillis = properties.getMaxLifetime().toMillis();
+        this.clock = clock;
+        this.revokedTokens = new RevokedTokenBloomFilter(properties.getRevocationExpectedInsertions(),
+                properties.getRevocationFalsePositiveRate(), ttlMillis, clock.getAsLong());
+    }
+
+    private byte[] secretOf(StatelessLoginProperties properties) {
+        if (properties.getSecret() == null || properties.getSecret().isEmpty()) {
+            if (properties.isEnabled()) {
+                log.warn("login.stateless.secret is empty, tokens are invalid after restart and on other servers");
+            }
+            byte[] secret = new byte[32];
+            new SecureRandom().nextBytes(secret);
+            return secret;
+        }
+        return Base64.getDecoder().decode(properties.getSecret());
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 로그인 토큰 쿠키 발급
+     */
+    public Cookie issue(Member member) {
+        long now = clock.getAsLong();
+        return cookie(encode(member, random.nextLong(), now, expiresAt(now, now)), -1);
+    }
+
+    // 로그인 후 max-lifetime을 넘지 않는다
+    private long expiresAt(long loginAt, long now) {
+        return Math.min(now + ttlMillis, loginAt + maxLifetimeMillis);
+    }
+
+    /**
+     * 토큰 검증
+     * @return 서명이 맞고 만료, 로그아웃되지 않은 토큰 (회원 정보에 비밀번호는 없다)
+     */
+    public LoginToken verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+
+        LoginToken loginToken = decode(payload);
+        long now = clock.getAsLong();
+        if (loginToken == null || loginToken.getExpiresAt() <= now
+                || loginToken.getLoginAt() + maxLifetimeMillis <= now) {
+            return null;
+        }
+        if (revokedTokens.mightContain(loginToken.getLoginSessionId(), now)) {
+            return null;
+        }
+        return loginToken;
+    }
+
+    /**
+     * 요청 쿠키의 토큰 검증
+     */
+    public LoginToken verify(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (properties.getCookieName().equals(cookie.getName())) {
+                return verify(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 유효 시간이 절반 넘게 지났으면 같은 로그인(loginSessionId, loginAt)의 새 토큰으로 교체한다.
+     * @return 교체할 필요가 없거나 max-lifetime 까지 더 늘릴 수 없으면 null
+     */
+    public Cookie refresh(LoginToken loginToken) {
+        long now = clock.getAsLong();
+        if (loginToken.getExpiresAt() - now > ttlMillis / 2) {
+            return null;
+        }
+        long expiresAt = expiresAt(loginToken.getLoginAt(), now);
+        if (expiresAt <= loginToken.getExpiresAt()) {
+            return null;
+        }
+        return cookie(encode(loginToken.getMember(), loginToken.getLoginSessionId(), loginToken.getLoginAt(), expiresAt),
+                -1);
+    }
+
+    /**
+     * 로그아웃: 로그인(loginSessionId)을 무효로 등록하고 쿠키를 지운다.
+     * 교체하기 전에 받은 토큰도 같은 loginSessionId 이므로 함께 무효가 된다.
+     * 무효 목록은 이 서버에만 있으므로 여러 서버에서는 ttl을 짧게 잡는다.
+     */
+    public Cookie revoke(HttpServletRequest request) {
+        LoginToken loginToken = verify(request);
+        if (loginToken != null) {
+            revokedTokens.add(loginToken.getLoginSessionId(), clock.getAsLong());
+        }
+        return cookie("", 0);
+    }
+
+    private Cookie cookie(String value, int maxAge) {
+        Cookie cookie = new Cookie(properties.getCookieName(), value);
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge(maxAge);
+        return cookie;
+    }
+
+    private String encode(Member member, long loginSessionId, long loginAt, long expiresAt) {
+        byte[] loginId = bytesOf(member.getLoginId());
+        byte[] name = bytesOf(member.getName());
+        byte[] payload = ByteBuffer.allocate(1 + 8 + 8 + 8 + 8 + 2 + loginId.length + 2 + name.length)
+                .put(VERSION)
+                .putLong(loginSessionId)
+                .putLong(loginAt)
+                .putLong(expiresAt)
+                .putLong(member.getId() != null ? member.getId() : 0L)
+                .putShort((short) loginId.length).put(loginId)
+                .putShort((short) name.length).put(name)
+                .array();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    private LoginToken decode(byte[] payload) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            if (buffer.get() != VERSION) {
+                return null;
+            }
+            long loginSessionId = buffer.getLong();
+            long loginAt = buffer.getLong();
+            long expiresAt = buffer.getLong();
+
+            Member member = new Member();
+            long memberId = buffer.getLong();
+            member.setId(memberId != 0L ? memberId : null);
+            member.setLoginId(readString(buffer));
+            member.setName(readString(buffer));
+            return new LoginToken(loginSessionId, loginAt, expiresAt, member);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        if (!Thread.currentThread().isVirtual()) {
+            return Arrays.copyOf(macs.get().doFinal(payload), SIGNATURE_LENGTH);
+        }
+        Mac mac = macPool.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            return Arrays.copyOf(mac.doFinal(payload), SIGNATURE_LENGTH);
+        } finally {
+            macPool.offer(mac);
+        }
+    }
+
+    private static byte[] bytesOf(String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("token field too long");
+        }
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
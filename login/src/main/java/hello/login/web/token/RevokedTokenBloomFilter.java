@@ -0,0 +1,107 @@
+package hello.login.web.token;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 로그아웃한 로그인(loginSessionId) 목록 (bloom filter)
+ * 로그아웃할 때 유효하던 토큰은 ttl 안에 어차피 만료되므로 ttl 단위로 세대를 나누고 직전 세대까지만 확인한다.
+ * 오탐(false positive)이면 로그아웃하지 않은 사용자가 다시 로그인해야 하므로 오탐률을 낮게 잡는다.
+ */
+class RevokedTokenBloomFilter {
+
+    private final int bitMask;
+    private final int hashCount;
+    private final long generationMillis;
+
+    private volatile Generation current;
+    private volatile Generation previous;
+
+    RevokedTokenBloomFilter(int expectedInsertions, double falsePositiveRate, long generationMillis, long now) {
+        // m = -n ln(p) / (ln 2)^2, k = m / n ln 2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int bitCount = Integer.highestOneBit((int) Math.min(Math.max(bits, 64), 1 << 30) * 2 - 1);
+        this.bitMask = bitCount - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.generationMillis = generationMillis;
+        this.current = new Generation(bitCount, now);
+        this.previous = new Generation(bitCount, now - generationMillis);
+    }
+
+    void add(long loginSessionId, long now) {
+        Generation generation = generationAt(now);
+        long hash = mix(loginSessionId);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            generation.set((h1 + i * h2) & bitMask);
+        }
+    }
+
+    boolean mightContain(long loginSessionId, long now) {
+        Generation generation = generationAt(now);
+        long hash = mix(loginSessionId);
+        return contains(generation, hash) || contains(previous, hash);
+    }
+
+    private boolean contains(Generation generation, long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            if (!generation.get((h1 + i * h2) & bitMask)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Generation generationAt(long now) {
+        Generation generation = current;
+        if (now - generation.startedAt < generationMillis) {
+            return generation;
+        }
+        synchronized (this) {
+            if (now - current.startedAt >= generationMillis) {
+                // 두 세대 이상 지났으면 직전 세대도 비운다
+                previous = now - current.startedAt >= generationMillis * 2
+                        ? new Generation(bitMask + 1, now - generationMillis)
+                        : current;
+                current = new Generation(bitMask + 1, now);
+            }
+            return current;
+        }
+    }
+
+    private static long mix(long value) {
+        // splitmix64
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    private static final class Generation {
+
+        private final AtomicLongArray words;
+        private final long startedAt;
+
+        Generation(int bitCount, long startedAt) {
+            this.words = new AtomicLongArray(Math.max(1, bitCount >>> 6));
+            this.startedAt = startedAt;
+        }
+
+        void set(int bit) {
+            long mask = 1L << bit;
+            int index = bit >>> 6;
+            long word;
+            do {
+                word = words.get(index);
+                if ((word & mask) != 0) {
+                    return;
+                }
+            } while (!words.compareAndSet(index, word, word | mask));
+        }
+
+        boolean get(int bit) {
+            return (words.get(bit >>> 6) & (1L << bit)) != 0;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package hello.login.web.token;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 서명 토큰 로그인 설정 (login.stateless.*)
+ * 여러 서버에서 같은 토큰을 검증하려면 secret을 모두 같게 설정해야 한다.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "login.stateless")
+public class StatelessLoginProperties {
+
+    private boolean enabled = false;
+
+    // HMAC-SHA256 키 (Base64), 비어 있으면 시작할 때 임의로 만든다
+    private String secret = "";
+
+    // 토큰 유효 시간, 절반이 지나면 요청할 때 새 토큰으로 교체한다
+    private Duration ttl = Duration.ofMinutes(30);
+
+    // 로그인 후 이 시간이 지나면 교체하지 않고 다시 로그인해야 한다 (session.absolute-timeout과 같은 역할)
+    private Duration maxLifetime = Duration.ofHours(8);
+
+    private String cookieName = "loginToken";
+
+    // 로그아웃 토큰 bloom filter 크기 (ttl 동안의 로그아웃 수 기준)
+    private int revocationExpectedInsertions = 100_000;
+
+    private double revocationFalsePositiveRate = 0.0001;
+}
@@ -3,7 +3,13 @@ package hello.login.domain.item;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -65,4 +71,167 @@ class ItemRepositoryTest {
         assertThat(findItem.getPrice()).isEqualTo(updateParam.getPrice());
         assertThat(findItem.getQuantity()).isEqualTo(updateParam.getQuantity());
     }
+
+    @Test
+    void updateWithStaleVersion() {
+        //given: 두 사용자가 version 1에서 수정 화면을 열었다
+        Item savedItem = itemRepository.save(new Item("item1", 10000, 10));
+        Long itemId = savedItem.getId();
+
+        Item first = new Item("first", 20000, 20);
+        first.setVersion(1L);
+        Item second = new Item("second", 30000, 30);
+        second.setVersion(1L);
+
+        //when
+        Item updated = itemRepository.update(itemId, first);
+
+        //then: 나중에 저장한 사용자는 충돌
+        assertThat(updated.getVersion()).isEqualTo(2L);
+        assertThatThrownBy(() -> itemRepository.update(itemId, second))
+                .isInstanceOf(ItemVersionConflictException.class);
+        assertThat(itemRepository.findById(itemId).getItemName()).isEqualTo("first");
+    }
+
+    @Test
+    void concurrentUpdate() throws Exception {
+        //given
+        Item savedItem = itemRepository.save(new Item("item", 1000, 0));
+        Long itemId = savedItem.getId();
+        int threads = 8;
+        int perThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+
+        //when: 수정하는 동안 다른 스레드는 계속 조회한다
+        AtomicBoolean running = new AtomicBoolean(true);
+        Future<Integer> reader = executor.submit(() -> {
+            int torn = 0;
+            while (running.get()) {
+                Item item = itemRepository.findById(itemId);
+                // 가격과 수량을 같은 값으로 수정하므로 섞여 보이면 안 된다
+                if (item.getPrice() - 1000 != item.getQuantity()) {
+                    torn++;
+                }
+            }
+            return torn;
+        });
+        List<Future<?>> writers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            writers.add(executor.submit(() -> {
+                for (int i = 1; i <= perThread; i++) {
+                    int value = thread * perThread + i;
+                    itemRepository.update(itemId, new Item("item", 1000 + value, value));
+                }
+            }));
+        }
+        for (Future<?> writer : writers) {
+            writer.get();
+        }
+        running.set(false);
+        int torn = reader.get();
+        executor.shutdown();
+
+        //then: 수정이 하나도 사라지지 않고 version이 수정 횟수만큼 증가
+        assertThat(torn).isZero();
+        assertThat(itemRepository.findById(itemId).getVersion()).isEqualTo(1L + threads * perThread);
+    }
+
+    @Test
+    void findPage() {
+        //given: 이름, 가격이 겹치는 상품 45개
+        List<Item> saved = new ArrayList<>();
+        for (int i = 0; i < 45; i++) {
+            saved.add(itemRepository.save(new Item("item" + (i % 7), 1000 * (i % 5 + 1), i)));
+        }
+
+        //then: 페이지를 이어 붙이면 정렬한 전체 목록과 같다
+        assertThat(readAllPages(ItemSort.ID)).containsExactlyElementsOf(saved);
+        assertThat(readAllPages(ItemSort.NAME)).containsExactlyElementsOf(sorted(saved,
+                Comparator.comparing(Item::getItemName).thenComparing(Item::getId)));
+        assertThat(readAllPages(ItemSort.PRICE)).containsExactlyElementsOf(sorted(saved,
+                Comparator.comparing(Item::getPrice).thenComparing(Item::getId)));
+    }
+
+    @Test
+    void findPageAfterUpdate() {
+        //given
+        Item cheap = itemRepository.save(new Item("cheap", 1000, 1));
+        Item expensive = itemRepository.save(new Item("expensive", 9000, 1));
+
+        //when: 수정하면 색인 위치도 바뀐다
+        itemRepository.update(cheap.getId(), new Item("cheap", 10000, 1));
+
+        //then
+        ItemPage page = itemRepository.findPage(ItemSort.PRICE, null, 10);
+        assertThat(page.getItems()).extracting(Item::getId).containsExactly(expensive.getId(), cheap.getId());
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    @Test
+    void findByRange() {
+        //given
+        Item a = itemRepository.save(new Item("range-a", 1000, 5));
+        Item b = itemRepository.save(new Item("range-b", 5000, 50));
+        Item c = itemRepository.save(new Item("range-c", 5000, 500));
+        itemRepository.save(new Item("range-d", 9000, 5000));
+
+        //then: 양 끝 값 포함, 값 순서
+        assertThat(itemRepository.findByPriceBetween(1000, 5000, 10)).containsExactly(a, b, c);
+        assertThat(itemRepository.findByPriceBetween(5000, 5000, 1)).containsExactly(b);
+        assertThat(itemRepository.findByPriceBetween(9001, null, 10)).isEmpty();
+        assertThat(itemRepository.findByQuantityBetween(null, 50, 10)).containsExactly(a, b);
+    }
+
+    @Test
+    void findByItemNamePrefix() {
+        //given
+        Item apple = itemRepository.save(new Item("apple", 1000, 10));
+        Item applePie = itemRepository.save(new Item("apple pie", 3000, 10));
+        itemRepository.save(new Item("apricot", 2000, 10));
+        itemRepository.save(new Item("banana", 1000, 10));
+
+        //then
+        assertThat(itemRepository.findByItemNameStartingWith("app", 10)).containsExactly(apple, applePie);
+        assertThat(itemRepository.findByItemNameStartingWith("ap", 10)).hasSize(3);
+        assertThat(itemRepository.findByItemNameStartingWith("cherry", 10)).isEmpty();
+    }
+
+    @Test
+    void search() {
+        //given
+        Item apple = itemRepository.save(new Item("apple", 1000, 10));
+        Item applePie = itemRepository.save(new Item("apple pie", 3000, 20));
+
+        //when: 수정하면 색인도 바뀐다
+        itemRepository.update(apple.getId(), new Item("green apple", 1500, 10));
+
+        //then
+        assertThat(itemRepository.search(new ItemSearch("apple", null, null), 10))
+                .extracting(Item::getId).containsExactly(applePie.getId());
+        assertThat(itemRepository.search(new ItemSearch(null, 1000, 2000), 10))
+                .extracting(Item::getItemName).containsExactly("green apple");
+        ItemSearch cond = new ItemSearch(null, null, 5000);
+        cond.setMinQuantity(20);
+        assertThat(itemRepository.search(cond, 10)).extracting(Item::getId).containsExactly(applePie.getId());
+        assertThat(itemRepository.findByPriceBetween(1000, 1000, 10)).isEmpty();
+    }
+
+    private List<Item> readAllPages(ItemSort sort) {
+        List<Item> result = new ArrayList<>();
+        String after = null;
+        do {
+            ItemPage page = itemRepository.findPage(sort, after, 10);
+            assertThat(page.getItems().size()).isLessThanOrEqualTo(10);
+            result.addAll(page.getItems());
+            after = page.getNextCursor();
+        } while (after != null);
+        return result;
+    }
+
+    private static List<Item> sorted(List<Item> items, Comparator<Item> comparator) {
+        List<Item> sorted = new ArrayList<>(items);
+        sorted.sort(comparator);
+        return sorted;
+    }
 }
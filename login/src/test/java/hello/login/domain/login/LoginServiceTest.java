@@ -0,0 +1,66 @@
+package hello.login.domain.login;
+
+import hello.login.domain.member.Member;
+import hello.login.domain.member.MemberRepository;
+import hello.login.domain.member.PasswordHasher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginServiceTest {
+
+    MemberRepository memberRepository = new MemberRepository();
+    PasswordHasher passwordHasher = new PasswordHasher(1000);
+    LoginService loginService = new LoginService(memberRepository, passwordHasher);
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void login() {
+        memberRepository.save(member("loginA", passwordHasher.hash("secret!")));
+
+        assertThat(loginService.login("loginA", "secret!")).isNotNull();
+        assertThat(loginService.login("loginA", "wrong")).isNull();
+        assertThat(loginService.login("loginA", null)).isNull();
+        assertThat(loginService.login("unknown", "secret!")).isNull();
+    }
+
+    @Test
+    void saltedHash() {
+        String first = passwordHasher.hash("secret!");
+        String second = passwordHasher.hash("secret!");
+
+        assertThat(first).doesNotContain("secret!").isNotEqualTo(second);
+        assertThat(passwordHasher.matches("secret!", first)).isTrue();
+        assertThat(passwordHasher.matches("secret!", second)).isTrue();
+        // 반복 횟수가 다른 설정에서도 이전 해시로 확인한다
+        assertThat(new PasswordHasher(10).matches("secret!", first)).isTrue();
+        assertThat(passwordHasher.matches("secret!", "pbkdf2$1000$!!$!!")).isFalse();
+    }
+
+    @Test
+    void upgradePlainPassword() {
+        // 해시로 저장하기 전에 가입한 회원
+        Member member = memberRepository.save(member("loginB", "secret!"));
+
+        assertThat(loginService.login("loginB", "wrong")).isNull();
+        assertThat(memberRepository.findById(member.getId()).getPassword()).isEqualTo("secret!");
+
+        assertThat(loginService.login("loginB", "secret!")).isNotNull();
+        String stored = memberRepository.findById(member.getId()).getPassword();
+        assertThat(passwordHasher.isHashed(stored)).isTrue();
+        assertThat(loginService.login("loginB", "secret!")).isNotNull();
+    }
+
+    private static Member member(String loginId, String password) {
+        Member member = new Member();
+        member.setLoginId(loginId);
+        member.setName(loginId);
+        member.setPassword(password);
+        return member;
+    }
+}
@@ -0,0 +1,96 @@
+package hello.login.domain.member;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MemberRepositoryTest {
+
+    MemberRepository memberRepository = new MemberRepository();
+
+    @AfterEach
+    void afterEach() {
+        memberRepository.clearStore();
+    }
+
+    @Test
+    void findByLoginId() {
+        //given
+        Member member = memberRepository.save(member("memberA"));
+
+        //when
+        Member findMember = memberRepository.findByLoginId("memberA").orElseThrow();
+
+        //then
+        assertThat(findMember).isEqualTo(member);
+        assertThat(memberRepository.findByLoginId("memberB")).isEmpty();
+        assertThat(memberRepository.findByLoginId(null)).isEmpty();
+    }
+
+    @Test
+    void duplicateLoginId() {
+        Member member = memberRepository.save(member("memberA"));
+
+        assertThatThrownBy(() -> memberRepository.save(member("memberA")))
+                .isInstanceOf(DuplicateLoginIdException.class);
+        assertThat(memberRepository.findByLoginId("memberA")).contains(member);
+        assertThat(memberRepository.findAll()).filteredOn(m -> m.getLoginId().equals("memberA")).hasSize(1);
+    }
+
+    @Test
+    void concurrentSave() throws Exception {
+        //given
+        int threads = 8;
+        int perThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        //when: 스레드마다 다른 회원과 같은 loginId("same") 회원을 저장
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            Callable<Integer> task = () -> {
+                int duplicated = 0;
+                for (int i = 0; i < perThread; i++) {
+                    memberRepository.save(member("member-" + thread + "-" + i));
+                    try {
+                        memberRepository.save(member("same"));
+                    } catch (DuplicateLoginIdException e) {
+                        duplicated++;
+                    }
+                }
+                return duplicated;
+            };
+            results.add(executor.submit(task));
+        }
+        int duplicated = 0;
+        for (Future<Integer> result : results) {
+            duplicated += result.get();
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        //then: id가 겹치지 않고 같은 loginId는 한 명만 저장된다
+        assertThat(duplicated).isEqualTo(threads * perThread - 1);
+        List<Member> all = memberRepository.findAll();
+        assertThat(all).filteredOn(m -> m.getLoginId().startsWith("member-")).hasSize(threads * perThread);
+        assertThat(all).filteredOn(m -> m.getLoginId().equals("same")).hasSize(1);
+        assertThat(all).extracting(Member::getId).doesNotHaveDuplicates();
+    }
+
+    private Member member(String loginId) {
+        Member member = new Member();
+        member.setLoginId(loginId);
+        member.setPassword("test!");
+        member.setName("테스터");
+        return member;
+    }
+}
@@ -0,0 +1,249 @@
+package hello.login.domain.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StorageEngineTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoverFromLog() {
+        StorageEngine engine = open();
+        engine.put(1, bytes("one"));
+        engine.put(2, bytes("two"));
+        engine.put(1, bytes("one-updated"));
+        engine.delete(2);
+        engine.put(3, bytes("three"));
+        engine.close();
+
+        // segment로 내리지 않은 변경은 WAL에서 복구한다
+        StorageEngine restarted = open();
+        assertThat(string(restarted.get(1))).isEqualTo("one-updated");
+        assertThat(restarted.get(2)).isNull();
+        assertThat(string(restarted.get(3))).isEqualTo("three");
+        assertThat(restarted.maxKey()).isEqualTo(3);
+        restarted.close();
+    }
+
+    @Test
+    void truncatedLog() throws IOException {
+        StorageEngine engine = open();
+        engine.put(1, bytes("one"));
+        engine.put(2, bytes("two"));
+        engine.close();
+
+        // 마지막 기록을 쓰다가 종료된 상황
+        Path wal = walFiles().get(0);
+        try (FileChannel channel = FileChannel.open(wal, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 2);
+        }
+
+        StorageEngine restarted = open();
+        assertThat(string(restarted.get(1))).isEqualTo("one");
+        assertThat(restarted.get(2)).isNull();
+
+        // 이어서 기록한 값도 다음 시작에 복구된다
+        restarted.put(4, bytes("four"));
+        restarted.close();
+        StorageEngine again = open();
+        assertThat(string(again.get(1))).isEqualTo("one");
+        assertThat(string(again.get(4))).isEqualTo("four");
+        again.close();
+    }
+
+    @Test
+    void segmentsAndCompaction() {
+        StorageEngine engine = open();
+        Map<Long, String> expected = new TreeMap<>();
+        for (int round = 0; round < 5; round++) {
+            for (long key = 1; key <= 500; key++) {
+                String value = "value-" + round + "-" + key;
+                engine.put(key, bytes(value));
+                expected.put(key, value);
+            }
+            // 짝수 키 삭제 (이전 segment의 값을 가린다)
+            for (long key = 2; key <= 500; key += 2 + round) {
+                engine.delete(key);
+                expected.remove(key);
+            }
+        }
+        engine.flush();
+        assertThat(read(engine)).isEqualTo(expected);
+
+        engine.compact();
+        assertThat(engine.getSegmentCount()).isEqualTo(1);
+        assertThat(read(engine)).isEqualTo(expected);
+        engine.close();
+
+        StorageEngine restarted = open();
+        assertThat(read(restarted)).isEqualTo(expected);
+        for (long key = 1; key <= 500; key++) {
+            assertThat(string(restarted.get(key))).isEqualTo(expected.get(key));
+        }
+        restarted.close();
+    }
+
+    @Test
+    void maxKeyAfterCompaction() {
+        StorageEngine engine = open();
+        engine.put(1, bytes("one"));
+        engine.put(3, bytes("three"));
+        engine.flush();
+        engine.delete(3);
+        engine.flush();
+
+        // 합치면 삭제 표시가 사라져도 가장 큰 키는 그대로
+        engine.compact();
+        assertThat(engine.maxKey()).isEqualTo(3);
+        engine.close();
+
+        StorageEngine restarted = open();
+        assertThat(restarted.get(3)).isNull();
+        assertThat(restarted.maxKey()).isEqualTo(3);
+        restarted.close();
+    }
+
+    @Test
+    void scanFromKey() {
+        StorageEngine engine = open();
+        for (long key = 1; key <= 300; key++) {
+            engine.put(key, bytes("v" + key));
+        }
+        engine.flush();
+        // segment와 메모리 테이블에 나뉘어 있는 키
+        for (long key = 301; key <= 320; key++) {
+            engine.put(key, bytes("v" + key));
+        }
+        engine.delete(150);
+
+        List<Long> keys = new ArrayList<>();
+        engine.scan(140).forEachRemaining(entry -> keys.add(entry.key));
+
+        assertThat(keys).hasSize(179);
+        assertThat(keys.get(0)).isEqualTo(141);
+        assertThat(keys).doesNotContain(150L).isSorted();
+        assertThat(engine.scan(320).hasNext()).isFalse();
+        engine.close();
+    }
+
+    @Test
+    void concurrentWrites() throws Exception {
+        StorageEngine engine = open();
+        int threads = 8;
+        int perThread = 300;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long base = t * 10_000L;
+            results.add(executor.submit(() -> {
+                for (long i = 1; i <= perThread; i++) {
+                    engine.put(base + i, bytes("v" + (base + i)));
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        engine.close();
+
+        StorageEngine restarted = open();
+        assertThat(read(restarted)).hasSize(threads * perThread);
+        assertThat(string(restarted.get(7 * 10_000L + perThread))).isEqualTo("v" + (7 * 10_000L + perThread));
+        restarted.close();
+    }
+
+    @Test
+    void rotateDuringCompaction() throws Exception {
+        StorageProperties properties = new StorageProperties();
+        properties.setMemtableSize(DataSize.ofKilobytes(1));
+        properties.setMaxSegments(100);
+        properties.setCompactionInterval(Duration.ofHours(1));
+        StorageEngine engine = new StorageEngine(directory, properties);
+
+        // 메모리 테이블 교체(commit 스레드)와 segment 합치기(background 스레드)가 계속 겹친다
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<?> writer = executor.submit(() -> {
+            for (long key = 1; key <= 20_000; key++) {
+                engine.put(key, bytes("v" + key));
+                assertThat(engine.get(key)).isNotNull();
+            }
+        });
+        while (!writer.isDone()) {
+            engine.compact();
+        }
+        writer.get();
+        executor.shutdown();
+
+        assertThat(read(engine)).hasSize(20_000);
+        engine.close();
+
+        StorageEngine restarted = open();
+        assertThat(read(restarted)).hasSize(20_000);
+        restarted.close();
+    }
+
+    @Test
+    void alreadyInUse() {
+        StorageEngine engine = open();
+        assertThatThrownBy(this::open).isInstanceOf(StorageException.class);
+        engine.close();
+    }
+
+    private StorageEngine open() {
+        StorageProperties properties = new StorageProperties();
+        properties.setMemtableSize(DataSize.ofKilobytes(4)); // segment 내리기도 함께 확인
+        properties.setMaxSegments(100);
+        properties.setCompactionInterval(Duration.ofHours(1));
+        return new StorageEngine(directory, properties);
+    }
+
+    private List<Path> walFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("wal-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static Map<Long, String> read(StorageEngine engine) {
+        Map<Long, String> values = new TreeMap<>();
+        List<Long> keys = new ArrayList<>();
+        engine.forEach((key, value) -> {
+            values.put(key, string(value));
+            keys.add(key);
+        });
+        assertThat(keys).isSorted();
+        return values;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] value) {
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+}
@@ -0,0 +1,49 @@
+package hello.login.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RequestIdGeneratorTest {
+
+    @Test
+    void format() {
+        String first = RequestIdGenerator.generate();
+        String second = RequestIdGenerator.generate();
+
+        assertThat(first).matches("[0-9a-f]{16}");
+        // 같은 프로세스에서는 노드 값이 같고 증가 값만 커진다
+        assertThat(second.substring(0, 4)).isEqualTo(first.substring(0, 4));
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(RequestIdGenerator.generate());
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+}
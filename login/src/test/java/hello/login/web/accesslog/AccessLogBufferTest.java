@@ -0,0 +1,118 @@
+package hello.login.web.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AccessLogBufferTest {
+
+    @Test
+    void drainInOrder() {
+        AccessLogBuffer buffer = new AccessLogBuffer(8);
+        for (int i = 0; i < 3; i++) {
+            publish(buffer, "id" + i, i, false);
+        }
+
+        List<String> ids = new ArrayList<>();
+        assertThat(buffer.drain(record -> ids.add(record.requestId), 2)).isEqualTo(2);
+        assertThat(buffer.drain(record -> ids.add(record.requestId), 10)).isEqualTo(1);
+
+        assertThat(ids).containsExactly("id0", "id1", "id2");
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void dropWhenFull() {
+        AccessLogBuffer buffer = new AccessLogBuffer(3); // 4로 올림
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(publish(buffer, "id" + i, i, false)).isTrue();
+        }
+        assertThat(publish(buffer, "dropped", 0, false)).isFalse();
+
+        // 꺼내면 다시 자리가 난다
+        buffer.drain(record -> { }, 1);
+        assertThat(publish(buffer, "id4", 4, false)).isTrue();
+
+        List<String> ids = new ArrayList<>();
+        buffer.drain(record -> ids.add(record.requestId), 10);
+        assertThat(ids).containsExactly("id1", "id2", "id3", "id4");
+    }
+
+    @Test
+    void closeReleasesBlockedProducer() {
+        AccessLogBuffer buffer = new AccessLogBuffer(2);
+        publish(buffer, "id0", 0, true);
+        publish(buffer, "id1", 1, true);
+
+        buffer.close();
+
+        assertThat(buffer.claim(true)).isEqualTo(-1);
+    }
+
+    @Test
+    void concurrentProducers() throws Exception {
+        //given: 작은 버퍼에 여러 스레드가 BLOCK 정책으로 기록
+        AccessLogBuffer buffer = new AccessLogBuffer(64);
+        int threads = 4;
+        int perThread = 20_000;
+        int[] lastStatus = new int[threads];
+        Arrays.fill(lastStatus, -1);
+        List<String> errors = new ArrayList<>();
+        AtomicBoolean producing = new AtomicBoolean(true);
+
+        Thread consumer = new Thread(() -> {
+            while (producing.get() || buffer.size() > 0) {
+                buffer.drain(record -> {
+                    int thread = Integer.parseInt(record.requestId);
+                    // 스레드 하나가 쓴 기록은 쓴 순서대로 나온다
+                    if (record.status != lastStatus[thread] + 1) {
+                        errors.add(record.requestId + ":" + record.status);
+                    }
+                    lastStatus[thread] = record.status;
+                }, 16);
+            }
+        });
+        consumer.start();
+
+        //when
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            String id = String.valueOf(t);
+            results.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    publish(buffer, id, i, true);
+                }
+            }));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        producing.set(false);
+        consumer.join(10_000);
+        executor.shutdown();
+
+        //then: 빠짐없이 순서대로
+        assertThat(errors).isEmpty();
+        assertThat(lastStatus).containsOnly(perThread - 1);
+    }
+
+    private static boolean publish(AccessLogBuffer buffer, String requestId, int status, boolean block) {
+        long sequence = buffer.claim(block);
+        if (sequence < 0) {
+            return false;
+        }
+        buffer.get(sequence).set(null, true, requestId, null, "/items", null, status, 0);
+        buffer.publish(sequence);
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package hello.login.web.accesslog;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import javax.servlet.DispatcherType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogTest {
+
+    @Test
+    void noRecordLostWhileStopping() throws Exception {
+        AccessLogProperties properties = new AccessLogProperties();
+        properties.setBufferSize(64);
+        properties.setPolicy(AccessLogPolicy.BLOCK);
+        AtomicLong written = new AtomicLong();
+        Logger logger = countingLogger(written);
+
+        for (int round = 0; round < 20; round++) {
+            written.set(0);
+            AccessLog accessLog = new AccessLog(properties);
+            accessLog.start();
+
+            // 멈추는 동안에도 요청 스레드는 계속 기록한다
+            AtomicInteger appended = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2000; i++) {
+                        accessLog.request(logger, "id" + i, DispatcherType.REQUEST, "/items", null);
+                        appended.incrementAndGet();
+                    }
+                }));
+            }
+            Thread.sleep(1);
+            accessLog.stop();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            executor.shutdown();
+
+            assertThat(written.get()).isEqualTo(appended.get());
+            assertThat(accessLog.getDropped()).isZero();
+        }
+    }
+
+    private static Logger countingLogger(AtomicLong written) {
+        return (Logger) Proxy.newProxyInstance(Logger.class.getClassLoader(), new Class<?>[]{Logger.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("info")) {
+                        written.incrementAndGet();
+                    }
+                    if (method.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    return method.getReturnType() == String.class ? "counting" : null;
+                });
+    }
+}
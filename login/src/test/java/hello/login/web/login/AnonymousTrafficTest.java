@@ -0,0 +1,115 @@
+package hello.login.web.login;
+
+import hello.login.domain.member.Member;
+import hello.login.web.SessionConst;
+import hello.login.web.session.SessionManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.servlet.http.Cookie;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 익명 요청(크롤러, 헬스 체크)이 몰려도 세션이 늘지 않는지 확인하는 부하 테스트
+ * (다른 @SpringBootTest와 같은 설정이라 컨텍스트와 저장소를 함께 쓴다)
+ */
+@SpringBootTest
+class AnonymousTrafficTest {
+
+    @Autowired
+    WebApplicationContext context;
+
+    @Autowired
+    LoginSessionCheck loginSessionCheck;
+
+    @Autowired
+    SessionManager sessionManager;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void anonymousTrafficCreatesNoSession() throws Exception {
+        //given
+        String[] paths = {"/items", "/items/1", "/items/add", "/items/1/edit", "/session-stats"};
+        int threads = 8;
+        int perThread = 250;
+        LoginCheckStats before = loginSessionCheck.getStats();
+        long sessionsBefore = sessionManager.getStats().getEntryCount();
+
+        //when: 세션 쿠키 없는 요청 2000개
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Callable<Integer> task = () -> {
+                int sessionsCreated = 0;
+                for (int i = 0; i < perThread; i++) {
+                    MvcResult result = mockMvc.perform(get(paths[i % paths.length])).andReturn();
+                    assertThat(result.getResponse().getStatus()).isEqualTo(302);
+                    assertThat(result.getResponse().getRedirectedUrl()).startsWith("/login?redirectURL=");
+                    if (result.getRequest().getSession(false) != null) {
+                        sessionsCreated++;
+                    }
+                }
+                return sessionsCreated;
+            };
+            results.add(executor.submit(task));
+        }
+        int sessionsCreated = 0;
+        for (Future<Integer> result : results) {
+            sessionsCreated += result.get();
+        }
+        executor.shutdown();
+
+        //then: 세션을 만들지도, 조회하지도 않는다
+        LoginCheckStats after = loginSessionCheck.getStats();
+        assertThat(sessionsCreated).isZero();
+        assertThat(sessionManager.getStats().getEntryCount()).isEqualTo(sessionsBefore);
+        assertThat(after.getSessionLookupsAvoided() - before.getSessionLookupsAvoided())
+                .isGreaterThanOrEqualTo(threads * perThread);
+        assertThat(after.getSessionLookups()).isEqualTo(before.getSessionLookups());
+    }
+
+    @Test
+    void staleSessionCookie() throws Exception {
+        LoginCheckStats before = loginSessionCheck.getStats();
+
+        // 만료된 세션 쿠키는 세션을 조회하지만 새로 만들지 않는다
+        MvcResult result = mockMvc.perform(get("/items").cookie(new Cookie("JSESSIONID", "expired"))).andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(302);
+        assertThat(result.getRequest().getSession(false)).isNull();
+        assertThat(loginSessionCheck.getStats().getSessionLookups()).isGreaterThan(before.getSessionLookups());
+    }
+
+    @Test
+    void loggedIn() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionConst.LOGIN_MEMBER, new Member());
+
+        MvcResult result = mockMvc.perform(get("/items")
+                .session(session)
+                .cookie(new Cookie("JSESSIONID", session.getId()))).andReturn();
+
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+    }
+}
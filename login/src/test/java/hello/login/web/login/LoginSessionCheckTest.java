@@ -0,0 +1,78 @@
+package hello.login.web.login;
+
+import hello.login.domain.member.Member;
+import hello.login.web.SessionConst;
+import hello.login.web.argumentResolver.Login;
+import hello.login.web.argumentResolver.LoginMemberArgumentResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.Cookie;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LoginSessionCheckTest {
+
+    LoginSessionCheck loginSessionCheck = new LoginSessionCheck(new ServerProperties(), true);
+
+    @Test
+    void lookupOncePerRequest() throws Exception {
+        //given: 로그인한 요청
+        Member member = new Member();
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionConst.LOGIN_MEMBER, member);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setSession(session);
+        request.setCookies(new Cookie("JSESSIONID", session.getId()));
+
+        //when: 인터셉터 확인 후 @Login 파라미터
+        LoginMemberArgumentResolver resolver = new LoginMemberArgumentResolver(loginSessionCheck);
+        MethodParameter parameter = parameter(0);
+        Object checked = loginSessionCheck.findLoginMember(request);
+        Object resolved = resolver.resolveArgument(parameter, null, new ServletWebRequest(request), null);
+
+        //then: 세션은 한 번만 조회한다
+        assertThat(checked).isSameAs(member);
+        assertThat(resolved).isSameAs(member);
+        assertThat(loginSessionCheck.getStats().getSessionLookups()).isEqualTo(1);
+        assertThat(loginSessionCheck.getStats().getRequestCacheHits()).isEqualTo(1);
+    }
+
+    @Test
+    void anonymousOncePerRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items");
+
+        assertThat(loginSessionCheck.findLoginMember(request)).isNull();
+        assertThat(loginSessionCheck.findLoginMember(request)).isNull();
+
+        LoginCheckStats stats = loginSessionCheck.getStats();
+        assertThat(stats.getSessionLookups()).isZero();
+        assertThat(stats.getSessionLookupsAvoided()).isEqualTo(1);
+        assertThat(stats.getRequestCacheHits()).isEqualTo(1);
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    @Test
+    void supportsParameter() throws Exception {
+        LoginMemberArgumentResolver resolver = new LoginMemberArgumentResolver(loginSessionCheck);
+
+        // 두 번째 호출은 저장해 둔 결과
+        assertThat(resolver.supportsParameter(parameter(0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(0))).isTrue();
+        assertThat(resolver.supportsParameter(parameter(1))).isFalse();
+        assertThat(resolver.supportsParameter(parameter(2))).isFalse();
+    }
+
+    private static MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(LoginSessionCheckTest.class.getDeclaredMethod(
+                "handler", Member.class, Member.class, String.class), index);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@Login Member loginMember, Member member, @Login String name) {
+    }
+}
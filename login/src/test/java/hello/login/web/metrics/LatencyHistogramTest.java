@@ -0,0 +1,73 @@
+package hello.login.web.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketBounds() {
+        // 칸 번호는 값 순서를 따르고, 모든 값은 자기 칸의 최대값 이하이다
+        int previous = -1;
+        for (long value = 0; value < 1_000_000; value += 7) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(index).isGreaterThanOrEqualTo(previous);
+            assertThat(LatencyHistogram.highestValueOf(index)).isGreaterThanOrEqualTo(value);
+            previous = index;
+        }
+        assertThat(LatencyHistogram.indexOf((1L << LatencyHistogram.MAX_EXPONENT) - 1))
+                .isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    void percentiles() {
+        //given: 1 ~ 1000 us
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        //then: 상대 오차 3% 이내
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(1000);
+        assertThat(snapshot.valueAt(50)).isBetween(500_000L, 515_000L);
+        assertThat(snapshot.valueAt(99)).isBetween(990_000L, 1_020_000L);
+        assertThat(snapshot.valueAt(99.9)).isBetween(999_000L, 1_030_000L);
+        assertThat(snapshot.max()).isBetween(1_000_000L, 1_030_000L);
+    }
+
+    @Test
+    void handlerMetricsInterval() throws Exception {
+        //given
+        long[] now = {0};
+        HandlerMetrics metrics = new HandlerMetrics(Duration.ofSeconds(10), () -> now[0]);
+        HandlerMethod handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        for (int i = 0; i < 100; i++) {
+            metrics.record(handler, "/items", 1_000_000);
+        }
+        now[0] = TimeUnit.SECONDS.toNanos(10);
+        metrics.rotate();
+
+        //when: 두 번째 구간에는 느린 요청 10개만 있다
+        for (int i = 0; i < 10; i++) {
+            metrics.record(handler, "/items", 50_000_000);
+        }
+        now[0] = TimeUnit.SECONDS.toNanos(20);
+        metrics.rotate();
+
+        //then
+        HandlerStats stats = metrics.getStats().get(0);
+        assertThat(stats.getHandler()).isEqualTo("Object#toString");
+        assertThat(stats.getPattern()).isEqualTo("/items");
+        assertThat(stats.getTotal().getCount()).isEqualTo(110);
+        assertThat(stats.getInterval().getCount()).isEqualTo(10);
+        assertThat(stats.getInterval().getThroughput()).isEqualTo(1.0);
+        assertThat(stats.getInterval().getP50()).isBetween(50.0, 51.6);
+        assertThat(stats.getTotal().getP50()).isBetween(1.0, 1.04);
+    }
+}
@@ -0,0 +1,111 @@
+package hello.login.web.path;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PathPatternsTest {
+
+    @Test
+    void whiteList() {
+        PathPatterns whiteList = PathPatterns.compile("/", "/members/add", "/login", "/logout", "/css/**", "/*.ico");
+
+        assertThat(whiteList.matches("/")).isTrue();
+        assertThat(whiteList.matches("/login")).isTrue();
+        assertThat(whiteList.matches("/members/add")).isTrue();
+        assertThat(whiteList.matches("/css")).isTrue();
+        assertThat(whiteList.matches("/css/bootstrap.min.css")).isTrue();
+        assertThat(whiteList.matches("/css/lib/bootstrap.min.css")).isTrue();
+        assertThat(whiteList.matches("/favicon.ico")).isTrue();
+
+        assertThat(whiteList.matches("/items")).isFalse();
+        assertThat(whiteList.matches("/login/other")).isFalse();
+        assertThat(whiteList.matches("/members")).isFalse();
+        assertThat(whiteList.matches("/members/add/1")).isFalse();
+        assertThat(whiteList.matches("/items/favicon.ico")).isFalse();
+        assertThat(whiteList.matches(null)).isFalse();
+    }
+
+    @Test
+    void optionalTrailingSeparator() {
+        String[] patterns = {"/", "/members/add", "/login", "/css/**", "/*.ico", "/items/{itemId}", "/api/*/members/",
+                "/files/*"};
+        String[] paths = {"/", "//", "/login", "/login/", "/login//", "/members/add/", "/members/", "/css/", "/css/a.css/",
+                "/favicon.ico/", "/items/1/", "/items/", "/api/v1/members", "/api/v1/members/", "/api/v1/members//",
+                "/api//members/", "/files/", "/files/a/", "/files//"};
+        PathPatterns compiled = PathPatterns.compile(patterns);
+        PathPatternParser parser = new PathPatternParser();
+
+        // MappedInterceptor(PathPattern)와 같다
+        for (String path : paths) {
+            boolean expected = false;
+            for (String pattern : patterns) {
+                expected |= parser.parse(pattern).matches(PathContainer.parsePath(path));
+            }
+            assertThat(compiled.matches(path)).as(path).isEqualTo(expected);
+        }
+        assertThat(compiled.matches("/login/")).isTrue();
+        assertThat(compiled.matches("/members/add/")).isTrue();
+    }
+
+    @Test
+    void segmentWildcards() {
+        PathPatterns patterns = PathPatterns.compile("/items/{itemId}/edit", "/api/*/members", "/files/**/*.txt", "/item?.html");
+
+        assertThat(patterns.matches("/items/1/edit")).isTrue();
+        assertThat(patterns.matches("/items/1")).isFalse();
+        assertThat(patterns.matches("/api/v1/members")).isTrue();
+        assertThat(patterns.matches("/api/v1/v2/members")).isFalse();
+        assertThat(patterns.matches("/files/a.txt")).isTrue();
+        assertThat(patterns.matches("/files/a/b/c.txt")).isTrue();
+        assertThat(patterns.matches("/files/a/b/c.csv")).isFalse();
+        assertThat(patterns.matches("/item1.html")).isTrue();
+        assertThat(patterns.matches("/item12.html")).isFalse();
+    }
+
+    @Test
+    void sameAsAntPathMatcher() {
+        //given: 운영과 비슷한 수백 개의 패턴과 임의의 경로
+        Random random = new Random(42);
+        String[] words = {"items", "members", "api", "v1", "css", "js", "login", "add", "edit", "1", "a.ico", "b.css"};
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            patterns.add(randomPath(random, words, true));
+        }
+        PathPatterns compiled = PathPatterns.compile(patterns.toArray(new String[0]));
+        AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+        //then: 결과가 AntPathMatcher로 하나씩 비교한 것과 같다
+        for (int i = 0; i < 5000; i++) {
+            String path = randomPath(random, words, false);
+            boolean expected = patterns.stream().anyMatch(pattern -> antPathMatcher.match(pattern, path));
+            assertThat(compiled.matches(path)).as(path).isEqualTo(expected);
+        }
+    }
+
+    private static String randomPath(Random random, String[] words, boolean pattern) {
+        StringBuilder path = new StringBuilder();
+        int segments = 1 + random.nextInt(4);
+        for (int i = 0; i < segments; i++) {
+            path.append('/');
+            int choice = random.nextInt(10);
+            if (pattern && choice == 0) {
+                path.append("*");
+            } else if (pattern && choice == 1) {
+                path.append("**");
+            } else if (pattern && choice == 2) {
+                path.append("*.").append(random.nextBoolean() ? "ico" : "css");
+            } else {
+                path.append(words[random.nextInt(words.length)]);
+            }
+        }
+        return path.toString();
+    }
+}
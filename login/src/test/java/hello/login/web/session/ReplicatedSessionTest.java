@@ -0,0 +1,124 @@
+package hello.login.web.session;
+
+import hello.login.domain.member.Member;
+import hello.login.web.SessionConst;
+import hello.login.web.session.replicated.EmbeddedSessionServer;
+import hello.login.web.session.replicated.ReplicatedSessionRepository;
+import hello.login.web.session.replicated.SessionStoreClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 세션 저장소 서버 대역 하나를 두 노드(A, B)가 공유
+ */
+class ReplicatedSessionTest {
+
+    EmbeddedSessionServer server;
+    SessionStoreClient clientA;
+    SessionStoreClient clientB;
+    SessionRepository repositoryA;
+    SessionRepository repositoryB;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmbeddedSessionServer(0);
+        clientA = new SessionStoreClient("localhost", server.getPort(), Duration.ofSeconds(1), 128, 8192);
+        clientB = new SessionStoreClient("localhost", server.getPort(), Duration.ofSeconds(1), 128, 8192);
+        repositoryA = repository(clientA);
+        repositoryB = repository(clientB);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        clientA.close();
+        clientB.close();
+        server.close();
+    }
+
+    @Test
+    void sessionManager() {
+        SessionManager nodeA = sessionManager(repositoryA);
+        SessionManager nodeB = sessionManager(repositoryB);
+
+        // A에서 로그인
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Member member = new Member();
+        member.setLoginId("test");
+        nodeA.createSession(member, response);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(response.getCookies());
+
+        // B에서 조회
+        assertThat(nodeB.getSession(request)).isEqualTo(member);
+        assertThat(nodeB.getSessionCount()).isEqualTo(0); // JVM 안의 저장소는 쓰지 않는다
+
+        // B에서 로그아웃하면 A에서도 없다
+        nodeB.expire(request);
+        assertThat(nodeA.getSession(request)).isNull();
+        assertThat(server.size()).isEqualTo(0);
+    }
+
+    @Test
+    void httpSession() throws Exception {
+        SessionRepositoryFilter filterA = new SessionRepositoryFilter(repositoryA, 1800);
+        SessionRepositoryFilter filterB = new SessionRepositoryFilter(repositoryB, 1800);
+        Member member = new Member();
+        member.setLoginId("test");
+
+        // A에서 로그인 (LoginController.loginV4)
+        MockHttpServletResponse loginResponse = new MockHttpServletResponse();
+        filterA.doFilter(new MockHttpServletRequest(), loginResponse, (FilterChain) (request, response) -> {
+            HttpSession session = ((HttpServletRequest) request).getSession(true);
+            session.setAttribute(SessionConst.LOGIN_MEMBER, member);
+        });
+        assertThat(loginResponse.getCookie(SessionRepositoryFilter.SESSION_COOKIE_NAME)).isNotNull();
+
+        // 리다이렉트된 요청이 B로 간다
+        MockHttpServletRequest homeRequest = new MockHttpServletRequest();
+        homeRequest.setCookies(loginResponse.getCookies());
+        AtomicReference<Object> loginMember = new AtomicReference<>();
+        filterB.doFilter(homeRequest, new MockHttpServletResponse(), (FilterChain) (request, response) -> {
+            HttpSession session = ((HttpServletRequest) request).getSession(false);
+            loginMember.set(session.getAttribute(SessionConst.LOGIN_MEMBER));
+            assertThat(session.isNew()).isFalse();
+        });
+        assertThat(loginMember.get()).isEqualTo(member);
+
+        // B에서 로그아웃 (LoginController.logoutV3)
+        MockHttpServletRequest logoutRequest = new MockHttpServletRequest();
+        logoutRequest.setCookies(loginResponse.getCookies());
+        MockHttpServletResponse logoutResponse = new MockHttpServletResponse();
+        filterB.doFilter(logoutRequest, logoutResponse, (FilterChain) (request, response) ->
+                ((HttpServletRequest) request).getSession(false).invalidate());
+        assertThat(logoutResponse.getCookie(SessionRepositoryFilter.SESSION_COOKIE_NAME).getMaxAge()).isZero();
+
+        // A에서도 세션이 없다
+        MockHttpServletRequest afterLogout = new MockHttpServletRequest();
+        afterLogout.setCookies(loginResponse.getCookies());
+        MockFilterChain chain = new MockFilterChain();
+        filterA.doFilter(afterLogout, new MockHttpServletResponse(), chain);
+        assertThat(((HttpServletRequest) chain.getRequest()).getSession(false)).isNull();
+    }
+
+    private SessionRepository repository(SessionStoreClient client) {
+        return new ReplicatedSessionRepository(client, "login:session:",
+                Duration.ofMinutes(30).toMillis(), Duration.ofHours(8).toMillis());
+    }
+
+    private SessionManager sessionManager(SessionRepository repository) {
+        return new SessionManager(Duration.ofMinutes(30), new SessionProperties(), System::currentTimeMillis, repository);
+    }
+}
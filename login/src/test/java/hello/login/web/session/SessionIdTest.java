@@ -0,0 +1,51 @@
+package hello.login.web.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionIdTest {
+
+    SessionIdGenerator generator = new SessionIdGenerator();
+
+    @Test
+    void encodeAndParse() {
+        for (int i = 0; i < 1000; i++) {
+            SessionId sessionId = generator.generate();
+            String encoded = sessionId.encode();
+
+            assertThat(encoded).hasSize(SessionId.ENCODED_LENGTH);
+            assertThat(encoded).matches("[A-Za-z0-9_-]+");
+            assertThat(SessionId.parse(encoded)).isEqualTo(sessionId);
+        }
+
+        SessionId edge = new SessionId(-1L, 0x8000000000000001L);
+        assertThat(SessionId.parse(edge.encode())).isEqualTo(edge);
+    }
+
+    @Test
+    void unique() {
+        Set<SessionId> ids = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(generator.generate());
+        }
+        assertThat(ids).hasSize(100_000);
+    }
+
+    @Test
+    void parseInvalid() {
+        String valid = generator.generate().encode();
+
+        assertThat(SessionId.parse(null)).isNull();
+        assertThat(SessionId.parse("")).isNull();
+        assertThat(SessionId.parse(valid.substring(1))).isNull();
+        assertThat(SessionId.parse("6f1e4c9a-1b2c-4d5e-8f90-123456789abc")).isNull();
+        assertThat(SessionId.parse(valid.substring(0, 21) + "=")).isNull();
+        assertThat(SessionId.parse(valid.substring(0, 10) + "한" + valid.substring(11))).isNull();
+        // 마지막 글자는 2bit만 담을 수 있다
+        assertThat(SessionId.parse(valid.substring(0, 21) + "E")).isNull();
+    }
+}
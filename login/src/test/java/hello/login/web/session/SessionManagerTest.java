@@ -1,10 +1,17 @@
 package hello.login.web.session;
 
 import hello.login.domain.member.Member;
+import hello.login.web.session.eviction.EvictionPolicyType;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -38,4 +45,170 @@ public class SessionManagerTest {
         assertThat(expired).isNull();
 
     }
+
+    @Test
+    void idleTimeout(){
+        AtomicLong now = new AtomicLong(0);
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), new SessionProperties(), now::get);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        manager.createSession(new Member(), response);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(response.getCookies());
+
+        // 유휴 시간 안에 접근하면 만료 시각이 연장된다
+        now.set(Duration.ofMinutes(20).toMillis());
+        assertThat(manager.getSession(request)).isNotNull();
+        now.set(Duration.ofMinutes(40).toMillis());
+        manager.expireSessions();
+        assertThat(manager.getSessionCount()).isEqualTo(1);
+
+        // 마지막 접근 후 유휴 시간이 지나면 sweeper가 제거한다
+        now.set(Duration.ofMinutes(51).toMillis());
+        manager.expireSessions();
+        assertThat(manager.getSessionCount()).isEqualTo(0);
+        assertThat(manager.getSession(request)).isNull();
+    }
+
+    @Test
+    void absoluteTimeout(){
+        AtomicLong now = new AtomicLong(0);
+        SessionProperties properties = new SessionProperties();
+        properties.setAbsoluteTimeout(Duration.ofHours(1));
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, now::get);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        manager.createSession(new Member(), response);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(response.getCookies());
+
+        // 계속 접근해도 절대 만료 시간은 늘어나지 않는다
+        for (int minutes = 10; minutes < 60; minutes += 10) {
+            now.set(Duration.ofMinutes(minutes).toMillis());
+            assertThat(manager.getSession(request)).isNotNull();
+        }
+
+        now.set(Duration.ofMinutes(60).toMillis());
+        assertThat(manager.getSession(request)).isNull();
+        assertThat(manager.getSessionCount()).isEqualTo(0);
+    }
+
+    @Test
+    void lruEviction(){
+        SessionProperties properties = new SessionProperties();
+        properties.setMaxEntries(3);
+        properties.setEvictionPolicy(EvictionPolicyType.LRU);
+        properties.setShards(1);
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, System::currentTimeMillis);
+
+        List<MockHttpServletRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            requests.add(login(manager));
+        }
+
+        // 첫 번째 세션에 접근하면 두 번째 세션이 가장 오래 접근하지 않은 세션이 된다
+        manager.getSession(requests.get(0));
+        login(manager);
+
+        assertThat(manager.getSession(requests.get(0))).isNotNull();
+        assertThat(manager.getSession(requests.get(1))).isNull();
+        assertThat(manager.getSession(requests.get(2))).isNotNull();
+        assertThat(manager.getStats().getEvictionCount()).isEqualTo(1);
+        assertThat(manager.getStats().getEntryCount()).isEqualTo(3);
+    }
+
+    @Test
+    void tinyLfuKeepsActiveSessionsUnderFlood(){
+        SessionProperties properties = new SessionProperties();
+        properties.setMaxEntries(100);
+        properties.setEvictionPolicy(EvictionPolicyType.TINY_LFU);
+        properties.setShards(1);
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, System::currentTimeMillis);
+
+        List<MockHttpServletRequest> activeUsers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            MockHttpServletRequest request = login(manager);
+            manager.getSession(request);
+            manager.getSession(request);
+            activeUsers.add(request);
+        }
+
+        // 쿠키를 다시 보내지 않는 로그인 폭주 중에도 실제 사용자는 계속 요청한다
+        for (int i = 0; i < 10_000; i++) {
+            login(manager);
+            if (i % 100 == 0) {
+                activeUsers.forEach(manager::getSession);
+            }
+        }
+
+        long survivors = activeUsers.stream().filter(request -> manager.getSession(request) != null).count();
+        assertThat(survivors).isEqualTo(50);
+        assertThat(manager.getStats().getEntryCount()).isLessThanOrEqualTo(100);
+        assertThat(manager.getStats().getEvictionCount()).isGreaterThanOrEqualTo(10_000 - 50);
+    }
+
+    @Test
+    void tinyLfuAdmitsNewLoginWhenFull(){
+        SessionProperties properties = new SessionProperties();
+        properties.setMaxEntries(100); // window 1칸
+        properties.setEvictionPolicy(EvictionPolicyType.TINY_LFU);
+        properties.setShards(1);
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, System::currentTimeMillis);
+
+        for (int i = 0; i < 100; i++) {
+            login(manager);
+        }
+
+        // 빈도가 같아도 방금 로그인한 세션은 제거되지 않는다
+        MockHttpServletRequest request = login(manager);
+        assertThat(manager.getSession(request)).isNotNull();
+        assertThat(manager.getStats().getEntryCount()).isEqualTo(100);
+        assertThat(manager.getStats().getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void maxBytesEviction(){
+        SessionProperties properties = new SessionProperties();
+        properties.setMaxBytes(DataSize.ofKilobytes(4));
+        properties.setShards(1);
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, System::currentTimeMillis);
+
+        for (int i = 0; i < 1000; i++) {
+            login(manager);
+        }
+
+        SessionStats stats = manager.getStats();
+        assertThat(stats.getEstimatedBytes()).isLessThanOrEqualTo(4096);
+        assertThat(stats.getEvictionCount()).isEqualTo(1000 - stats.getEntryCount());
+    }
+
+    @Test
+    void shardedStore(){
+        SessionProperties properties = new SessionProperties();
+        properties.setShards(6); // 8로 올림
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, System::currentTimeMillis);
+
+        List<MockHttpServletRequest> requests = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            requests.add(login(manager));
+        }
+        requests.forEach(request -> assertThat(manager.getSession(request)).isNotNull());
+
+        SessionStats stats = manager.getStats();
+        assertThat(stats.getShards()).hasSize(8);
+        assertThat(stats.getEntryCount()).isEqualTo(1000);
+        assertThat(stats.getShards()).allSatisfy(shard -> assertThat(shard.getEntryCount()).isPositive());
+        assertThat(stats.getShards().stream().mapToLong(SessionShardStats::getHitCount).sum()).isEqualTo(1000);
+    }
+
+    private MockHttpServletRequest login(SessionManager manager) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Member member = new Member();
+        member.setLoginId("test");
+        manager.createSession(member, response);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(response.getCookies());
+        return request;
+    }
 }
@@ -0,0 +1,183 @@
+package hello.login.web.session;
+
+import hello.login.domain.member.Member;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionSnapshotTest {
+
+    @TempDir
+    Path tempDir;
+
+    AtomicLong now = new AtomicLong(0);
+
+    @Test
+    void restoreAfterRestart() {
+        SessionManager manager = start();
+        MockHttpServletRequest idleUser = login(manager, "idle");
+        MockHttpServletRequest logoutUser = login(manager, "logout");
+        MockHttpServletRequest activeUser = login(manager, "active");
+        manager.flushSnapshot();
+
+        // 마지막 flush 이후 변경분(로그아웃, 접근)도 종료 시 기록된다
+        now.set(Duration.ofMinutes(20).toMillis());
+        manager.expire(logoutUser);
+        manager.getSession(activeUser);
+        manager.stopSweeper();
+
+        now.set(Duration.ofMinutes(40).toMillis());
+        SessionManager restarted = start();
+
+        assertThat(restarted.getSessionCount()).isEqualTo(1);
+        assertThat(restarted.getSession(idleUser)).isNull();
+        assertThat(restarted.getSession(logoutUser)).isNull();
+        Member member = (Member) restarted.getSession(activeUser);
+        assertThat(member.getLoginId()).isEqualTo("active");
+        restarted.stopSweeper();
+    }
+
+    @Test
+    void truncatedRecord() throws IOException {
+        SessionManager manager = start();
+        MockHttpServletRequest first = login(manager, "first");
+        manager.flushSnapshot();
+        MockHttpServletRequest second = login(manager, "second");
+        manager.stopSweeper();
+
+        // 마지막 기록을 쓰다가 종료된 상황
+        Path path = tempDir.resolve("session.snapshot");
+        byte[] bytes = Files.readAllBytes(path);
+        int last = bytes.length - 1;
+        while (bytes[last] == 0) {
+            last--;
+        }
+        bytes[last] ^= 0x7F;
+        Files.write(path, bytes);
+
+        SessionManager restarted = start();
+        assertThat(restarted.getSession(first)).isNotNull();
+        assertThat(restarted.getSession(second)).isNull();
+
+        // 잘린 위치부터 이어서 기록한다
+        MockHttpServletRequest third = login(restarted, "third");
+        restarted.stopSweeper();
+
+        SessionManager again = start();
+        assertThat(again.getSession(first)).isNotNull();
+        assertThat(again.getSession(third)).isNotNull();
+        assertThat(again.getSessionCount()).isEqualTo(2);
+        again.stopSweeper();
+    }
+
+    @Test
+    void compaction() {
+        SessionManager manager = start();
+        MockHttpServletRequest survivor = login(manager, "survivor");
+
+        // 압축 기준(1MB)을 넘도록 로그인/로그아웃을 반복한다
+        for (int round = 0; round < 5; round++) {
+            List<MockHttpServletRequest> requests = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                requests.add(login(manager, "user" + i));
+            }
+            manager.flushSnapshot();
+            requests.forEach(manager::expire);
+            manager.flushSnapshot();
+        }
+        manager.stopSweeper();
+
+        SessionManager restarted = start();
+        assertThat(restarted.getSessionCount()).isEqualTo(1);
+        assertThat(restarted.getSession(survivor)).isNotNull();
+        restarted.stopSweeper();
+    }
+
+    @Test
+    void logoutDuringFlush() throws IOException {
+        SessionManager manager = start();
+        LogoutOnSerialize value = new LogoutOnSerialize();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        manager.createSession(value, response);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(response.getCookies());
+
+        // flush가 세션을 기록하는 도중(직렬화)에 로그아웃된다
+        value.action = () -> manager.expire(request);
+        manager.flushSnapshot();
+        manager.stopSweeper();
+        assertThat(value.serialized).isTrue();
+
+        // 파일에 남은 PUT 뒤에 REMOVE도 있어야 재시작 후 살아나지 않는다
+        Set<SessionId> live = new HashSet<>();
+        SessionSnapshotFile file = SessionSnapshotFile.open(tempDir.resolve("session.snapshot"), 1024,
+                new SessionSnapshotFile.RecordHandler() {
+                    @Override
+                    public void put(SessionId sessionId, long creationTime, long lastAccessedTime, byte[] bytes) {
+                        live.add(sessionId);
+                    }
+
+                    @Override
+                    public void touch(SessionId sessionId, long lastAccessedTime) {
+                    }
+
+                    @Override
+                    public void remove(SessionId sessionId) {
+                        live.remove(sessionId);
+                    }
+                });
+        file.close();
+        assertThat(live).isEmpty();
+    }
+
+    private SessionManager start() {
+        SessionProperties properties = new SessionProperties();
+        properties.getSnapshot().setEnabled(true);
+        properties.getSnapshot().setPath(tempDir.resolve("session.snapshot").toString());
+        properties.getSnapshot().setInitialFileSize(DataSize.ofKilobytes(1)); // 파일 확장도 함께 확인
+        SessionManager manager = new SessionManager(Duration.ofMinutes(30), properties, now::get);
+        manager.restoreSnapshot();
+        return manager;
+    }
+
+    private MockHttpServletRequest login(SessionManager manager, String loginId) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Member member = new Member();
+        member.setLoginId(loginId);
+        manager.createSession(member, response);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(response.getCookies());
+        return request;
+    }
+
+    static class LogoutOnSerialize implements Serializable {
+
+        transient Runnable action;
+        transient boolean serialized;
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            if (action != null) {
+                action.run();
+                serialized = true;
+            }
+            out.defaultWriteObject();
+        }
+    }
+}
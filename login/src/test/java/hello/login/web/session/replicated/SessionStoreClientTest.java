@@ -0,0 +1,128 @@
+package hello.login.web.session.replicated;
+
+import hello.login.web.session.SessionId;
+import hello.login.web.session.SessionIdGenerator;
+import hello.login.web.session.StoredSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionStoreClientTest {
+
+    AtomicLong now = new AtomicLong(1_000_000);
+    EmbeddedSessionServer server;
+    SessionStoreClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new EmbeddedSessionServer(0, now::get);
+        client = new SessionStoreClient("localhost", server.getPort(), Duration.ofSeconds(1), 128, 8192);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    void pipeline() {
+        List<CompletableFuture<Object>> replies = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            replies.add(client.send(Resp.bytes("SET"), Resp.bytes("key" + i), Resp.bytes("value" + i)));
+        }
+        replies.forEach(reply -> assertThat(client.await(reply)).isEqualTo("OK"));
+
+        // 응답은 보낸 순서대로 짝지어진다
+        for (int i = 0; i < 1000; i++) {
+            replies.set(i, client.send(Resp.bytes("GET"), Resp.bytes("key" + i)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertThat(Resp.string((byte[]) client.await(replies.get(i)))).isEqualTo("value" + i);
+        }
+
+        // 쌓인 명령은 한 번에 보낸다
+        assertThat(client.getCommandCount()).isEqualTo(2000);
+        assertThat(client.getBatchCount()).isLessThan(2000);
+    }
+
+    @Test
+    void errorReply() {
+        assertThatThrownBy(() -> client.execute(Resp.bytes("UNKNOWN")))
+                .isInstanceOf(SessionStoreException.class)
+                .hasMessageContaining("unknown command");
+        // 에러 응답 뒤에도 연결은 그대로 쓴다
+        assertThat(client.execute(Resp.bytes("PING"))).isEqualTo("PONG");
+    }
+
+    @Test
+    void reconnect() throws IOException {
+        int port = server.getPort();
+        assertThat(client.execute(Resp.bytes("PING"))).isEqualTo("PONG");
+
+        server.close();
+        assertThatThrownBy(() -> client.execute(Resp.bytes("PING"))).isInstanceOf(SessionStoreException.class);
+
+        // 서버가 다시 뜨면 다음 명령에서 새로 연결한다
+        server = new EmbeddedSessionServer(port, now::get);
+        assertThat(client.execute(Resp.bytes("PING"))).isEqualTo("PONG");
+    }
+
+    @Test
+    void queueFull() throws IOException {
+        // 연결은 받지만 읽지 않는 서버: 큰 명령을 쓰는 동안 writer가 멈춘다
+        try (ServerSocket stalled = new ServerSocket(0);
+             SessionStoreClient stalledClient = new SessionStoreClient("localhost", stalled.getLocalPort(),
+                     Duration.ofSeconds(1), 128, 4)) {
+            stalledClient.send(Resp.bytes("SET"), Resp.bytes("key"), new byte[32 * 1024 * 1024]);
+
+            // 쌓인 명령이 가득 차면 기다리지 않고 바로 실패한다
+            CompletableFuture<Object> rejected = null;
+            for (int i = 0; i < 1000 && rejected == null; i++) {
+                CompletableFuture<Object> reply = stalledClient.send(Resp.bytes("PING"));
+                if (reply.isCompletedExceptionally()) {
+                    rejected = reply;
+                }
+            }
+            assertThat(rejected).isNotNull();
+            CompletableFuture<Object> failed = rejected;
+            assertThatThrownBy(() -> stalledClient.await(failed))
+                    .isInstanceOf(SessionStoreException.class)
+                    .hasMessageContaining("queue full");
+        }
+    }
+
+    @Test
+    void expiry() {
+        ReplicatedSessionRepository repository = new ReplicatedSessionRepository(client, "login:session:",
+                Duration.ofMinutes(30).toMillis(), Duration.ofHours(1).toMillis(), now::get);
+        SessionId sessionId = new SessionIdGenerator().generate();
+        repository.save(new StoredSession(sessionId, now.get(), "member"));
+
+        // 조회하면 유휴 만료 시각이 연장된다
+        // (서버가 같은 시계를 쓰므로 시간을 옮기기 전에 응답을 기다리지 않은 PEXPIRE 처리를 기다린다)
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        assertThat(repository.find(sessionId).getValue()).isEqualTo("member");
+        client.execute(Resp.bytes("PING"));
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        assertThat(repository.find(sessionId)).isNotNull();
+        client.execute(Resp.bytes("PING"));
+
+        // 접근과 무관하게 생성 후 1시간이 지나면 만료
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        assertThat(repository.find(sessionId)).isNull();
+        client.execute(Resp.bytes("PING")); // 응답을 기다리지 않은 DEL 처리
+        assertThat(server.size()).isEqualTo(0);
+    }
+}
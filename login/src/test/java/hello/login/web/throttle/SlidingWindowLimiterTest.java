@@ -0,0 +1,122 @@
+package hello.login.web.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowLimiterTest {
+
+    AtomicLong now = new AtomicLong(60_000 * 1000L);
+    SlidingWindowLimiter limiter = new SlidingWindowLimiter(1024, 5, Duration.ofMinutes(1), now::get);
+
+    @Test
+    void limitPerKey() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("memberA")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("memberA")).isFalse();
+        assertThat(limiter.tryAcquire("memberB")).isTrue();
+    }
+
+    @Test
+    void sameHashCodeKeys() {
+        // "Aa"와 "BB"는 hashCode가 같지만 행마다 따로 해시하므로 함께 막히지 않는다
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("Aa")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("Aa")).isFalse();
+        assertThat(limiter.tryAcquire("BB")).isTrue();
+    }
+
+    @Test
+    void slidingWindow() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("memberA")).isTrue();
+        }
+
+        // 다음 window 시작: 직전 window 5회가 거의 그대로 남아 있다
+        now.addAndGet(60_000);
+        assertThat(limiter.tryAcquire("memberA")).isFalse();
+
+        // window의 절반: 직전 window 5회의 절반(2.5)만 세므로 세 번 더 시도할 수 있다
+        now.addAndGet(30_000);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("memberA")).isTrue();
+        }
+        assertThat(limiter.tryAcquire("memberA")).isFalse();
+
+        // 두 window가 지나면 모두 사라진다
+        now.addAndGet(120_000);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("memberA")).isTrue();
+        }
+    }
+
+    @Test
+    void boundedMemory() {
+        // 칸 수보다 훨씬 많은 키도 같은 배열에 센다 (겹친 키는 일찍 막힐 수 있다)
+        int allowed = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (limiter.tryAcquire("member" + i)) {
+                allowed++;
+            }
+        }
+        assertThat(allowed).isGreaterThan(0);
+        assertThat(limiter.tryAcquire("member1")).isFalse();
+    }
+
+    @Test
+    void concurrentAcquire() throws Exception {
+        int threads = 8;
+        SlidingWindowLimiter shared = new SlidingWindowLimiter(1024, 1000, Duration.ofMinutes(1), now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                int allowed = 0;
+                for (int i = 0; i < 1000; i++) {
+                    if (shared.tryAcquire("same")) {
+                        allowed++;
+                    }
+                }
+                return allowed;
+            }));
+        }
+        int allowed = 0;
+        for (Future<Integer> result : results) {
+            allowed += result.get();
+        }
+        executor.shutdown();
+
+        // 증가는 잃어버리지 않고, 확인과 증가 사이에 겹친 스레드 수만큼만 넘을 수 있다
+        assertThat(allowed).isBetween(1000, 1000 + threads);
+        assertThat(shared.tryAcquire("same")).isFalse();
+    }
+
+    @Test
+    void loginThrottle() {
+        LoginThrottleProperties properties = new LoginThrottleProperties();
+        properties.setMaxAttemptsPerLoginId(2);
+        properties.setMaxAttemptsPerAddress(3);
+        properties.setSlots(1024);
+        LoginThrottle throttle = new LoginThrottle(properties, now::get);
+
+        assertThat(throttle.tryAcquire("memberA", "10.0.0.1")).isTrue();
+        assertThat(throttle.tryAcquire("memberA", "10.0.0.1")).isTrue();
+        // loginId 한도
+        assertThat(throttle.tryAcquire("memberA", "10.0.0.2")).isFalse();
+        // IP 한도 (10.0.0.1에서 세 번째)
+        assertThat(throttle.tryAcquire("memberB", "10.0.0.1")).isTrue();
+        assertThat(throttle.tryAcquire("memberC", "10.0.0.1")).isFalse();
+        assertThat(throttle.tryAcquire("memberC", "10.0.0.3")).isTrue();
+    }
+}
@@ -0,0 +1,159 @@
+package hello.login.web.token;
+
+import hello.login.domain.member.Member;
+import hello.login.web.SessionConst;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginTokenServiceTest {
+
+    AtomicLong now = new AtomicLong(1_000_000);
+    LoginTokenService loginTokenService = new LoginTokenService(properties(), now::get);
+
+    @Test
+    void issueAndVerify() {
+        Cookie cookie = loginTokenService.issue(member());
+
+        LoginToken loginToken = loginTokenService.verify(cookie.getValue());
+        assertThat(loginToken.getMember().getId()).isEqualTo(1L);
+        assertThat(loginToken.getMember().getLoginId()).isEqualTo("test");
+        assertThat(loginToken.getMember().getName()).isEqualTo("테스터");
+        assertThat(loginToken.getMember().getPassword()).isNull();
+        assertThat(cookie.isHttpOnly()).isTrue();
+    }
+
+    @Test
+    void tampered() {
+        String token = loginTokenService.issue(member()).getValue();
+        String payload = token.substring(0, token.indexOf('.'));
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        // 다른 키로 서명한 토큰
+        LoginTokenService otherKey = new LoginTokenService(properties(), now::get);
+        assertThat(otherKey.verify(token)).isNull();
+
+        // payload 변조
+        char changed = payload.charAt(10) == 'A' ? 'B' : 'A';
+        assertThat(loginTokenService.verify(payload.substring(0, 10) + changed + payload.substring(11) + "." + signature)).isNull();
+
+        assertThat(loginTokenService.verify(payload)).isNull();
+        assertThat(loginTokenService.verify(payload + ".")).isNull();
+        assertThat(loginTokenService.verify("!!." + signature)).isNull();
+    }
+
+    @Test
+    void expiry() {
+        String token = loginTokenService.issue(member()).getValue();
+
+        now.addAndGet(Duration.ofMinutes(29).toMillis());
+        assertThat(loginTokenService.verify(token)).isNotNull();
+        now.addAndGet(Duration.ofMinutes(1).toMillis());
+        assertThat(loginTokenService.verify(token)).isNull();
+    }
+
+    @Test
+    void revoke() {
+        Cookie first = loginTokenService.issue(member());
+        Cookie second = loginTokenService.issue(member());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(first);
+        Cookie removed = loginTokenService.revoke(request);
+
+        assertThat(removed.getMaxAge()).isZero();
+        assertThat(loginTokenService.verify(first.getValue())).isNull();
+        // 같은 회원의 다른 토큰(다른 브라우저)은 그대로
+        assertThat(loginTokenService.verify(second.getValue())).isNotNull();
+
+        // ttl이 지나 세대가 바뀌어도 만료 전까지는 무효 목록에 남는다
+        now.addAndGet(Duration.ofMinutes(25).toMillis());
+        Cookie later = loginTokenService.issue(member());
+        request.setCookies(later);
+        loginTokenService.revoke(request);
+        now.addAndGet(Duration.ofMinutes(10).toMillis());
+        assertThat(loginTokenService.verify(later.getValue())).isNull();
+    }
+
+    @Test
+    void revokeRefreshedLogin() {
+        Cookie issued = loginTokenService.issue(member());
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        Cookie refreshed = loginTokenService.refresh(loginTokenService.verify(issued.getValue()));
+        assertThat(refreshed.getValue()).isNotEqualTo(issued.getValue());
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(refreshed);
+        loginTokenService.revoke(request);
+
+        // 교체하기 전 토큰(복사해 둔 쿠키)도 같은 로그인이므로 무효
+        assertThat(loginTokenService.verify(refreshed.getValue())).isNull();
+        assertThat(loginTokenService.verify(issued.getValue())).isNull();
+    }
+
+    @Test
+    void maxLifetime() {
+        String token = loginTokenService.issue(member()).getValue();
+        long loginAt = now.get();
+
+        // 계속 교체해도 로그인 후 8시간까지만 유효하다
+        while (true) {
+            now.addAndGet(Duration.ofMinutes(20).toMillis());
+            LoginToken loginToken = loginTokenService.verify(token);
+            if (loginToken == null) {
+                break;
+            }
+            assertThat(loginToken.getExpiresAt()).isLessThanOrEqualTo(loginAt + Duration.ofHours(8).toMillis());
+            Cookie refreshed = loginTokenService.refresh(loginToken);
+            if (refreshed != null) {
+                token = refreshed.getValue();
+            }
+        }
+        assertThat(now.get() - loginAt).isGreaterThanOrEqualTo(Duration.ofHours(8).toMillis())
+                .isLessThan(Duration.ofHours(8).plusMinutes(20).toMillis());
+    }
+
+    @Test
+    void filterWithoutSession() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(loginTokenService.issue(member()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new LoginTokenFilter(loginTokenService).doFilter(request, response, new MockFilterChain());
+
+        Member member = (Member) request.getAttribute(SessionConst.LOGIN_MEMBER);
+        assertThat(member.getLoginId()).isEqualTo("test");
+        assertThat(request.getSession(false)).isNull();
+        assertThat(response.getCookie("loginToken")).isNull();
+
+        // 유효 시간이 절반 넘게 지나면 새 토큰을 내려준다
+        now.addAndGet(Duration.ofMinutes(20).toMillis());
+        MockHttpServletRequest later = new MockHttpServletRequest();
+        later.setCookies(request.getCookies());
+        MockHttpServletResponse laterResponse = new MockHttpServletResponse();
+        new LoginTokenFilter(loginTokenService).doFilter(later, laterResponse, new MockFilterChain());
+        assertThat(laterResponse.getCookie("loginToken")).isNotNull();
+    }
+
+    private StatelessLoginProperties properties() {
+        StatelessLoginProperties properties = new StatelessLoginProperties();
+        properties.setEnabled(true);
+        return properties;
+    }
+
+    private Member member() {
+        Member member = new Member();
+        member.setId(1L);
+        member.setLoginId("test");
+        member.setName("테스터");
+        member.setPassword("test!");
+        return member;
+    }
+}
@@ -0,0 +1,113 @@
+package hello.itemservice.web.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 검증 비교: ItemValidator(직접 작성), ItemRules(compile 한 규칙), Hibernate Validator
+ * valid는 통과하는 입력 (오류가 없으므로 BindingResult 하나를 계속 쓴다, -prof gc로 할당 확인),
+ * invalid는 모든 필드와 복합 룰이 실패하는 입력이다.
+ * Hibernate Validator 쪽은 컨트롤러에서 하던 가격 * 수량 검증을 함께 한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ItemValidationBenchmark {
+
+    private final ItemValidator itemValidator = new ItemValidator();
+    private final ItemRules itemRules = new ItemRules();
+    private final LocalValidatorFactoryBean beanValidator = new LocalValidatorFactoryBean();
+
+    private final Item validItem = new Item("itemA", 10000, 10);
+    private final Item invalidItem = new Item(" ", 10, 10000);
+    private final ItemSaveForm validForm = form("itemA", 10000, 10);
+    private final ItemSaveForm invalidForm = form(" ", 10, 10000);
+
+    private BindingResult validItemResult;
+    private BindingResult validFormResult;
+
+    @Setup
+    public void setUp() {
+        beanValidator.afterPropertiesSet();
+        validItemResult = new BeanPropertyBindingResult(validItem, "item");
+        validFormResult = new BeanPropertyBindingResult(validForm, "item");
+    }
+
+    @TearDown
+    public void tearDown() {
+        beanValidator.close();
+    }
+
+    @Benchmark
+    public BindingResult itemValidatorValid() {
+        itemValidator.validate(validItem, validItemResult);
+        return validItemResult;
+    }
+
+    @Benchmark
+    public BindingResult itemRulesValid() {
+        itemRules.validate(validItem, validItemResult);
+        return validItemResult;
+    }
+
+    @Benchmark
+    public BindingResult hibernateValidatorValid() {
+        validateWithBeanValidation(validForm, validFormResult);
+        return validFormResult;
+    }
+
+
+    @Benchmark
+    public BindingResult itemValidatorInvalid() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(invalidItem, "item");
+        itemValidator.validate(invalidItem, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult itemRulesInvalid() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(invalidItem, "item");
+        itemRules.validate(invalidItem, bindingResult);
+        return bindingResult;
+    }
+
+    @Benchmark
+    public BindingResult hibernateValidatorInvalid() {
+        BindingResult bindingResult = new BeanPropertyBindingResult(invalidForm, "item");
+        validateWithBeanValidation(invalidForm, bindingResult);
+        return bindingResult;
+    }
+
+
+    private void validateWithBeanValidation(ItemSaveForm form, BindingResult bindingResult) {
+        beanValidator.validate(form, bindingResult);
+        if (form.getPrice() != null && form.getQuantity() != null) {
+            int resultPrice = form.getPrice() * form.getQuantity();
+            if (resultPrice < 10000) {
+                bindingResult.reject("totalPriceMin", new Object[]{10000, resultPrice}, null);
+            }
+        }
+    }
+
+    private static ItemSaveForm form(String itemName, Integer price, Integer quantity) {
+        ItemSaveForm form = new ItemSaveForm();
+        form.setItemName(itemName);
+        form.setPrice(price);
+        form.setQuantity(quantity);
+        return form;
+    }
+}
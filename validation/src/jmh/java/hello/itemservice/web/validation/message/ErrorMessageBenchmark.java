@@ -0,0 +1,105 @@
+package hello.itemservice.web.validation.message;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 오류가 많은 폼 하나의 메시지 코드 만들기 + 메시지 찾기
+ * ItemValidator 오류 4개(required, range, max, totalPriceMin)와
+ * Bean Validation 오류 3개(NotBlank, Range, Max, 필드 이름 인자)를
+ * DefaultMessageCodesResolver + ResourceBundleMessageSource (plain),
+ * DefaultMessageCodesResolver + PreloadedMessageSource (preloaded),
+ * CachingMessageCodesResolver + PreloadedMessageSource를 감싼 CachingMessageSource (cached, 애플리케이션 설정)로 비교한다.
+ * -t 로 스레드 수를 늘려 동시에 찾을 때도 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorMessageBenchmark {
+
+    private final MessageCodesResolver plainResolver = new DefaultMessageCodesResolver();
+    private final MessageSource plainSource = messageSource();
+    private final MessageSource preloadedSource = preloadedMessageSource();
+
+    private final MessageCodesResolver cachingResolver = new CachingMessageCodesResolver(10000);
+    private final CachingMessageSource cachingSource = new CachingMessageSource(preloadedMessageSource(), 10000);
+
+    {
+        cachingSource.warmUp(Set.of("required.item.itemName", "range.item.price", "max.item.quantity",
+                "totalPriceMin.item", "NotBlank", "Range", "Max"), List.of(Locale.KOREA));
+    }
+
+    @Benchmark
+    public void plain(Blackhole bh) {
+        resolve(plainResolver, plainSource, bh);
+    }
+
+    @Benchmark
+    public void preloaded(Blackhole bh) {
+        resolve(plainResolver, preloadedSource, bh);
+    }
+
+    @Benchmark
+    public void cached(Blackhole bh) {
+        resolve(cachingResolver, cachingSource, bh);
+    }
+
+    private static void resolve(MessageCodesResolver resolver, MessageSource source, Blackhole bh) {
+        Locale locale = Locale.KOREA;
+        bh.consume(source.getMessage(new FieldError("item", "itemName", " ", false,
+                resolver.resolveMessageCodes("required", "item", "itemName", String.class), null, null), locale));
+        bh.consume(source.getMessage(new FieldError("item", "price", 10, false,
+                resolver.resolveMessageCodes("range", "item", "price", Integer.class),
+                new Object[]{1000, 1000000}, null), locale));
+        bh.consume(source.getMessage(new FieldError("item", "quantity", 10000, false,
+                resolver.resolveMessageCodes("max", "item", "quantity", Integer.class),
+                new Object[]{9999}, null), locale));
+        bh.consume(source.getMessage(new ObjectError("item",
+                resolver.resolveMessageCodes("totalPriceMin", "item"), new Object[]{10000, 100}, null), locale));
+
+        bh.consume(source.getMessage(new FieldError("item", "itemName", " ", false,
+                resolver.resolveMessageCodes("NotBlank", "item", "itemName", String.class),
+                new Object[]{field("itemName")}, "must not be blank"), locale));
+        bh.consume(source.getMessage(new FieldError("item", "price", 10, false,
+                resolver.resolveMessageCodes("Range", "item", "price", Integer.class),
+                new Object[]{field("price"), 1000000, 1000}, "must be between 1000 and 1000000"), locale));
+        bh.consume(source.getMessage(new FieldError("item", "quantity", 10000, false,
+                resolver.resolveMessageCodes("Max", "item", "quantity", Integer.class),
+                new Object[]{field("quantity"), 9999}, "must be less than or equal to 9999"), locale));
+    }
+
+    private static DefaultMessageSourceResolvable field(String field) {
+        return new DefaultMessageSourceResolvable(new String[]{"item." + field, field}, field);
+    }
+
+    private static PreloadedMessageSource preloadedMessageSource() {
+        MessageSourceProperties properties = new MessageSourceProperties();
+        properties.setBasename("messages,errors");
+        return new PreloadedMessageSource(properties);
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
@@ -18,8 +18,11 @@ public class TestDataInit {
      */
     @PostConstruct
     public void init() {
-        itemRepository.save(new Item("itemA", 10000, 10));
-        itemRepository.save(new Item("itemB", 20000, 20));
+        // 디스크 저장소(storage.enabled)는 재시작해도 남아 있으므로 비어 있을 때만 추가한다
+        if (itemRepository.stream().findAny().isEmpty()) {
+            itemRepository.save(new Item("itemA", 10000, 10));
+            itemRepository.save(new Item("itemB", 20000, 20));
+        }
     }
 
 }
\ No newline at end of file
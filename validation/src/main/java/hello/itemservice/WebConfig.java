@@ -0,0 +1,41 @@
+package hello.itemservice;
+
+import hello.itemservice.web.metrics.HandlerMetrics;
+import hello.itemservice.web.metrics.MetricsInterceptor;
+import hello.itemservice.web.validation.plan.CachingValidator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.Validator;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final HandlerMetrics handlerMetrics;
+    private final MessageCodesResolver messageCodesResolver;
+    private final CachingValidator cachingValidator;
+
+    // 컨트롤러 메서드별 처리 시간 (/metrics/handlers)
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new MetricsInterceptor(handlerMetrics))
+                .order(1)
+                .addPathPatterns("/**")
+                .excludePathPatterns("/css/**", "/*.ico", "/error");
+    }
+
+    // 바인딩, 검증 오류의 메시지 코드 (CachingMessageCodesResolver)
+    @Override
+    public MessageCodesResolver getMessageCodesResolver() {
+        return messageCodesResolver;
+    }
+
+    // @Validated, @Valid 검증기 (Bean Validation, (클래스, 그룹)마다 검증 계획을 기억하는 CachingValidator)
+    @Override
+    public Validator getValidator() {
+        return cachingValidator;
+    }
+}
@@ -2,7 +2,6 @@ package hello.itemservice.domain.item;
 
 import lombok.Data;
 import org.hibernate.validator.constraints.Range;
-import org.hibernate.validator.constraints.ScriptAssert;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.NotBlank;
@@ -27,6 +26,8 @@ public class Item {
 //    @Max(value = 9999, groups = SaveCheck.class) // 수정 요구사항 추가
     private Integer quantity;
 
+    private Long version; // 수정할 때마다 1씩 증가 (저장하면 1)
+
     public Item() {
     }
 
@@ -0,0 +1,36 @@
+package hello.itemservice.domain.item;
+
+import hello.itemservice.domain.storage.RecordCodec;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+
+class ItemCodec implements RecordCodec<Item> {
+
+    @Override
+    public void write(Item item, DataOutput out) throws IOException {
+        RecordCodec.writeString(out, item.getItemName());
+        RecordCodec.writeInteger(out, item.getPrice());
+        RecordCodec.writeInteger(out, item.getQuantity());
+        out.writeLong(item.getVersion() != null ? item.getVersion() : 0L);
+    }
+
+    @Override
+    public Item read(long id, DataInput in) throws IOException {
+        Item item = new Item(RecordCodec.readString(in), RecordCodec.readInteger(in), RecordCodec.readInteger(in));
+        item.setId(id);
+        item.setVersion(readVersion(in));
+        return item;
+    }
+
+    // version 추가 전에 기록한 상품은 version 1
+    private static long readVersion(DataInput in) throws IOException {
+        try {
+            return in.readLong();
+        } catch (EOFException e) {
+            return 1L;
+        }
+    }
+}
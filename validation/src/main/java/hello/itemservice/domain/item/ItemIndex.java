@@ -0,0 +1,102 @@
+package hello.itemservice.domain.item;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * 상품 정렬 색인 ((값, id) 순서, 값이 null이면 앞)
+ * 상품 수정과 색인 반영 사이에는 이전 항목과 새 항목이 함께 보이거나 잠깐 빠질 수 있으므로
+ * 색인으로 찾은 상품은 matches로 현재 값과 다시 확인한다.
+ */
+final class ItemIndex<V extends Comparable<? super V>> {
+
+    private final Function<Item, V> valueOf;
+    private final ConcurrentSkipListSet<Entry<V>> entries = new ConcurrentSkipListSet<>();
+
+    ItemIndex(Function<Item, V> valueOf) {
+        this.valueOf = valueOf;
+    }
+
+    void add(Item item) {
+        entries.add(entryOf(item));
+    }
+
+    void remove(Item item) {
+        entries.remove(entryOf(item));
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    V valueOf(Item item) {
+        return valueOf.apply(item);
+    }
+
+    /**
+     * 색인 항목이 상품의 현재 값과 같은지
+     */
+    boolean matches(Entry<V> entry, Item item) {
+        return item != null && Objects.equals(entry.value, valueOf(item));
+    }
+
+    /**
+     * (value, id) 다음 항목부터
+     */
+    Iterator<Entry<V>> after(V value, long id) {
+        return entries.tailSet(new Entry<>(value, id), false).iterator();
+    }
+
+    /**
+     * from 이상 to 이하인 항목 (null이면 그쪽으로 열린 범위, 값이 null인 항목은 빠진다)
+     */
+    Iterator<Entry<V>> range(V from, V to) {
+        NavigableSet<Entry<V>> tail = from != null
+                ? entries.tailSet(new Entry<>(from, Long.MIN_VALUE), true)
+                : entries.tailSet(new Entry<>(null, Long.MAX_VALUE), false);
+        return (to != null ? tail.headSet(new Entry<>(to, Long.MAX_VALUE), true) : tail).iterator();
+    }
+
+    Iterator<Entry<V>> iterator() {
+        return entries.iterator();
+    }
+
+    private Entry<V> entryOf(Item item) {
+        return new Entry<>(valueOf(item), item.getId());
+    }
+
+    static final class Entry<V extends Comparable<? super V>> implements Comparable<Entry<V>> {
+
+        final V value;
+        final long id;
+
+        Entry(V value, long id) {
+            this.value = value;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Entry<V> other) {
+            int byValue = Comparator.<V>nullsFirst(Comparator.naturalOrder()).compare(value, other.value);
+            return byValue != 0 ? byValue : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?> other = (Entry<?>) o;
+            return id == other.id && Objects.equals(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value, id);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package hello.itemservice.domain.item;
+
+/**
+ * 상품 목록 정렬 (오름차순, 같은 값은 id 순서)
+ */
+public enum ItemSort {
+    ID, NAME, PRICE
+}
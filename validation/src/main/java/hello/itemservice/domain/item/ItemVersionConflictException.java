@@ -0,0 +1,23 @@
+package hello.itemservice.domain.item;
+
+import lombok.Getter;
+
+/**
+ * 수정 화면을 연 뒤 다른 요청이 먼저 상품을 수정한 경우
+ */
+@Getter
+public class ItemVersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long itemId;
+    private final Long expectedVersion;
+    private final Long currentVersion;
+
+    public ItemVersionConflictException(Long itemId, Long expectedVersion, Long currentVersion) {
+        super("item version conflict id=" + itemId + " expected=" + expectedVersion + " current=" + currentVersion);
+        this.itemId = itemId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+}
@@ -0,0 +1,128 @@
+package hello.itemservice.domain.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * StorageEngine에 기록하는 저장소
+ * 꺼낸 객체는 복사본이므로 수정한 뒤 put 해야 저장된다.
+ */
+public class DurableRecordStore<T> implements RecordStore<T> {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final StorageEngine engine;
+    private final RecordCodec<T> codec;
+    private final AtomicLong sequence;
+    // replace의 읽기-비교-쓰기를 id별로 묶는다 (조회는 잠그지 않는다, 잠근 채 기록을 기다린다)
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    public DurableRecordStore(StorageEngine engine, RecordCodec<T> codec) {
+        this.engine = engine;
+        this.codec = codec;
+        // 지운 키, 합치며 버린 키도 포함한 최댓값(MANIFEST에 남긴다)이므로 지운 id를 다시 쓰지 않는다
+        this.sequence = new AtomicLong(engine.maxKey());
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public long nextId() {
+        return sequence.incrementAndGet();
+    }
+
+    @Override
+    public T get(long id) {
+        byte[] value = engine.get(id);
+        return value != null ? decode(id, value) : null;
+    }
+
+    @Override
+    public void put(long id, T record) {
+        engine.put(id, encode(id, record));
+    }
+
+    @Override
+    public void putAll(Map<Long, T> records) {
+        Map<Long, byte[]> values = new LinkedHashMap<>();
+        records.forEach((id, record) -> values.put(id, encode(id, record)));
+        engine.putAll(values);
+    }
+
+    @Override
+    public boolean replace(long id, T expected, T updated) {
+        Lock lock = locks[(int) (id & (LOCK_STRIPES - 1))];
+        lock.lock();
+        try {
+            T current = get(id);
+            if (current == null || !current.equals(expected)) {
+                return false;
+            }
+            put(id, updated);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<T> records = new ArrayList<>();
+        engine.forEach((id, value) -> records.add(decode(id, value)));
+        return records;
+    }
+
+    @Override
+    public Iterator<T> iterator(long afterId) {
+        Iterator<KeyValue> entries = engine.scan(afterId);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public T next() {
+                KeyValue entry = entries.next();
+                return decode(entry.key, entry.value);
+            }
+        };
+    }
+
+    @Override
+    public void clear() {
+        List<Long> ids = new ArrayList<>();
+        engine.forEach((id, value) -> ids.add(id));
+        engine.deleteAll(ids);
+    }
+
+    private byte[] encode(long id, T record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            codec.write(record, out);
+        } catch (IOException e) {
+            throw new StorageException("encode error id=" + id, e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private T decode(long id, byte[] value) {
+        try {
+            return codec.read(id, new DataInputStream(new ByteArrayInputStream(value)));
+        } catch (IOException e) {
+            throw new StorageException("decode error id=" + id, e);
+        }
+    }
+}
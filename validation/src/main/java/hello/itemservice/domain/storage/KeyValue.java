@@ -0,0 +1,19 @@
+package hello.itemservice.domain.storage;
+
+/**
+ * 저장소 항목, 삭제 표시는 value가 StorageEngine.TOMBSTONE
+ */
+final class KeyValue {
+
+    final long key;
+    final byte[] value;
+
+    KeyValue(long key, byte[] value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    boolean isTombstone() {
+        return value == StorageEngine.TOMBSTONE;
+    }
+}
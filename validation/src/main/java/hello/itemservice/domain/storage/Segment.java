@@ -0,0 +1,245 @@
+package hello.itemservice.domain.storage;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 키 순서로 정렬된 읽기 전용 파일
+ * 파일을 메모리에 매핑해서 읽으므로 힙을 쓰지 않고, 희소 색인(16개마다 키 하나)만 힙에 올린다.
+ *
+ * entry = key(long) valueLength(int, -1 이면 삭제) value
+ * index = (key(long) offset(int)) 반복
+ * footer = indexOffset(int) indexCount(int) entryCount(int) maxKey(long) magic(int)
+ */
+final class Segment {
+
+    private static final int MAGIC = 0x53454731; // "SEG1"
+    private static final int INDEX_INTERVAL = 16;
+    private static final int ENTRY_HEADER_SIZE = 8 + 4;
+    private static final int FOOTER_SIZE = 4 + 4 + 4 + 8 + 4;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long[] indexKeys;
+    private final int[] indexOffsets;
+    private final int indexOffset;
+    private final int entryCount;
+    private final long maxKey;
+
+    private Segment(Path path, MappedByteBuffer buffer, long[] indexKeys, int[] indexOffsets,
+                    int indexOffset, int entryCount, long maxKey) {
+        this.path = path;
+        this.buffer = buffer;
+        this.indexKeys = indexKeys;
+        this.indexOffsets = indexOffsets;
+        this.indexOffset = indexOffset;
+        this.entryCount = entryCount;
+        this.maxKey = maxKey;
+    }
+
+    static Segment open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < FOOTER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new StorageException("invalid segment size " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int footer = buffer.capacity() - FOOTER_SIZE;
+        int indexOffset = buffer.getInt(footer);
+        int indexCount = buffer.getInt(footer + 4);
+        int entryCount = buffer.getInt(footer + 8);
+        long maxKey = buffer.getLong(footer + 12);
+        if (buffer.getInt(footer + 20) != MAGIC) {
+            throw new StorageException("invalid segment " + path);
+        }
+
+        long[] indexKeys = new long[indexCount];
+        int[] indexOffsets = new int[indexCount];
+        for (int i = 0; i < indexCount; i++) {
+            int position = indexOffset + i * 12;
+            indexKeys[i] = buffer.getLong(position);
+            indexOffsets[i] = buffer.getInt(position + 8);
+        }
+        return new Segment(path, buffer, indexKeys, indexOffsets, indexOffset, entryCount, maxKey);
+    }
+
+    /**
+     * 정렬된 항목을 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾼다.
+     * 중간에 종료되면 임시 파일만 남으므로 반쯤 쓴 segment를 읽는 일은 없다.
+     */
+    static Segment write(Path path, Iterator<KeyValue> entries) throws IOException {
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+
+            long[] indexKeys = new long[64];
+            int[] indexOffsets = new int[64];
+            int indexCount = 0;
+            int entryCount = 0;
+            long maxKey = 0;
+            long offset = 0;
+            while (entries.hasNext()) {
+                KeyValue entry = entries.next();
+                if (entryCount % INDEX_INTERVAL == 0) {
+                    if (indexCount == indexKeys.length) {
+                        indexKeys = Arrays.copyOf(indexKeys, indexCount * 2);
+                        indexOffsets = Arrays.copyOf(indexOffsets, indexCount * 2);
+                    }
+                    indexKeys[indexCount] = entry.key;
+                    indexOffsets[indexCount] = (int) offset;
+                    indexCount++;
+                }
+                out.writeLong(entry.key);
+                if (entry.isTombstone()) {
+                    out.writeInt(-1);
+                } else {
+                    out.writeInt(entry.value.length);
+                    out.write(entry.value);
+                }
+                offset += ENTRY_HEADER_SIZE + (entry.isTombstone() ? 0 : entry.value.length);
+                if (offset + (indexCount + 1) * 12L + FOOTER_SIZE > Integer.MAX_VALUE) {
+                    throw new StorageException("segment too large " + path);
+                }
+                entryCount++;
+                maxKey = entry.key;
+            }
+
+            for (int i = 0; i < indexCount; i++) {
+                out.writeLong(indexKeys[i]);
+                out.writeInt(indexOffsets[i]);
+            }
+            out.writeInt((int) offset);
+            out.writeInt(indexCount);
+            out.writeInt(entryCount);
+            out.writeLong(maxKey);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * 마지막 키 (삭제 표시 포함), 비어 있으면 0
+     */
+    long getMaxKey() {
+        return maxKey;
+    }
+
+    /**
+     * @return 없으면 null, 삭제된 키면 TOMBSTONE
+     */
+    byte[] get(long key) {
+        if (entryCount == 0 || key > maxKey || key < indexKeys[0]) {
+            return null;
+        }
+        // 키가 들어 있을 수 있는 블록 (key 이하인 마지막 색인)
+        int block = Arrays.binarySearch(indexKeys, key);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        int position = indexOffsets[block];
+        int end = block + 1 < indexOffsets.length ? indexOffsets[block + 1] : indexOffset;
+        while (position < end) {
+            long entryKey = buffer.getLong(position);
+            int valueLength = buffer.getInt(position + 8);
+            if (entryKey == key) {
+                return valueLength < 0 ? StorageEngine.TOMBSTONE : readValue(position + ENTRY_HEADER_SIZE, valueLength);
+            }
+            if (entryKey > key) {
+                return null;
+            }
+            position += ENTRY_HEADER_SIZE + Math.max(valueLength, 0);
+        }
+        return null;
+    }
+
+    /**
+     * 키 순서로 모든 항목 (삭제 표시 포함)
+     */
+    Iterator<KeyValue> iterator() {
+        return iterator(0, Long.MIN_VALUE);
+    }
+
+    /**
+     * afterKey 보다 큰 키부터 (삭제 표시 포함)
+     */
+    Iterator<KeyValue> iterator(long afterKey) {
+        if (entryCount == 0 || afterKey >= maxKey) {
+            return Collections.emptyIterator();
+        }
+        int block = Arrays.binarySearch(indexKeys, afterKey);
+        if (block < 0) {
+            block = -block - 2;
+        }
+        return iterator(block < 0 ? 0 : indexOffsets[block], afterKey);
+    }
+
+    private Iterator<KeyValue> iterator(int start, long afterKey) {
+        // afterKey 이하인 항목은 건너뛴다 (블록 안에서만)
+        int position = start;
+        while (position < indexOffset && buffer.getLong(position) <= afterKey) {
+            position += ENTRY_HEADER_SIZE + Math.max(buffer.getInt(position + 8), 0);
+        }
+        int first = position;
+
+        return new Iterator<>() {
+
+            private int position = first;
+
+            @Override
+            public boolean hasNext() {
+                return position < indexOffset;
+            }
+
+            @Override
+            public KeyValue next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long key = buffer.getLong(position);
+                int valueLength = buffer.getInt(position + 8);
+                byte[] value = valueLength < 0
+                        ? StorageEngine.TOMBSTONE : readValue(position + ENTRY_HEADER_SIZE, valueLength);
+                position += ENTRY_HEADER_SIZE + Math.max(valueLength, 0);
+                return new KeyValue(key, value);
+            }
+        };
+    }
+
+    private byte[] readValue(int position, int length) {
+        byte[] value = new byte[length];
+        // 여러 스레드가 같은 버퍼를 읽으므로 position을 바꾸지 않는 복사본으로 읽는다
+        ByteBuffer view = buffer.duplicate();
+        view.position(position);
+        view.get(value);
+        return value;
+    }
+}
@@ -0,0 +1,15 @@
+package hello.itemservice.domain.storage;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "storage", name = "enabled", havingValue = "true")
+public class StorageConfig {
+
+    @Bean(destroyMethod = "close")
+    public Storage storage(StorageProperties properties) {
+        return new Storage(properties);
+    }
+}
@@ -0,0 +1,145 @@
+package hello.itemservice.web.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * 컨트롤러 메서드별 처리 시간 히스토그램
+ * 요청마다 히스토그램 칸 하나만 늘리고, metrics.interval 마다 누적 스냅샷을 떠서 직전 구간 통계를 만든다.
+ */
+@Slf4j
+@Component
+public class HandlerMetrics {
+
+    private final ConcurrentMap<Method, Route> routes = new ConcurrentHashMap<>();
+    private final long intervalNanos;
+    private final LongSupplier clock;
+
+    private ScheduledExecutorService rotator;
+
+    @Autowired
+    public HandlerMetrics(@Value("${metrics.interval:1m}") Duration interval) {
+        this(interval, System::nanoTime);
+    }
+
+    HandlerMetrics(Duration interval, LongSupplier clock) {
+        this.intervalNanos = interval.toNanos();
+        this.clock = clock;
+    }
+
+    @PostConstruct
+    public void start() {
+        rotator = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "handler-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        rotator.scheduleAtFixedRate(this::rotate, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (rotator != null) {
+            rotator.shutdownNow();
+        }
+    }
+
+    /**
+     * @param pattern 요청이 매칭된 URL 패턴 (처음 기록할 때 값을 쓴다)
+     */
+    public void record(HandlerMethod handler, String pattern, long elapsedNanos) {
+        Method method = handler.getMethod();
+        Route route = routes.get(method);
+        if (route == null) {
+            route = routes.computeIfAbsent(method, m -> new Route(
+                    handler.getBeanType().getSimpleName() + "#" + m.getName(), pattern, clock.getAsLong()));
+        }
+        route.histogram.record(elapsedNanos);
+    }
+
+    /**
+     * 구간 p99가 느린 순서
+     */
+    public List<HandlerStats> getStats() {
+        long now = clock.getAsLong();
+        return routes.values().stream()
+                .map(route -> route.stats(now))
+                .sorted(Comparator.comparingDouble((HandlerStats stats) -> stats.getInterval().getP99())
+                        .thenComparingDouble(stats -> stats.getTotal().getP99())
+                        .reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 구간을 닫고 새 구간을 시작한다
+     */
+    void rotate() {
+        long now = clock.getAsLong();
+        for (Route route : routes.values()) {
+            route.rotate(now);
+        }
+    }
+
+    private static final class Route {
+
+        final String handler;
+        final String pattern;
+        final long createdNanos;
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        // 구간 경계의 누적 스냅샷, rotate 스레드만 바꾼다
+        volatile Interval last;
+
+        Route(String handler, String pattern, long createdNanos) {
+            this.handler = handler;
+            this.pattern = pattern;
+            this.createdNanos = createdNanos;
+            this.last = new Interval(LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY, createdNanos, createdNanos);
+        }
+
+        void rotate(long now) {
+            Interval previous = last;
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            last = new Interval(snapshot, snapshot.minus(previous.end), previous.endNanos, now);
+        }
+
+        HandlerStats stats(long now) {
+            Interval interval = last;
+            return new HandlerStats(handler, pattern,
+                    new LatencyStats(histogram.snapshot(), now - createdNanos),
+                    new LatencyStats(interval.delta, interval.endNanos - interval.startNanos));
+        }
+    }
+
+    private static final class Interval {
+
+        final LatencyHistogram.Snapshot end;
+        final LatencyHistogram.Snapshot delta;
+        final long startNanos;
+        final long endNanos;
+
+        Interval(LatencyHistogram.Snapshot end, LatencyHistogram.Snapshot delta, long startNanos, long endNanos) {
+            this.end = end;
+            this.delta = delta;
+            this.startNanos = startNanos;
+            this.endNanos = endNanos;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package hello.itemservice.web.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 처리 시간(ns) 히스토그램 (HdrHistogram 방식의 log-linear 칸)
+ * 2의 거듭제곱 구간마다 32칸으로 나누므로 어느 값이든 상대 오차가 약 3% 이내이고,
+ * 1ns ~ 2^40ns(약 18분)를 칸 1152개로 기록한다.
+ * 기록은 칸 하나를 원자적으로 늘리기만 하고(잠금 없음), 구간 통계는 누적 스냅샷의 차이로 구한다.
+ */
+final class LatencyHistogram {
+
+    static final int SUB_BITS = 5;
+    static final int SUB_COUNT = 1 << SUB_BITS;
+    static final int MAX_EXPONENT = 40;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT;
+
+    private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    void record(long nanos) {
+        counts.incrementAndGet(indexOf(Math.min(Math.max(nanos, 0), MAX_VALUE)));
+    }
+
+    /**
+     * 지금까지의 누적 값 (칸마다 따로 읽으므로 기록 중인 값 몇 개는 빠질 수 있다)
+     */
+    Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return (shift + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * 칸에 들어가는 가장 큰 값
+     */
+    static long highestValueOf(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    static final class Snapshot {
+
+        static final Snapshot EMPTY = new Snapshot(new long[BUCKET_COUNT]);
+
+        private final long[] counts;
+        private final long count;
+
+        Snapshot(long[] counts) {
+            this.counts = counts;
+            long sum = 0;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.count = sum;
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        /**
+         * previous 이후에 기록된 값
+         */
+        Snapshot minus(Snapshot previous) {
+            long[] delta = new long[counts.length];
+            for (int i = 0; i < delta.length; i++) {
+                delta[i] = counts[i] - previous.counts[i];
+            }
+            return new Snapshot(delta);
+        }
+
+        /**
+         * @param percentile 0 ~ 100
+         * @return 값의 percentile% 가 이 값 이하 (기록이 없으면 0)
+         */
+        long valueAt(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return highestValueOf(i);
+                }
+            }
+            return highestValueOf(counts.length - 1);
+        }
+
+        long max() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] > 0) {
+                    return highestValueOf(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package hello.itemservice.web.metrics;
+
+import lombok.Getter;
+
+/**
+ * 처리 시간 통계 (시간은 ms)
+ */
+@Getter
+public class LatencyStats {
+
+    private final long count;
+    private final double throughput; // 초당 요청 수
+    private final double p50;
+    private final double p99;
+    private final double p999;
+    private final double max;
+
+    LatencyStats(LatencyHistogram.Snapshot snapshot, long elapsedNanos) {
+        this.count = snapshot.getCount();
+        this.throughput = elapsedNanos > 0 ? round(count * 1e9 / elapsedNanos) : 0;
+        this.p50 = millis(snapshot.valueAt(50));
+        this.p99 = millis(snapshot.valueAt(99));
+        this.p999 = millis(snapshot.valueAt(99.9));
+        this.max = millis(snapshot.max());
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1e6);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
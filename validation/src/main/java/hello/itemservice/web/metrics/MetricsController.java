@@ -0,0 +1,23 @@
+package hello.itemservice.web.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 컨트롤러 메서드별 처리 시간 (p50/p99/p999, 초당 요청 수)
+ * 프로파일러 없이 느린 경로를 찾는다. 예) GET /metrics/handlers
+ */
+@RestController
+@RequiredArgsConstructor
+public class MetricsController {
+
+    private final HandlerMetrics handlerMetrics;
+
+    @GetMapping("/metrics/handlers")
+    public List<HandlerStats> handlers() {
+        return handlerMetrics.getStats();
+    }
+}
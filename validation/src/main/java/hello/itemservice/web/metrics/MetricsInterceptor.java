@@ -0,0 +1,37 @@
+package hello.itemservice.web.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * preHandle ~ afterCompletion 시간을 컨트롤러 메서드별 히스토그램에 기록한다
+ */
+public class MetricsInterceptor implements HandlerInterceptor {
+
+    private static final String START_NANOS = MetricsInterceptor.class.getName() + ".START";
+
+    private final HandlerMetrics handlerMetrics;
+
+    public MetricsInterceptor(HandlerMetrics handlerMetrics) {
+        this.handlerMetrics = handlerMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_NANOS, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Long start = (Long) request.getAttribute(START_NANOS);
+        if (handler instanceof HandlerMethod && start != null) {
+            String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            handlerMetrics.record((HandlerMethod) handler, pattern, System.nanoTime() - start);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package hello.itemservice.web.validation;
 
+import hello.itemservice.web.validation.bulk.ItemImportSummary;
+import hello.itemservice.web.validation.bulk.ItemImporter;
 import hello.itemservice.web.validation.form.ItemSaveForm;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.annotation.Validated;
@@ -9,11 +12,23 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
 @Slf4j
 @RestController
+@RequiredArgsConstructor
 @RequestMapping("/validation/api/items")
 public class ValidationItemApiController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final ItemImporter itemImporter;
+
     @PostMapping("/add")
     public Object addItem(@RequestBody @Validated ItemSaveForm form, BindingResult bindingResult){
 
@@ -28,4 +43,18 @@ public class ValidationItemApiController {
         return form;
     }
 
+    /**
+     * 상품 일괄 가져오기
+     * 본문을 다 읽지 않고 줄 단위로 처리하며, 줄마다 결과를 바로 돌려준다.
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public void importItems(HttpServletRequest request, HttpServletResponse response, Locale locale) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        ItemImportSummary summary = itemImporter.importItems(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8), response.getWriter(), locale);
+        log.info("상품 가져오기 total={}, saved={}, failed={}", summary.getTotal(), summary.getSaved(), summary.getFailed());
+    }
+
 }
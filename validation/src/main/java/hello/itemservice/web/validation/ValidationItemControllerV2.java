@@ -1,7 +1,10 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSort;
+import hello.itemservice.web.validation.rule.ItemRules;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
@@ -17,7 +20,6 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -28,16 +30,21 @@ public class ValidationItemControllerV2 {
 
     private final ItemRepository itemRepository;
     private final ItemValidator itemValidator;
+    private final ItemRules itemRules;
 
     @InitBinder
     public void init(WebDataBinder dataBinder){
-        dataBinder.addValidators(itemValidator);
+//        dataBinder.addValidators(itemValidator);
+        // ItemValidator와 같은 규칙을 시작할 때 compile 해둔 검증기
+        dataBinder.addValidators(itemRules);
     }
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(defaultValue = "ID") ItemSort sort,
+                        @RequestParam(required = false) String after, Model model) {
+        ItemPage page = itemRepository.findPage(sort, after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v2/items";
     }
 
@@ -1,7 +1,10 @@
 package hello.itemservice.web.validation;
 
 import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemPage;
 import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.domain.item.ItemSort;
+import hello.itemservice.domain.item.ItemVersionConflictException;
 import hello.itemservice.domain.item.SaveCheck;
 import hello.itemservice.domain.item.UpdateCheck;
 import hello.itemservice.web.validation.form.ItemSaveForm;
@@ -15,7 +18,6 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
 
 @Slf4j
 @Controller
@@ -26,9 +28,11 @@ public class ValidationItemControllerV4 {
     private final ItemRepository itemRepository;
 
     @GetMapping
-    public String items(Model model) {
-        List<Item> items = itemRepository.findAll();
-        model.addAttribute("items", items);
+    public String items(@RequestParam(defaultValue = "ID") ItemSort sort,
+                        @RequestParam(required = false) String after, Model model) {
+        ItemPage page = itemRepository.findPage(sort, after, ItemPage.DEFAULT_SIZE);
+        model.addAttribute("items", page.getItems());
+        model.addAttribute("page", page);
         return "validation/v4/items";
     }
 
@@ -75,14 +79,7 @@ public class ValidationItemControllerV4 {
     @PostMapping("/add")
     public String addItem(@Validated @ModelAttribute("item") ItemSaveForm form, BindingResult bindingResult, RedirectAttributes redirectAttributes, Model model) {
 
-        // 특정 필드가 아닌 복합 룰 검증
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000,
-                        resultPrice}, null);
-            }
-        }
+        // 특정 필드가 아닌 복합 룰(totalPriceMin)은 ItemSaveForm의 @TotalPriceMin이 검증
 
         // 검증에 실패하면 다시 입력 폼으로
         if (bindingResult.hasErrors()){
@@ -134,13 +131,7 @@ public class ValidationItemControllerV4 {
     @PostMapping("/{itemId}/edit")
     public String edit(@PathVariable Long itemId, @Validated @ModelAttribute("item") ItemUpdateForm form, BindingResult bindingResult) {
 
-        if (form.getPrice() != null && form.getQuantity() != null) {
-            int resultPrice = form.getPrice() * form.getQuantity();
-            if (resultPrice < 10000) {
-                bindingResult.reject("totalPriceMin", new Object[]{10000,
-                        resultPrice}, null);
-            }
-        }
+        // 복합 룰(totalPriceMin)은 ItemUpdateForm의 @TotalPriceMin이 검증
 
         if(bindingResult.hasErrors()){
             log.info("errors = {}", bindingResult);
@@ -153,8 +144,17 @@ public class ValidationItemControllerV4 {
         itemParam.setItemName(form.getItemName());
         itemParam.setPrice(form.getPrice());
         itemParam.setQuantity(form.getQuantity());
-
-        itemRepository.update(itemId, itemParam);
+        itemParam.setVersion(form.getVersion());
+
+        try {
+            itemRepository.update(itemId, itemParam);
+        } catch (ItemVersionConflictException e) {
+            // 다시 저장하면 최신 상품을 덮어쓰도록 version을 바꿔서 수정 화면을 보여준다
+            log.info("version conflict itemId={} expected={} current={}", itemId, e.getExpectedVersion(), e.getCurrentVersion());
+            bindingResult.reject("versionConflict");
+            form.setVersion(e.getCurrentVersion());
+            return "validation/v4/editForm";
+        }
         return "redirect:/validation/v4/items/{itemId}";
     }
 
@@ -0,0 +1,22 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+/**
+ * 한 줄의 검증 오류
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportError {
+
+    private final String field; // 복합 룰, JSON 형식 오류는 null
+    private final String code; // Range, totalPriceMin, typeMismatch, invalidJson
+    private final String message;
+
+    ItemImportError(String field, String code, String message) {
+        this.field = field;
+        this.code = code;
+        this.message = message;
+    }
+}
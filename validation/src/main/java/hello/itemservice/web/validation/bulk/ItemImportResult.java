@@ -0,0 +1,24 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 한 줄의 가져오기 결과 (저장했으면 id, 실패했으면 errors)
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportResult {
+
+    private final long line; // 1부터
+    private final Long id;
+    private final List<ItemImportError> errors;
+
+    ItemImportResult(long line, Long id, List<ItemImportError> errors) {
+        this.line = line;
+        this.id = id;
+        this.errors = errors;
+    }
+}
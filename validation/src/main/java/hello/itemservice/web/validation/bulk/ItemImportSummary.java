@@ -0,0 +1,20 @@
+package hello.itemservice.web.validation.bulk;
+
+import lombok.Getter;
+
+/**
+ * 가져오기 전체 결과 (응답 마지막 줄)
+ */
+@Getter
+public class ItemImportSummary {
+
+    private final long total; // 빈 줄 제외
+    private final long saved;
+    private final long failed;
+
+    ItemImportSummary(long total, long saved, long failed) {
+        this.total = total;
+        this.saved = saved;
+        this.failed = failed;
+    }
+}
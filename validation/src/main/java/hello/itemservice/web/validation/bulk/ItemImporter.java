@@ -0,0 +1,335 @@
+package hello.itemservice.web.validation.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.plan.CachingValidator;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 상품 일괄 가져오기 (NDJSON: 한 줄에 ItemSaveForm 하나)
+ * batch-size 줄씩 읽어서 fork-join pool에서 나눠 파싱, 검증(V4 폼과 같은 Bean Validation)하고,
+ * 통과한 줄은 한 번에 저장(saveAll)한 뒤 줄마다 결과를 써서 내보낸다.
+ * 한 번에 batch-size 줄만 들고 있고 max-line-length를 넘는 줄은 읽으면서 버리므로(오류로 남긴다)
+ * 본문이 아무리 커도 메모리 사용량은 일정하다.
+ * 실패한 줄만 빼고 저장한다 (전체를 되돌리지 않는다).
+ */
+@Component
+public class ItemImporter {
+
+    private static final int SPLIT_THRESHOLD = 64;
+
+    private final ItemRepository itemRepository;
+    private final CachingValidator validator;
+    private final MessageSource messageSource;
+    private final ObjectReader formReader;
+    private final ObjectWriter resultWriter;
+    private final MessageCodesResolver codesResolver;
+    private final int batchSize;
+    private final int maxLineLength;
+    private final ForkJoinPool pool;
+
+    public ItemImporter(ItemRepository itemRepository, CachingValidator validator, MessageSource messageSource,
+                        MessageCodesResolver codesResolver, ObjectMapper objectMapper,
+                        @Value("${item-import.batch-size:1000}") int batchSize,
+                        @Value("${item-import.parallelism:0}") int parallelism,
+                        @Value("${item-import.max-line-length:65536}") int maxLineLength) {
+        this.itemRepository = itemRepository;
+        this.validator = validator;
+        this.messageSource = messageSource;
+        this.codesResolver = codesResolver;
+        this.formReader = objectMapper.readerFor(ItemSaveForm.class);
+        // 줄마다 내보내지 않고 batch마다 내보낸다
+        this.resultWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * @param body NDJSON 본문 (빈 줄은 건너뛰지만 줄 번호는 센다, 줄 끝은 \n 또는 \r\n)
+     * @param out 줄마다 ItemImportResult, 마지막 줄에 ItemImportSummary (NDJSON)
+     */
+    public ItemImportSummary importItems(Reader body, Writer out, Locale locale) throws IOException {
+        LineReader reader = new LineReader(body, maxLineLength);
+        Batch batch = new Batch(batchSize, locale);
+        long lineNumber = 0;
+        long total = 0;
+        long saved = 0;
+
+        while (true) {
+            int count = 0;
+            String line;
+            long firstLine = lineNumber + 1;
+            while (count < batchSize && (line = reader.readLine()) != null) {
+                batch.tooLong[count] = reader.tooLong;
+                batch.lines[count++] = line;
+                lineNumber++;
+            }
+            if (count == 0) {
+                break;
+            }
+
+            batch.count = count;
+            pool.invoke(new ValidateTask(batch, 0, count));
+
+            List<Item> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (batch.items[i] != null) {
+                    items.add(batch.items[i]);
+                }
+            }
+            itemRepository.saveAll(items);
+            saved += items.size();
+
+            for (int i = 0; i < count; i++) {
+                if (batch.lines[i].isBlank() && !batch.tooLong[i]) {
+                    continue;
+                }
+                total++;
+                Long id = batch.items[i] != null ? batch.items[i].getId() : null;
+                write(out, new ItemImportResult(firstLine + i, id, batch.errors.get(i)));
+            }
+            out.flush();
+            batch.clear();
+        }
+
+        ItemImportSummary summary = new ItemImportSummary(total, saved, total - saved);
+        write(out, summary);
+        out.flush();
+        return summary;
+    }
+
+    private void write(Writer out, Object value) throws IOException {
+        out.write(resultWriter.writeValueAsString(value));
+        out.write('\n');
+    }
+
+    /**
+     * 한 줄 파싱, 검증 (fork-join 작업에서 호출)
+     */
+    private void validate(Batch batch, int i) {
+        if (batch.tooLong[i]) {
+            batch.errors.set(i, List.of(new ItemImportError(null, "lineTooLong",
+                    "line longer than " + maxLineLength + " characters")));
+            return;
+        }
+        String line = batch.lines[i];
+        if (line.isBlank()) {
+            return;
+        }
+
+        ItemSaveForm form;
+        try {
+            form = formReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            batch.errors.set(i, List.of(parseError(e, batch.locale)));
+            return;
+        }
+
+        BindingResult bindingResult = new BeanPropertyBindingResult(form, ItemRules.OBJECT_NAME);
+        validator.validate(form, bindingResult);
+        if (bindingResult.hasErrors()) {
+            List<ItemImportError> errors = new ArrayList<>(bindingResult.getErrorCount());
+            for (ObjectError error : bindingResult.getAllErrors()) {
+                String field = error instanceof FieldError ? ((FieldError) error).getField() : null;
+                errors.add(new ItemImportError(field, error.getCode(), message(error, batch.locale)));
+            }
+            batch.errors.set(i, errors);
+            return;
+        }
+
+        batch.items[i] = new Item(form.getItemName(), form.getPrice(), form.getQuantity());
+    }
+
+    private ItemImportError parseError(JsonProcessingException e, Locale locale) {
+        // "price": "abc" 처럼 필드 타입이 맞지 않으면 폼과 같은 typeMismatch 메시지
+        if (e instanceof MismatchedInputException) {
+            List<JsonMappingException.Reference> path = ((MismatchedInputException) e).getPath();
+            String field = !path.isEmpty() ? path.get(path.size() - 1).getFieldName() : null;
+            Class<?> fieldType = field != null ? BeanUtils.findPropertyType(field, ItemSaveForm.class) : null;
+            if (field != null && fieldType != Object.class) {
+                String[] codes = codesResolver.resolveMessageCodes("typeMismatch", ItemRules.OBJECT_NAME, field, fieldType);
+                return new ItemImportError(field, "typeMismatch",
+                        message(new DefaultMessageSourceResolvable(codes, e.getOriginalMessage()), locale));
+            }
+        }
+        return new ItemImportError(null, "invalidJson", e.getOriginalMessage());
+    }
+
+    private String message(MessageSourceResolvable resolvable, Locale locale) {
+        try {
+            return messageSource.getMessage(resolvable, locale);
+        } catch (NoSuchMessageException e) {
+            String[] codes = resolvable.getCodes();
+            return codes != null && codes.length > 0 ? codes[codes.length - 1] : null;
+        }
+    }
+
+    /**
+     * 읽은 줄과 결과 (가져오기 하나가 batch마다 다시 쓴다)
+     */
+    private static final class Batch {
+
+        final String[] lines;
+        final boolean[] tooLong;
+        final Item[] items;
+        // 크기가 고정된 목록, 작업마다 자기 칸만 set 한다
+        final List<List<ItemImportError>> errors;
+        final Locale locale;
+        int count;
+
+        Batch(int size, Locale locale) {
+            this.lines = new String[size];
+            this.tooLong = new boolean[size];
+            this.items = new Item[size];
+            this.errors = new ArrayList<>(Collections.nCopies(size, null));
+            this.locale = locale;
+        }
+
+        void clear() {
+            for (int i = 0; i < count; i++) {
+                lines[i] = null;
+                tooLong[i] = false;
+                items[i] = null;
+                errors.set(i, null);
+            }
+            count = 0;
+        }
+    }
+
+    /**
+     * 길이를 제한해서 한 줄씩 읽는다 (BufferedReader.readLine은 줄이 아무리 길어도 모두 메모리에 올린다)
+     * maxLength를 넘는 줄은 줄 끝까지 읽어서 버리고 빈 문자열과 tooLong을 돌려준다.
+     */
+    private static final class LineReader {
+
+        private final Reader reader;
+        private final int maxLength;
+        private final char[] buffer = new char[8192];
+        private final StringBuilder line = new StringBuilder();
+        private int position;
+        private int limit;
+        // 마지막으로 읽은 줄이 maxLength를 넘었는지
+        boolean tooLong;
+
+        LineReader(Reader reader, int maxLength) {
+            this.reader = reader;
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * @return 끝이면 null
+         */
+        String readLine() throws IOException {
+            line.setLength(0);
+            tooLong = false;
+            boolean read = false;
+            while (true) {
+                if (position == limit) {
+                    position = 0;
+                    limit = Math.max(reader.read(buffer, 0, buffer.length), 0);
+                    if (limit == 0) {
+                        return read ? finish() : null;
+                    }
+                }
+                read = true;
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                append(start, position);
+                if (position < limit) {
+                    position++;
+                    return finish();
+                }
+            }
+        }
+
+        private void append(int start, int end) {
+            if (tooLong) {
+                return;
+            }
+            // 줄 끝의 \r 한 글자까지 허용
+            if (line.length() + (end - start) > maxLength + 1) {
+                tooLong = true;
+                line.setLength(0);
+                return;
+            }
+            line.append(buffer, start, end - start);
+        }
+
+        private String finish() {
+            int length = line.length();
+            if (length > 0 && line.charAt(length - 1) == '\r') {
+                length--;
+            }
+            if (length > maxLength) {
+                tooLong = true;
+            }
+            return tooLong ? "" : line.substring(0, length);
+        }
+    }
+
+    private final class ValidateTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Batch batch; // 직렬화하지 않는다 (풀 안에서만 실행)
+        private final int from;
+        private final int to;
+
+        ValidateTask(Batch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    validate(batch, i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ValidateTask(batch, from, middle), new ValidateTask(batch, middle, to));
+        }
+    }
+}
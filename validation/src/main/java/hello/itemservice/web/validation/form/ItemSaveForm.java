@@ -8,7 +8,8 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
-public class ItemSaveForm {
+@TotalPriceMin(10000) // 특정 필드가 아닌 복합 룰 (totalPriceMin)
+public class ItemSaveForm implements PriceQuantity {
 
     @NotBlank
     private String itemName;
@@ -8,7 +8,8 @@ import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.NotNull;
 
 @Data
-public class ItemUpdateForm {
+@TotalPriceMin(10000) // 특정 필드가 아닌 복합 룰 (totalPriceMin)
+public class ItemUpdateForm implements PriceQuantity {
 
     @NotNull // 수정 요구사항 추가
     private Long id;
@@ -23,4 +24,7 @@ public class ItemUpdateForm {
     // 수정에서는 수량 자유롭게 변경 가능 (수량 무제한, null 가능)
     private Integer quantity;
 
+    // 수정 화면을 연 시점의 version (다른 요청이 먼저 수정했는지 확인)
+    private Long version;
+
 }
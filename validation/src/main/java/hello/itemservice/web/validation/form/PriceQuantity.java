@@ -0,0 +1,11 @@
+package hello.itemservice.web.validation.form;
+
+/**
+ * 가격 * 수량 복합 룰(@TotalPriceMin)을 적용할 수 있는 대상
+ */
+public interface PriceQuantity {
+
+    Integer getPrice();
+
+    Integer getQuantity();
+}
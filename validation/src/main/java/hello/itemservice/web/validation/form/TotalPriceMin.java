@@ -0,0 +1,34 @@
+package hello.itemservice.web.validation.form;
+
+import javax.validation.Constraint;
+import javax.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * 가격 * 수량의 최소값 (오브젝트 오류)
+ * @ScriptAssert("_this.price * _this.quantity >= 10000") 대신 쓴다.
+ * 스크립트 엔진 없이 TotalPriceMinValidator가 PriceQuantity의 getter로 바로 계산한다.
+ * 가격이나 수량이 null 이면 검증하지 않는다 (필드의 @NotNull이 검증).
+ * 오류는 컨트롤러에서 직접 reject 하던 것과 같이 totalPriceMin, {value, 현재 값}으로 남는다 (CachingValidator).
+ */
+@Documented
+@Target(TYPE)
+@Retention(RUNTIME)
+@Constraint(validatedBy = TotalPriceMinValidator.class)
+public @interface TotalPriceMin {
+
+    String CODE = "totalPriceMin";
+
+    String message() default "가격 * 수량의 합은 {value}원 이상이어야 합니다. 현재 값 = {current}";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+
+    int value();
+}
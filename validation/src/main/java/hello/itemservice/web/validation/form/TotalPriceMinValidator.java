@@ -0,0 +1,35 @@
+package hello.itemservice.web.validation.form;
+
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+
+public class TotalPriceMinValidator implements ConstraintValidator<TotalPriceMin, PriceQuantity> {
+
+    private int min;
+
+    @Override
+    public void initialize(TotalPriceMin constraintAnnotation) {
+        this.min = constraintAnnotation.value();
+    }
+
+    @Override
+    public boolean isValid(PriceQuantity value, ConstraintValidatorContext context) {
+        if (value == null || value.getPrice() == null || value.getQuantity() == null) {
+            return true;
+        }
+        // int 곱셈은 넘칠 수 있으므로 long으로 계산
+        long total = (long) value.getPrice() * value.getQuantity();
+        if (total >= min) {
+            return true;
+        }
+        if (context instanceof HibernateConstraintValidatorContext) {
+            // 현재 값은 오류 인자로도 쓴다 (CachingValidator)
+            context.unwrap(HibernateConstraintValidatorContext.class)
+                    .addMessageParameter("current", total)
+                    .withDynamicPayload(total);
+        }
+        return false;
+    }
+}
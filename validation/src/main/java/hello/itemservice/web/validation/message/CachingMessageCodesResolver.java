@@ -0,0 +1,66 @@
+package hello.itemservice.web.validation.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 만든 메시지 코드를 기억하는 MessageCodesResolver
+ * required.item.itemName, required.itemName, required.java.lang.String, required 처럼
+ * 오류마다 문자열을 이어 붙이지 않고 (오류 코드, 객체 이름, 필드, 필드 타입)마다 한 번만 만든다.
+ * 같은 배열을 돌려주므로 받은 쪽에서 바꾸면 안 된다 (FieldError, ObjectError는 바꾸지 않는다).
+ * maxEntries 개를 넘으면 더 기억하지 않고 매번 만든다.
+ */
+public class CachingMessageCodesResolver implements MessageCodesResolver {
+
+    private final MessageCodesResolver delegate;
+    private final int maxEntries;
+    private final Map<Key, String[]> cache = new ConcurrentHashMap<>();
+
+    public CachingMessageCodesResolver(int maxEntries) {
+        this(new DefaultMessageCodesResolver(), maxEntries);
+    }
+
+    public CachingMessageCodesResolver(MessageCodesResolver delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName) {
+        return resolve(new Key(errorCode, objectName, null, null));
+    }
+
+    @Override
+    public String[] resolveMessageCodes(String errorCode, String objectName, String field, Class<?> fieldType) {
+        return resolve(new Key(errorCode, objectName, field, fieldType));
+    }
+
+    private String[] resolve(Key key) {
+        String[] codes = cache.get(key);
+        if (codes != null) {
+            return codes;
+        }
+        codes = key.field == null
+                ? delegate.resolveMessageCodes(key.errorCode, key.objectName)
+                : delegate.resolveMessageCodes(key.errorCode, key.objectName, key.field, key.fieldType);
+        if (cache.size() < maxEntries) {
+            String[] previous = cache.putIfAbsent(key, codes);
+            return previous != null ? previous : codes;
+        }
+        return codes;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class Key {
+        private final String errorCode;
+        private final String objectName;
+        private final String field; // 글로벌 오류는 null
+        private final Class<?> fieldType;
+    }
+}
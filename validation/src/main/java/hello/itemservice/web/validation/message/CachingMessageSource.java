@@ -0,0 +1,176 @@
+package hello.itemservice.web.validation.message;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 찾은 메시지와 메시지 형식을 기억하는 MessageSource
+ * (코드, 로케일)마다 찾은 메시지 (없으면 없다는 것도), 오류의 코드 목록마다 처음 찾은 메시지를 기억해서
+ * 다음부터는 번들을 다시 찾거나 메시지 형식을 다시 만들지 않는다 (MessageTemplate, 잠그지 않는다).
+ * 메시지가 없으면 인자 없는 기본 메시지만 바로 돌려주고, 나머지(기본 메시지 형식, 예외)는 원래 MessageSource에 맡긴다.
+ * 항상 MessageFormat을 쓰거나(always-use-message-format) 코드를 기본 메시지로 쓰는 설정에서는 쓰지 않는다.
+ * 번들을 다시 읽지 않는 설정(cache-duration 없음)에서만 쓴다.
+ * 로케일은 요청 헤더에서 오므로 maxEntries 개를 넘으면 더 기억하지 않는다.
+ */
+@Slf4j
+public class CachingMessageSource implements MessageSource {
+
+    private static final MessageTemplate MISSING = MessageTemplate.compile("", Locale.ROOT);
+
+    private final MessageSource delegate;
+    private final int maxEntries;
+    private final Map<CodeKey, MessageTemplate> codeTemplates = new ConcurrentHashMap<>();
+    private final Map<CodesKey, MessageTemplate> codesTemplates = new ConcurrentHashMap<>();
+
+    public CachingMessageSource(MessageSource delegate, int maxEntries) {
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 시작할 때 코드마다 메시지를 미리 찾아 둔다
+     */
+    public void warmUp(Collection<String> codes, Collection<Locale> locales) {
+        for (Locale locale : locales) {
+            for (String code : codes) {
+                template(code, locale);
+            }
+        }
+        log.info("message cache warmed up codes={}, locales={}", codes.size(), locales);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, String defaultMessage, Locale locale) {
+        MessageTemplate template = template(code, locale);
+        if (template == MISSING) {
+            return delegate.getMessage(code, args, defaultMessage, locale);
+        }
+        return format(template, args, locale);
+    }
+
+    @Override
+    public String getMessage(String code, Object[] args, Locale locale) throws NoSuchMessageException {
+        MessageTemplate template = template(code, locale);
+        if (template == MISSING) {
+            return delegate.getMessage(code, args, locale);
+        }
+        return format(template, args, locale);
+    }
+
+    @Override
+    public String getMessage(MessageSourceResolvable resolvable, Locale locale) throws NoSuchMessageException {
+        String[] codes = resolvable.getCodes();
+        if (codes != null && codes.length > 0) {
+            MessageTemplate template = codes.length == 1 ? template(codes[0], locale) : template(codes, locale);
+            if (template != MISSING) {
+                return format(template, resolvable.getArguments(), locale);
+            }
+        }
+        // Bean Validation 오류 인자의 필드 이름처럼 인자 없는 기본 메시지는 그대로 쓴다
+        String defaultMessage = resolvable.getDefaultMessage();
+        if (defaultMessage != null && (isEmpty(resolvable.getArguments())
+                || resolvable instanceof DefaultMessageSourceResolvable
+                && !((DefaultMessageSourceResolvable) resolvable).shouldRenderDefaultMessage())) {
+            return defaultMessage;
+        }
+        return delegate.getMessage(resolvable, locale);
+    }
+
+    private MessageTemplate template(String code, Locale locale) {
+        // ResourceBundleMessageSource와 같이 로케일이 없으면 기본 로케일
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        CodeKey key = new CodeKey(code, locale);
+        MessageTemplate cached = codeTemplates.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // 인자 없이 찾으면 MessageFormat을 거치지 않은 메시지 그대로 돌려준다
+        String message = delegate.getMessage(code, null, null, locale);
+        if (message == null) {
+            return remember(codeTemplates, key, MISSING);
+        }
+        MessageTemplate template = MessageTemplate.compile(message, locale);
+        if (!template.isValid()) {
+            // 잘못된 메시지 형식은 기억하지 않고 원래 MessageSource가 처리한다
+            return MISSING;
+        }
+        return remember(codeTemplates, key, template);
+    }
+
+    private MessageTemplate template(String[] codes, Locale locale) {
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        CodesKey key = new CodesKey(codes, locale);
+        MessageTemplate template = codesTemplates.get(key);
+        if (template != null) {
+            return template;
+        }
+        template = MISSING;
+        for (String code : codes) {
+            template = template(code, locale);
+            if (template != MISSING) {
+                break;
+            }
+        }
+        return remember(codesTemplates, key, template);
+    }
+
+    private <K> MessageTemplate remember(Map<K, MessageTemplate> cache, K key, MessageTemplate template) {
+        if (cache.size() < maxEntries) {
+            MessageTemplate previous = cache.putIfAbsent(key, template);
+            return previous != null ? previous : template;
+        }
+        return template;
+    }
+
+    private String format(MessageTemplate template, Object[] args, Locale locale) {
+        if (isEmpty(args)) {
+            return template.getMessage();
+        }
+        return template.format(resolveArguments(args, locale), locale != null ? locale : Locale.getDefault());
+    }
+
+    private static boolean isEmpty(Object[] args) {
+        return args == null || args.length == 0;
+    }
+
+    private Object[] resolveArguments(Object[] args, Locale locale) {
+        Object[] resolved = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof MessageSourceResolvable) {
+                if (resolved == null) {
+                    resolved = args.clone();
+                }
+                resolved[i] = getMessage((MessageSourceResolvable) args[i], locale);
+            }
+        }
+        return resolved != null ? resolved : args;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class CodeKey {
+        private final String code;
+        private final Locale locale;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class CodesKey {
+        private final String[] codes;
+        private final Locale locale;
+    }
+}
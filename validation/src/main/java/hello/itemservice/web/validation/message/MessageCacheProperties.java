@@ -0,0 +1,25 @@
+package hello.itemservice.web.validation.message;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 검증 오류 메시지 캐시 설정 (message-cache.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "message-cache")
+public class MessageCacheProperties {
+
+    private boolean enabled = true;
+
+    // 시작할 때 메시지 번들(spring.messages.basename)의 코드를 미리 찾아 둘 로케일
+    private List<Locale> warmUpLocales = List.of(Locale.KOREAN, Locale.ENGLISH);
+
+    // 메시지 코드, 메시지 캐시마다 최대 항목 수 (넘으면 기억하지 않고 매번 찾는다)
+    private int maxEntries = 10000;
+}
@@ -0,0 +1,85 @@
+package hello.itemservice.web.validation.message;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.MessageCodesResolver;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 메시지 코드, 메시지를 기억하는 MessageCodesResolver, MessageSource 등록
+ * messageSource는 스프링 부트 자동 설정(MessageSourceAutoConfiguration)과 같이 spring.messages.* 로 만들고
+ * (messages.preload 이면 시작할 때 번들을 모두 읽어 두는 PreloadedMessageSource)
+ * message-cache.enabled 이면 CachingMessageSource로 감싼다.
+ */
+@Slf4j
+@Configuration
+public class MessageSourceConfig {
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.messages")
+    public MessageSourceProperties messageSourceProperties() {
+        return new MessageSourceProperties();
+    }
+
+    @Bean
+    public MessageSource messageSource(MessageSourceProperties properties, MessageCacheProperties cacheProperties,
+                                       @Value("${messages.preload:true}") boolean preload) throws IOException {
+        MessageSource messageSource = preload && properties.getCacheDuration() == null
+                ? new PreloadedMessageSource(properties) : resourceBundleMessageSource(properties);
+
+        // 번들을 다시 읽거나, 없는 코드를 코드 그대로 돌려주거나, 항상 MessageFormat을 쓰면 캐시와 결과가 달라진다
+        if (!cacheProperties.isEnabled() || properties.getCacheDuration() != null
+                || properties.isUseCodeAsDefaultMessage() || properties.isAlwaysUseMessageFormat()) {
+            return messageSource;
+        }
+
+        CachingMessageSource cachingMessageSource = new CachingMessageSource(messageSource, cacheProperties.getMaxEntries());
+        cachingMessageSource.warmUp(codesOf(basenames(properties)), cacheProperties.getWarmUpLocales());
+        return cachingMessageSource;
+    }
+
+    private static ResourceBundleMessageSource resourceBundleMessageSource(MessageSourceProperties properties) {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(basenames(properties));
+        if (properties.getEncoding() != null) {
+            messageSource.setDefaultEncoding(properties.getEncoding().name());
+        }
+        messageSource.setFallbackToSystemLocale(properties.isFallbackToSystemLocale());
+        if (properties.getCacheDuration() != null) {
+            messageSource.setCacheMillis(properties.getCacheDuration().toMillis());
+        }
+        messageSource.setAlwaysUseMessageFormat(properties.isAlwaysUseMessageFormat());
+        messageSource.setUseCodeAsDefaultMessage(properties.isUseCodeAsDefaultMessage());
+        return messageSource;
+    }
+
+    @Bean
+    public MessageCodesResolver messageCodesResolver(MessageCacheProperties cacheProperties) {
+        return new CachingMessageCodesResolver(cacheProperties.isEnabled() ? cacheProperties.getMaxEntries() : 0);
+    }
+
+    private static String[] basenames(MessageSourceProperties properties) {
+        return StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(properties.getBasename()));
+    }
+
+    private static Set<String> codesOf(String[] basenames) throws IOException {
+        Set<String> codes = new LinkedHashSet<>();
+        for (String basename : basenames) {
+            PropertiesLoaderUtils.loadAllProperties(basename.replace('.', '/') + ".properties")
+                    .stringPropertyNames()
+                    .forEach(codes::add);
+        }
+        return codes;
+    }
+}
@@ -0,0 +1,156 @@
+package hello.itemservice.web.validation.plan;
+
+import hello.itemservice.web.validation.form.TotalPriceMin;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.validator.engine.HibernateConstraintViolation;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 검증 계획을 기억하는 Bean Validation 검증기 (@Validated, @Valid 에서 쓰는 mvcValidator)
+ * (대상 클래스, 그룹)마다 처음 한 번 Bean Validation 메타데이터(BeanDescriptor)를 보고
+ * 그 그룹에 해당하는 제약이 있는지, 넘길 그룹 배열을 정해 둔다.
+ * 제약이 없으면 (애노테이션 없이 ItemRules로 검증하는 Item 등) Hibernate Validator를 부르지 않는다.
+ * 클래스와 그룹은 코드에 적힌 것뿐이므로 따로 개수를 제한하지 않는다.
+ * 복합 룰(@TotalPriceMin) 오류는 errors.properties의 totalPriceMin 메시지를 쓰도록 코드와 인자를 바꿔 남긴다.
+ */
+@Component
+public class CachingValidator implements SmartValidator {
+
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
+    private final SpringValidatorAdapter delegate;
+    private final Map<PlanKey, Plan> plans = new ConcurrentHashMap<>();
+
+    public CachingValidator(javax.validation.Validator targetValidator) {
+        this.delegate = new RuleErrorsAdapter(targetValidator);
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        validate(target, errors, new Object[0]);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        Plan plan = plan(target.getClass(), validationHints);
+        if (plan.isConstrained()) {
+            delegate.validate(target, errors, (Object[]) plan.getGroups());
+        }
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                              Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    /**
+     * (대상 클래스, 검증 힌트)의 검증 계획, 없으면 메타데이터를 읽어서 만든다
+     */
+    public Plan plan(Class<?> type, Object... validationHints) {
+        Object[] hints = validationHints != null ? validationHints : new Object[0];
+        Plan plan = plans.get(new PlanKey(type, hints));
+        if (plan != null) {
+            return plan;
+        }
+        return plans.computeIfAbsent(new PlanKey(type, hints.clone()), key -> createPlan(type, hints));
+    }
+
+    public int size() {
+        return plans.size();
+    }
+
+    private Plan createPlan(Class<?> type, Object[] hints) {
+        // SpringValidatorAdapter와 같이 Class 힌트만 그룹으로 쓴다
+        Class<?>[] groups = Arrays.stream(hints)
+                .filter(Class.class::isInstance)
+                .toArray(Class<?>[]::new);
+        BeanDescriptor descriptor = delegate.getConstraintsForClass(type);
+        return new Plan(groups, hasConstraints(descriptor, groups.length > 0 ? groups : DEFAULT_GROUPS));
+    }
+
+    /**
+     * 그룹 상속, 그룹 순서(@GroupSequence)는 ConstraintFinder가 반영한다
+     */
+    private static boolean hasConstraints(BeanDescriptor descriptor, Class<?>[] groups) {
+        if (!descriptor.isBeanConstrained()) {
+            return false;
+        }
+        if (descriptor.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()) {
+            return true;
+        }
+        for (PropertyDescriptor property : descriptor.getConstrainedProperties()) {
+            // @Valid 로 이어지는 객체, List<@NotBlank String> 같은 컨테이너 요소는 Hibernate Validator에 맡긴다
+            if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()
+                    || property.findConstraints().unorderedAndMatchingGroups(groups).hasConstraints()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bean Validation 오류를 Errors에 옮긴다
+     * 기본은 애노테이션 이름(TotalPriceMin)이 코드, 애노테이션 속성이 인자이지만
+     * @TotalPriceMin은 컨트롤러에서 reject 하던 것과 같이 totalPriceMin, {최소값, 현재 값}으로 남긴다.
+     */
+    private static final class RuleErrorsAdapter extends SpringValidatorAdapter {
+
+        RuleErrorsAdapter(javax.validation.Validator targetValidator) {
+            super(targetValidator);
+        }
+
+        @Override
+        protected void processConstraintViolations(Set<ConstraintViolation<Object>> violations, Errors errors) {
+            Set<ConstraintViolation<Object>> others = new LinkedHashSet<>();
+            for (ConstraintViolation<Object> violation : violations) {
+                Annotation constraint = violation.getConstraintDescriptor().getAnnotation();
+                if (constraint instanceof TotalPriceMin) {
+                    // 현재 값은 TotalPriceMinValidator가 계산해서 넘긴다
+                    HibernateConstraintViolation<?> hibernateViolation = violation.unwrap(HibernateConstraintViolation.class);
+                    Long current = hibernateViolation.getDynamicPayload(Long.class);
+                    errors.reject(TotalPriceMin.CODE, new Object[]{((TotalPriceMin) constraint).value(), current},
+                            violation.getMessage());
+                } else {
+                    others.add(violation);
+                }
+            }
+            super.processConstraintViolations(others, errors);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Plan {
+        private final Class<?>[] groups; // Hibernate Validator에 넘길 그룹 (비어 있으면 Default)
+        private final boolean constrained;
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class PlanKey {
+        private final Class<?> type;
+        private final Object[] hints;
+    }
+}
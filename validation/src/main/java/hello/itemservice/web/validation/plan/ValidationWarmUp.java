@@ -0,0 +1,111 @@
+package hello.itemservice.web.validation.plan;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.annotation.ValidationAnnotationUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 시작할 때 (톰캣이 요청을 받기 전) 컨트롤러의 @Validated, @Valid 대상을 모두 미리 검증해 둔다
+ * 첫 요청이 Hibernate Validator의 메타데이터 분석(클래스, 그룹마다), ConstraintValidator 초기화,
+ * 메시지 보간 비용을 내지 않도록, (대상 클래스, 그룹)마다 CachingValidator의 검증 계획을 만들고
+ * 기본 생성자로 만든 빈 객체를 한 번 검증한다.
+ */
+@Slf4j
+@Component
+public class ValidationWarmUp implements SmartInitializingSingleton {
+
+    private final CachingValidator validator;
+    private final ObjectProvider<RequestMappingHandlerMapping> handlerMappings;
+    private final boolean enabled;
+
+    public ValidationWarmUp(CachingValidator validator, ObjectProvider<RequestMappingHandlerMapping> handlerMappings,
+                            @Value("${bean-validation.warm-up:true}") boolean enabled) {
+        this.validator = validator;
+        this.handlerMappings = handlerMappings;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Map<Class<?>, List<Object[]>> targets = new LinkedHashMap<>();
+        handlerMappings.orderedStream()
+                .flatMap(mapping -> mapping.getHandlerMethods().values().stream())
+                .forEach(handlerMethod -> collect(handlerMethod, targets));
+
+        int count = 0;
+        for (Map.Entry<Class<?>, List<Object[]>> target : targets.entrySet()) {
+            for (Object[] hints : target.getValue()) {
+                warmUp(target.getKey(), hints);
+                count++;
+            }
+        }
+        log.info("bean validation warmed up targets={}, plans={} ({}ms)",
+                count, validator.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 검증 애노테이션이 붙은 파라미터의 (타입, 검증 힌트), MVC(ModelAttribute, RequestBody)와 같은 규칙으로 힌트를 정한다
+     */
+    private static void collect(HandlerMethod handlerMethod, Map<Class<?>, List<Object[]>> targets) {
+        for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+            for (Annotation annotation : parameter.getParameterAnnotations()) {
+                Object[] hints = ValidationAnnotationUtils.determineValidationHints(annotation);
+                if (hints == null) {
+                    continue;
+                }
+                List<Object[]> hintsOfType = targets.computeIfAbsent(parameter.getParameterType(),
+                        type -> new ArrayList<>());
+                if (hintsOfType.stream().noneMatch(existing -> Arrays.equals(existing, hints))) {
+                    hintsOfType.add(hints);
+                }
+                break;
+            }
+        }
+    }
+
+    private void warmUp(Class<?> type, Object[] hints) {
+        try {
+            CachingValidator.Plan plan = validator.plan(type, hints);
+            Object target = plan.isConstrained() ? newInstance(type) : null;
+            if (target != null) {
+                validator.validate(target, new BeanPropertyBindingResult(target, "warmUp"), hints);
+            }
+        } catch (RuntimeException e) {
+            // 미리 하지 못해도 첫 요청에서 하면 되므로 시작은 계속한다
+            log.warn("bean validation warm-up failed type={}", type.getName(), e);
+        }
+    }
+
+    private static Object newInstance(Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            return null;
+        }
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor();
+            return Modifier.isPublic(constructor.getModifiers()) ? BeanUtils.instantiateClass(constructor) : null;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package hello.itemservice.web.validation.rule;
+
+import hello.itemservice.web.validation.rule.ValidationRules.Kind;
+import hello.itemservice.web.validation.rule.ValidationRules.Rule;
+import org.springframework.util.StringUtils;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.Validator;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 배열로 펼친 검증 규칙
+ * 규칙마다 종류, 값 꺼내기, 경계 값을 배열에 두고 한 번의 반복으로 확인한다.
+ * 메시지 코드와 (고정) 오류 인자는 compile 할 때 만들어 두고 오류마다 같은 배열을 쓴다.
+ * 통과하면 아무것도 만들지 않는다 (오류가 있을 때만 FieldError, ObjectError를 만든다).
+ * 타입 변환에 실패한 필드는 검증하지 않는다 (typeMismatch 오류만 남긴다).
+ */
+public final class CompiledRules<T> implements Validator {
+
+    private final Class<T> type;
+    private final String objectName;
+    private final int size;
+
+    private final Kind[] kinds;
+    private final String[] fields;
+    private final Function<Object, ?>[] getters;
+    private final Function<Object, ?>[] otherGetters;
+    private final long[] mins;
+    private final long[] maxs;
+    private final boolean[] nullValid;
+    private final boolean[] firstOfField;
+    // 실패하거나 건너뛰면 이동할 다음 필드의 첫 규칙
+    private final int[] nextField;
+
+    private final String[] codes;
+    private final String[][] messageCodes;
+    private final Object[][] arguments;
+    private final Object[] minArguments;
+
+    CompiledRules(Class<T> type, String objectName, List<Rule> rules, MessageCodesResolver codesResolver) {
+        this.type = type;
+        this.objectName = objectName;
+        this.size = rules.size();
+        this.kinds = new Kind[size];
+        this.fields = new String[size];
+        this.getters = newGetters(size);
+        this.otherGetters = newGetters(size);
+        this.mins = new long[size];
+        this.maxs = new long[size];
+        this.nullValid = new boolean[size];
+        this.firstOfField = new boolean[size];
+        this.nextField = new int[size];
+        this.codes = new String[size];
+        this.messageCodes = new String[size][];
+        this.arguments = new Object[size][];
+        this.minArguments = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            Rule rule = rules.get(i);
+            kinds[i] = rule.kind;
+            fields[i] = rule.field;
+            getters[i] = rule.getter;
+            otherGetters[i] = rule.otherGetter;
+            mins[i] = rule.min;
+            maxs[i] = rule.max;
+            nullValid[i] = rule.nullValid;
+            firstOfField[i] = rule.field != null && (i == 0 || !rule.field.equals(rules.get(i - 1).field));
+            codes[i] = rule.code;
+            if (rule.field == null) {
+                messageCodes[i] = codesResolver.resolveMessageCodes(rule.code, objectName);
+                minArguments[i] = box(rule.min);
+            } else {
+                messageCodes[i] = codesResolver.resolveMessageCodes(rule.code, objectName, rule.field, rule.fieldType);
+                arguments[i] = arguments(rule);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            int next = i + 1;
+            while (fields[i] != null && next < size && fields[i].equals(fields[next])) {
+                next++;
+            }
+            nextField[i] = next;
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return type.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        // 타입 변환 오류는 검증 전에만 생긴다
+        boolean bindingErrors = errors.hasErrors();
+        Object value = null;
+        int i = 0;
+        while (i < size) {
+            if (firstOfField[i]) {
+                if (bindingErrors && bindingFailed(errors, fields[i])) {
+                    i = nextField[i];
+                    continue;
+                }
+                // 같은 필드의 규칙은 한 번 꺼낸 값을 함께 쓴다
+                value = getters[i].apply(target);
+            } else if (fields[i] == null) {
+                value = getters[i].apply(target);
+            }
+            if (isValid(i, target, value)) {
+                i++;
+                continue;
+            }
+            reject(i, target, value, errors);
+            i = nextField[i];
+        }
+    }
+
+    private boolean isValid(int i, Object target, Object value) {
+        switch (kinds[i]) {
+            case NOT_NULL:
+                return value != null;
+            case NOT_BLANK:
+                return StringUtils.hasText((String) value);
+            case RANGE:
+                if (value == null) {
+                    return nullValid[i];
+                }
+                long number = ((Number) value).longValue();
+                return number >= mins[i] && number <= maxs[i];
+            case MIN_PRODUCT:
+                Object other = otherGetters[i].apply(target);
+                return value == null || other == null || product(value, other) >= mins[i];
+            default:
+                throw new IllegalStateException("unknown rule " + kinds[i]);
+        }
+    }
+
+    private void reject(int i, Object target, Object value, Errors errors) {
+        // 같은 이름의 최상위 객체면 미리 만든 코드로 오류를 바로 넣는다
+        boolean resolved = errors instanceof BindingResult
+                && objectName.equals(errors.getObjectName())
+                && errors.getNestedPath().isEmpty();
+        if (kinds[i] == Kind.MIN_PRODUCT) {
+            Object[] args = {minArguments[i], box(product(value, otherGetters[i].apply(target)))};
+            if (resolved) {
+                ((BindingResult) errors).addError(new ObjectError(objectName, messageCodes[i], args, null));
+            } else {
+                errors.reject(codes[i], args, null);
+            }
+            return;
+        }
+        if (resolved) {
+            ((BindingResult) errors).addError(
+                    new FieldError(objectName, fields[i], value, false, messageCodes[i], arguments[i], null));
+        } else {
+            errors.rejectValue(fields[i], codes[i], arguments[i], null);
+        }
+    }
+
+    private static boolean bindingFailed(Errors errors, String field) {
+        FieldError error = errors.getFieldError(field);
+        return error != null && error.isBindingFailure();
+    }
+
+    private static long product(Object first, Object second) {
+        // int 곱은 넘칠 수 있으므로 long으로 계산한다
+        return ((Number) first).longValue() * ((Number) second).longValue();
+    }
+
+    /**
+     * 범위 값만 ({min, max}, {max}) - errors.reject 형식
+     */
+    private static Object[] arguments(Rule rule) {
+        if (rule.kind != Kind.RANGE) {
+            return null;
+        }
+        return rule.min != Long.MIN_VALUE ? new Object[]{box(rule.min), box(rule.max)} : new Object[]{box(rule.max)};
+    }
+
+    private static Object box(long value) {
+        return value == (int) value ? Integer.valueOf((int) value) : Long.valueOf(value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, ?>[] newGetters(int size) {
+        return (Function<Object, ?>[]) new Function<?, ?>[size];
+    }
+}
@@ -0,0 +1,39 @@
+package hello.itemservice.web.validation.rule;
+
+import hello.itemservice.domain.item.Item;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+/**
+ * 상품 검증 규칙 (시작할 때 한 번 compile)
+ * ItemValidator를 대신하며 같은 오류 코드(required, range, max, totalPriceMin)를 남긴다.
+ * 폼(ItemSaveForm, ItemUpdateForm)은 애노테이션대로 Bean Validation으로 검증한다.
+ */
+@Component
+public class ItemRules implements Validator {
+
+    public static final String OBJECT_NAME = "item";
+    public static final int TOTAL_PRICE_MIN = 10000;
+
+    private final CompiledRules<Item> rules = item().compile(OBJECT_NAME, new DefaultMessageCodesResolver());
+
+    static ValidationRules<Item> item() {
+        return ValidationRules.forType(Item.class)
+                .notBlank("itemName", Item::getItemName, "required")
+                .range("price", Item::getPrice, 1000, 1000000, "range").requireValue()
+                .max("quantity", Item::getQuantity, 9999, "max").requireValue()
+                .minProduct(Item::getPrice, Item::getQuantity, TOTAL_PRICE_MIN, "totalPriceMin");
+    }
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return Item.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        rules.validate(target, errors);
+    }
+}
@@ -0,0 +1,120 @@
+package hello.itemservice.web.validation.rule;
+
+import org.springframework.validation.MessageCodesResolver;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 검증 규칙 선언
+ * 선언한 규칙은 compile()로 한 번 펼쳐 두고 CompiledRules로 검증한다.
+ * 한 필드의 규칙은 선언 순서대로 확인하고 처음 실패한 규칙 하나만 오류로 남긴다.
+ * range, max는 Bean Validation처럼 null을 허용한다 (null도 막으려면 requireValue()).
+ */
+public final class ValidationRules<T> {
+
+    enum Kind {
+        NOT_NULL, NOT_BLANK, RANGE, MIN_PRODUCT
+    }
+
+    static final class Rule {
+        final Kind kind;
+        final String field;
+        final Class<?> fieldType;
+        final Function<Object, ?> getter;
+        final Function<Object, ?> otherGetter;
+        final long min;
+        final long max;
+        final String code;
+        boolean nullValid;
+
+        Rule(Kind kind, String field, Class<?> fieldType, Function<Object, ?> getter, Function<Object, ?> otherGetter,
+             long min, long max, String code, boolean nullValid) {
+            this.kind = kind;
+            this.field = field;
+            this.fieldType = fieldType;
+            this.getter = getter;
+            this.otherGetter = otherGetter;
+            this.min = min;
+            this.max = max;
+            this.code = code;
+            this.nullValid = nullValid;
+        }
+    }
+
+    private final Class<T> type;
+    private final List<Rule> rules = new ArrayList<>();
+
+    private ValidationRules(Class<T> type) {
+        this.type = type;
+    }
+
+    public static <T> ValidationRules<T> forType(Class<T> type) {
+        return new ValidationRules<>(type);
+    }
+
+    public ValidationRules<T> notNull(String field, Class<?> fieldType, Function<? super T, ?> getter, String code) {
+        return add(new Rule(Kind.NOT_NULL, field, fieldType, erase(getter), null, 0, 0, code, false));
+    }
+
+    public ValidationRules<T> notBlank(String field, Function<? super T, String> getter, String code) {
+        return add(new Rule(Kind.NOT_BLANK, field, String.class, erase(getter), null, 0, 0, code, false));
+    }
+
+    public ValidationRules<T> range(String field, Function<? super T, Integer> getter, long min, long max, String code) {
+        return add(new Rule(Kind.RANGE, field, Integer.class, erase(getter), null, min, max, code, true));
+    }
+
+    public ValidationRules<T> max(String field, Function<? super T, Integer> getter, long max, String code) {
+        return add(new Rule(Kind.RANGE, field, Integer.class, erase(getter), null, Long.MIN_VALUE, max, code, true));
+    }
+
+    /**
+     * 두 필드 곱의 최솟값 (특정 필드가 아닌 복합 룰, 둘 중 하나라도 null이면 확인하지 않는다)
+     * 오류 인자는 {min, 현재 값}
+     */
+    public ValidationRules<T> minProduct(Function<? super T, Integer> first, Function<? super T, Integer> second,
+                                        long min, String code) {
+        return add(new Rule(Kind.MIN_PRODUCT, null, null, erase(first), erase(second), min, 0, code, true));
+    }
+
+    /**
+     * 직전 규칙이 null을 허용하지 않게 한다 (오류 코드와 인자는 그 규칙 그대로)
+     */
+    public ValidationRules<T> requireValue() {
+        rules.get(rules.size() - 1).nullValid = false;
+        return this;
+    }
+
+    /**
+     * 필드별로 모아 배열로 펼치고, 오류 코드와 인자를 미리 만들어 둔다
+     */
+    public CompiledRules<T> compile(String objectName, MessageCodesResolver codesResolver) {
+        Map<String, List<Rule>> byField = new LinkedHashMap<>();
+        List<Rule> global = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (rule.field == null) {
+                global.add(rule);
+            } else {
+                byField.computeIfAbsent(rule.field, field -> new ArrayList<>()).add(rule);
+            }
+        }
+        List<Rule> ordered = new ArrayList<>(rules.size());
+        byField.values().forEach(ordered::addAll);
+        ordered.addAll(global);
+        return new CompiledRules<>(type, objectName, ordered, codesResolver);
+    }
+
+    private ValidationRules<T> add(Rule rule) {
+        rules.add(rule);
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Object, ?> erase(Function<?, ?> getter) {
+        return (Function<Object, ?>) getter;
+    }
+}
@@ -0,0 +1,115 @@
+package hello.itemservice.message;
+
+import hello.itemservice.web.validation.message.CachingMessageSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.MessageSource;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MessageCodesResolver;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CachingMessageSourceTest {
+
+    static final Locale[] LOCALES = {Locale.KOREA, Locale.ENGLISH, Locale.FRANCE};
+
+    MessageSource plain = messageSource();
+    CachingMessageSource cached = new CachingMessageSource(messageSource(), 1000);
+
+    @Test
+    void sameMessagesAsResourceBundleMessageSource() {
+        cached.warmUp(Set.of("hello", "range.item.price", "totalPriceMin.item"), List.of(Locale.KOREAN));
+
+        for (Locale locale : LOCALES) {
+            // 두 번씩 찾아서 캐시에서 꺼낸 결과도 확인한다
+            for (int i = 0; i < 2; i++) {
+                for (MessageSourceResolvable error : errors()) {
+                    assertThat(cached.getMessage(error, locale)).as("%s %s", error, locale)
+                            .isEqualTo(plain.getMessage(error, locale));
+                }
+                assertThat(cached.getMessage("hello.name", new Object[]{"Spring"}, locale))
+                        .isEqualTo(plain.getMessage("hello.name", new Object[]{"Spring"}, locale));
+                assertThat(cached.getMessage("no_code", null, "기본 메시지", locale)).isEqualTo("기본 메시지");
+            }
+        }
+    }
+
+    @Test
+    void defaultLocale() {
+        // 로케일이 없으면 기본 로케일
+        for (int i = 0; i < 2; i++) {
+            assertThat(cached.getMessage("hello", null, null)).isEqualTo(plain.getMessage("hello", null, null));
+            assertThat(cached.getMessage("range.item.price", new Object[]{1000, 1000000}, null))
+                    .isEqualTo(plain.getMessage("range.item.price", new Object[]{1000, 1000000}, null));
+        }
+    }
+
+    @Test
+    void notFoundMessageCode() {
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cached.getMessage("no_code", null, null))
+                    .isInstanceOf(NoSuchMessageException.class);
+            assertThatThrownBy(() -> cached.getMessage(new DefaultMessageSourceResolvable("no_code"), null))
+                    .isInstanceOf(NoSuchMessageException.class);
+        }
+    }
+
+    @Test
+    void maxEntries() {
+        // 더 기억하지 않아도 결과는 같다
+        CachingMessageSource noCache = new CachingMessageSource(messageSource(), 0);
+        for (MessageSourceResolvable error : errors()) {
+            assertThat(noCache.getMessage(error, Locale.KOREA)).isEqualTo(plain.getMessage(error, Locale.KOREA));
+        }
+    }
+
+    private List<MessageSourceResolvable> errors() {
+        MessageCodesResolver codesResolver = new DefaultMessageCodesResolver();
+        List<MessageSourceResolvable> errors = new ArrayList<>();
+
+        // ItemValidator
+        errors.add(new FieldError("item", "itemName", " ", false,
+                codesResolver.resolveMessageCodes("required", "item", "itemName", String.class), null, null));
+        errors.add(new FieldError("item", "price", 10, false,
+                codesResolver.resolveMessageCodes("range", "item", "price", Integer.class), new Object[]{1000, 1000000}, null));
+        errors.add(new FieldError("item", "quantity", 10000, false,
+                codesResolver.resolveMessageCodes("max", "item", "quantity", Integer.class), new Object[]{9999}, null));
+        errors.add(new ObjectError("item",
+                codesResolver.resolveMessageCodes("totalPriceMin", "item"), new Object[]{10000, 100}, null));
+        errors.add(new FieldError("item", "price", "abc", true,
+                codesResolver.resolveMessageCodes("typeMismatch", "item", "price", Integer.class), null, null));
+
+        // Bean Validation (필드 이름 인자)
+        DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable(
+                new String[]{"item.price", "price"}, "price");
+        errors.add(new FieldError("item", "price", 10, false,
+                codesResolver.resolveMessageCodes("Range", "item", "price", Integer.class),
+                new Object[]{field, 1000000, 1000}, "must be between 1000 and 1000000"));
+        errors.add(new FieldError("item", "itemName", null, false,
+                codesResolver.resolveMessageCodes("NotNull", "item", "itemName", String.class),
+                new Object[]{field}, "must not be null"));
+
+        // 메시지가 없으면 기본 메시지
+        errors.add(new FieldError("item", "itemName", null, false,
+                codesResolver.resolveMessageCodes("Size", "item", "itemName", String.class),
+                new Object[]{field, 10, 1}, "size must be between {2} and {1}"));
+        return errors;
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
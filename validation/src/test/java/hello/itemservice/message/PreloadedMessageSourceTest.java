@@ -0,0 +1,130 @@
+package hello.itemservice.message;
+
+import hello.itemservice.web.validation.message.PreloadedMessageSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.context.MessageSourceProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.NoSuchMessageException;
+import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.validation.FieldError;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class PreloadedMessageSourceTest {
+
+    static final Locale[] LOCALES = {Locale.KOREA, Locale.KOREAN, Locale.ENGLISH, Locale.US, Locale.FRANCE,
+            Locale.GERMANY, Locale.ROOT, new Locale("en", "US", "POSIX")};
+
+    static final Object[][] ARGUMENTS = {null, {}, {"Spring"}, {1000, 1000000}, {-1234567L, 1.5},
+            {new BigDecimal("12345.678"), null}, {new DefaultMessageSourceResolvable(new String[]{"label.item"}, "item")}};
+
+    MessageSource plain = resourceBundleMessageSource();
+    MessageSource preloaded = new PreloadedMessageSource(properties());
+
+    @Test
+    void sameMessagesAsResourceBundleMessageSource() throws Exception {
+        for (String code : codes()) {
+            for (Locale locale : LOCALES) {
+                for (Object[] args : ARGUMENTS) {
+                    assertThat(preloaded.getMessage(code, args, locale)).as("%s %s", code, locale)
+                            .isEqualTo(plain.getMessage(code, args, locale));
+                }
+            }
+            assertThat(preloaded.getMessage(code, null, null)).isEqualTo(plain.getMessage(code, null, null));
+        }
+    }
+
+    @Test
+    void defaultMessage() {
+        String[] patterns = {"기본 메시지", "{0} ~ {1}", "it''s {0}", "'{0}' {1}", "{0,number,#} {1}", "{1} {0} {5}",
+                "{0,choice,0#none|1#one|1<many}", "{ 0 }", "{0"};
+        for (String pattern : patterns) {
+            for (Locale locale : LOCALES) {
+                for (Object[] args : ARGUMENTS) {
+                    // 형식에 맞지 않는 인자는 예외도 같아야 한다
+                    assertThat(outcome(() -> preloaded.getMessage("no_code", args, pattern, locale)))
+                            .as("%s %s", pattern, locale)
+                            .isEqualTo(outcome(() -> plain.getMessage("no_code", args, pattern, locale)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void resolvable() {
+        DefaultMessageSourceResolvable field = new DefaultMessageSourceResolvable(
+                new String[]{"item.price", "price"}, "price");
+        FieldError[] errors = {
+                new FieldError("item", "price", 10, false,
+                        new String[]{"range.item.price", "range.price", "range.java.lang.Integer", "range"},
+                        new Object[]{1000, 1000000}, null),
+                new FieldError("item", "price", 10, false,
+                        new String[]{"Range.item.price", "Range.price", "Range.java.lang.Integer", "Range"},
+                        new Object[]{field, 1000000, 1000}, "must be between {2} and {1}"),
+                new FieldError("item", "price", 10, false, new String[]{"no_code"}, null, "no_code")
+        };
+        for (Locale locale : LOCALES) {
+            for (FieldError error : errors) {
+                assertThat(preloaded.getMessage(error, locale)).as("%s %s", error, locale)
+                        .isEqualTo(plain.getMessage(error, locale));
+            }
+        }
+    }
+
+    @Test
+    void notFoundMessageCode() {
+        assertThatThrownBy(() -> preloaded.getMessage("no_code", null, null))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThatThrownBy(() -> preloaded.getMessage(new DefaultMessageSourceResolvable("no_code"), null))
+                .isInstanceOf(NoSuchMessageException.class);
+        assertThat(preloaded.getMessage("no_code", null, null, Locale.KOREA)).isNull();
+    }
+
+    @Test
+    void useCodeAsDefaultMessage() {
+        MessageSourceProperties properties = properties();
+        properties.setUseCodeAsDefaultMessage(true);
+        MessageSource messageSource = new PreloadedMessageSource(properties);
+
+        assertThat(messageSource.getMessage("no_code", null, Locale.KOREA)).isEqualTo("no_code");
+        assertThat(messageSource.getMessage(new DefaultMessageSourceResolvable("no_code"), Locale.KOREA))
+                .isEqualTo("no_code");
+    }
+
+    private static String outcome(Supplier<String> message) {
+        try {
+            return message.get();
+        } catch (IllegalArgumentException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private Set<String> codes() throws Exception {
+        Set<String> codes = new TreeSet<>();
+        for (String basename : new String[]{"messages", "messages_en", "errors"}) {
+            codes.addAll(PropertiesLoaderUtils.loadAllProperties(basename + ".properties").stringPropertyNames());
+        }
+        return codes;
+    }
+
+    private static MessageSourceProperties properties() {
+        MessageSourceProperties properties = new MessageSourceProperties();
+        properties.setBasename("messages, errors");
+        return properties;
+    }
+
+    private static ResourceBundleMessageSource resourceBundleMessageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
@@ -0,0 +1,154 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.domain.item.SaveCheck;
+import hello.itemservice.domain.item.UpdateCheck;
+import hello.itemservice.web.validation.form.ItemSaveForm;
+import hello.itemservice.web.validation.form.ItemUpdateForm;
+import hello.itemservice.web.validation.form.PriceQuantity;
+import hello.itemservice.web.validation.form.TotalPriceMin;
+import hello.itemservice.web.validation.plan.CachingValidator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.validator.constraints.Range;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingValidatorTest {
+
+    LocalValidatorFactoryBean beanValidator = beanValidator();
+    CachingValidator validator = new CachingValidator(beanValidator);
+
+    @AfterEach
+    void afterEach() {
+        beanValidator.close();
+    }
+
+    @Test
+    void sameErrorsAsBeanValidation() {
+        Object[][] hints = {{SaveCheck.class}, {UpdateCheck.class}, {}};
+        for (Object target : targets()) {
+            for (Object[] hint : hints) {
+                // 두 번씩 검증해서 기억한 계획으로 검증한 결과도 확인한다
+                for (int i = 0; i < 2; i++) {
+                    BindingResult expected = new BeanPropertyBindingResult(target, "item");
+                    beanValidator.validate(target, expected, hint);
+                    BindingResult actual = new BeanPropertyBindingResult(target, "item");
+                    validator.validate(target, actual, hint);
+
+                    assertThat(errors(actual)).as("%s %s", target, hint.length > 0 ? hint[0] : "Default")
+                            .containsExactlyInAnyOrderElementsOf(errors(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    void totalPriceMin() {
+        GroupedItem item = new GroupedItem("itemA", 1000, 5);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        validator.validate(item, bindingResult, SaveCheck.class);
+
+        ObjectError error = bindingResult.getGlobalError();
+        assertThat(error).isNotNull();
+        // 컨트롤러에서 reject 하던 것과 같은 코드, 인자 (errors.properties의 totalPriceMin 메시지)
+        assertThat(error.getCodes()).containsExactly("totalPriceMin.item", "totalPriceMin");
+        assertThat(error.getArguments()).containsExactly(10000, 5000L);
+        assertThat(error.getDefaultMessage()).isEqualTo("가격 * 수량의 합은 10000원 이상이어야 합니다. 현재 값 = 5000");
+
+        // int 범위를 넘는 곱도 통과
+        GroupedItem large = new GroupedItem("itemA", 1000000, 9999);
+        BindingResult largeResult = new BeanPropertyBindingResult(large, "item");
+        validator.validate(large, largeResult, SaveCheck.class);
+        assertThat(largeResult.hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void plan() {
+        // groups만 있는 제약은 기본 그룹으로는 검증하지 않는다
+        assertThat(validator.plan(GroupedItem.class).isConstrained()).isFalse();
+        assertThat(validator.plan(GroupedItem.class, SaveCheck.class).isConstrained()).isTrue();
+        assertThat(validator.plan(GroupedItem.class, UpdateCheck.class).getGroups()).containsExactly(UpdateCheck.class);
+        assertThat(validator.plan(ItemSaveForm.class).isConstrained()).isTrue();
+        // Item은 애노테이션을 쓰지 않는다 (ItemRules)
+        assertThat(validator.plan(Item.class, SaveCheck.class).isConstrained()).isFalse();
+
+        // 같은 (클래스, 그룹)은 같은 계획
+        assertThat(validator.plan(GroupedItem.class, SaveCheck.class))
+                .isSameAs(validator.plan(GroupedItem.class, SaveCheck.class));
+        assertThat(validator.size()).isEqualTo(5);
+    }
+
+    private static List<Object> targets() {
+        List<Object> targets = new ArrayList<>();
+        for (Integer[] values : new Integer[][]{{10, 10}, {1000, 5}, {null, 10000}, {1000000, 9999}}) {
+            targets.add(new GroupedItem(" ", values[0], values[1]));
+            targets.add(new GroupedItem("itemA", values[0], values[1]));
+            targets.add(new Item("itemA", values[0], values[1]));
+
+            ItemSaveForm saveForm = new ItemSaveForm();
+            saveForm.setItemName("itemA");
+            saveForm.setPrice(values[0]);
+            saveForm.setQuantity(values[1]);
+            targets.add(saveForm);
+
+            ItemUpdateForm updateForm = new ItemUpdateForm();
+            updateForm.setItemName(" ");
+            updateForm.setPrice(values[0]);
+            updateForm.setQuantity(values[1]);
+            targets.add(updateForm);
+        }
+        targets.add(new GroupedItem());
+        return targets;
+    }
+
+    private static List<String> errors(BindingResult bindingResult) {
+        // @TotalPriceMin 오브젝트 오류는 코드를 totalPriceMin으로 바꿔 남기므로 메시지만 비교한다 (totalPriceMin())
+        return bindingResult.getAllErrors().stream()
+                .map(error -> (error instanceof FieldError ? String.join(",", error.getCodes()) : "object")
+                        + "=" + error.getDefaultMessage())
+                .collect(Collectors.toList());
+    }
+
+    private static LocalValidatorFactoryBean beanValidator() {
+        LocalValidatorFactoryBean beanValidator = new LocalValidatorFactoryBean();
+        beanValidator.afterPropertiesSet();
+        return beanValidator;
+    }
+
+    /**
+     * 그룹별 제약 (ValidationItemControllerV3의 Item 그룹 검증)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @TotalPriceMin(value = 10000, groups = {SaveCheck.class, UpdateCheck.class})
+    static class GroupedItem implements PriceQuantity {
+
+        @NotBlank(groups = {SaveCheck.class, UpdateCheck.class})
+        private String itemName;
+
+        @NotNull(groups = {SaveCheck.class, UpdateCheck.class})
+        @Range(min = 1000, max = 1000000, groups = {SaveCheck.class, UpdateCheck.class})
+        private Integer price;
+
+        @NotNull(groups = {SaveCheck.class, UpdateCheck.class})
+        @Max(value = 9999, groups = SaveCheck.class)
+        private Integer quantity;
+    }
+}
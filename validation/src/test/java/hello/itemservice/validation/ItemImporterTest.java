@@ -0,0 +1,171 @@
+package hello.itemservice.validation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import hello.itemservice.domain.item.ItemRepository;
+import hello.itemservice.web.validation.bulk.ItemImportSummary;
+import hello.itemservice.web.validation.bulk.ItemImporter;
+import hello.itemservice.web.validation.plan.CachingValidator;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.validation.DefaultMessageCodesResolver;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemImporterTest {
+
+    static LocalValidatorFactoryBean beanValidator = new LocalValidatorFactoryBean();
+
+    ObjectMapper objectMapper = new ObjectMapper();
+    ItemRepository itemRepository = new ItemRepository();
+    // 3줄씩 나눠서 여러 batch를 거치게 한다, 한 줄은 100자까지
+    ItemImporter itemImporter = new ItemImporter(itemRepository, new CachingValidator(beanValidator), messageSource(),
+            new DefaultMessageCodesResolver(), objectMapper, 3, 2, 100);
+
+    @BeforeAll
+    static void beforeAll() {
+        beanValidator.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        beanValidator.close();
+    }
+
+    @AfterEach
+    void afterEach() {
+        itemImporter.close();
+        itemRepository.clearStore();
+    }
+
+    @Test
+    void importItems() throws Exception {
+        String body = String.join("\n",
+                "{\"itemName\":\"importA\",\"price\":10000,\"quantity\":10}",
+                "",
+                "{\"itemName\":\"importB\",\"price\":\"abc\",\"quantity\":10}",
+                "{\"itemName\":\" \",\"price\":100,\"quantity\":10}",
+                "{\"itemName\":\"importC\"",
+                "{\"itemName\":\"importD\",\"price\":20000,\"quantity\":20}");
+        StringWriter out = new StringWriter();
+
+        ItemImportSummary summary = itemImporter.importItems(new StringReader(body), out, Locale.KOREA);
+
+        assertThat(summary.getTotal()).isEqualTo(5);
+        assertThat(summary.getSaved()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(3);
+
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines).hasSize(6);
+
+        // 줄 번호는 빈 줄도 센다
+        assertThat(lines.get(0).get("line").asLong()).isEqualTo(1);
+        assertThat(lines.get(0).get("errors")).isNull();
+        assertThat(itemRepository.findById(lines.get(0).get("id").asLong()).getItemName()).isEqualTo("importA");
+
+        JsonNode typeMismatch = lines.get(1);
+        assertThat(typeMismatch.get("line").asLong()).isEqualTo(3);
+        assertThat(typeMismatch.get("id")).isNull();
+        assertThat(typeMismatch.at("/errors/0/field").asText()).isEqualTo("price");
+        assertThat(typeMismatch.at("/errors/0/code").asText()).isEqualTo("typeMismatch");
+        assertThat(typeMismatch.at("/errors/0/message").asText()).isEqualTo("숫자를 입력해주세요.");
+
+        JsonNode invalid = lines.get(2);
+        assertThat(invalid.get("line").asLong()).isEqualTo(4);
+        assertThat(codes(invalid)).containsExactlyInAnyOrder("NotBlank", "Range", "totalPriceMin");
+        // Bean Validation 오류 순서는 정해져 있지 않다
+        assertThat(messages(invalid)).contains("itemName 공백X");
+
+        JsonNode malformed = lines.get(3);
+        assertThat(malformed.get("line").asLong()).isEqualTo(5);
+        assertThat(malformed.at("/errors/0/code").asText()).isEqualTo("invalidJson");
+
+        assertThat(lines.get(4).get("line").asLong()).isEqualTo(6);
+        assertThat(lines.get(4).get("id")).isNotNull();
+
+        JsonNode last = lines.get(5);
+        assertThat(last.get("total").asLong()).isEqualTo(5);
+        assertThat(last.get("saved").asLong()).isEqualTo(2);
+        assertThat(last.get("failed").asLong()).isEqualTo(3);
+    }
+
+    @Test
+    void manyBatchesKeepOrder() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= 200; i++) {
+            int price = i % 10 == 0 ? 10 : 10000;
+            body.append("{\"itemName\":\"order").append(i).append("\",\"price\":").append(price)
+                    .append(",\"quantity\":1}\n");
+        }
+        StringWriter out = new StringWriter();
+
+        ItemImportSummary summary = itemImporter.importItems(new StringReader(body.toString()), out, Locale.KOREA);
+
+        assertThat(summary.getSaved()).isEqualTo(180);
+        assertThat(summary.getFailed()).isEqualTo(20);
+        List<JsonNode> lines = readLines(out);
+        for (int i = 0; i < 200; i++) {
+            assertThat(lines.get(i).get("line").asLong()).isEqualTo(i + 1);
+            assertThat(lines.get(i).has("id")).isEqualTo((i + 1) % 10 != 0);
+        }
+        assertThat(itemRepository.stream().filter(item -> item.getItemName().startsWith("order"))).hasSize(180);
+    }
+
+    @Test
+    void lineTooLong() throws Exception {
+        // 읽기 버퍼(8192자)보다 긴 줄도 끝까지 버린 뒤 다음 줄을 읽는다
+        String longLine = "{\"itemName\":\"" + "x".repeat(20000) + "\",\"price\":10000,\"quantity\":10}";
+        String body = "{\"itemName\":\"shortA\",\"price\":10000,\"quantity\":10}\r\n"
+                + longLine + "\r\n"
+                + "{\"itemName\":\"shortB\",\"price\":10000,\"quantity\":10}";
+        StringWriter out = new StringWriter();
+
+        ItemImportSummary summary = itemImporter.importItems(new StringReader(body), out, Locale.KOREA);
+
+        assertThat(summary.getTotal()).isEqualTo(3);
+        assertThat(summary.getSaved()).isEqualTo(2);
+        List<JsonNode> lines = readLines(out);
+        assertThat(lines.get(0).get("id")).isNotNull();
+        assertThat(lines.get(1).get("line").asLong()).isEqualTo(2);
+        assertThat(lines.get(1).at("/errors/0/code").asText()).isEqualTo("lineTooLong");
+        assertThat(lines.get(2).get("line").asLong()).isEqualTo(3);
+        assertThat(itemRepository.findById(lines.get(2).get("id").asLong()).getItemName()).isEqualTo("shortB");
+    }
+
+    private List<JsonNode> readLines(StringWriter out) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : out.toString().split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private List<String> codes(JsonNode result) {
+        List<String> codes = new ArrayList<>();
+        result.get("errors").forEach(error -> codes.add(error.get("code").asText()));
+        return codes;
+    }
+
+    private List<String> messages(JsonNode result) {
+        List<String> messages = new ArrayList<>();
+        result.get("errors").forEach(error -> messages.add(error.get("message").asText()));
+        return messages;
+    }
+
+    private static ResourceBundleMessageSource messageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages", "errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        return messageSource;
+    }
+}
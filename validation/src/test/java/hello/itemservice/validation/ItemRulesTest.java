@@ -0,0 +1,102 @@
+package hello.itemservice.validation;
+
+import hello.itemservice.domain.item.Item;
+import hello.itemservice.web.validation.ItemValidator;
+import hello.itemservice.web.validation.rule.ItemRules;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemRulesTest {
+
+    ItemRules itemRules = new ItemRules();
+    ItemValidator itemValidator = new ItemValidator();
+
+    @Test
+    void sameErrorsAsItemValidator() {
+        Integer[] prices = {null, 0, 999, 1000, 10000, 1000000, 1000001};
+        Integer[] quantities = {null, 0, 1, 9, 10, 9998, 10000};
+        for (String itemName : new String[]{null, " ", "itemA"}) {
+            for (Integer price : prices) {
+                for (Integer quantity : quantities) {
+                    Item item = new Item(itemName, price, quantity);
+                    assertThat(errorsOf(item, true)).as("item=%s", item).isEqualTo(errorsOf(item, false));
+                }
+            }
+        }
+    }
+
+    @Test
+    void quantityMaxIsInclusive() {
+        // ItemValidator는 9999도 거절하지만 메시지(최대 9,999 까지 허용)와 @Max(9999)대로 9999는 허용한다
+        Item item = new Item("itemA", 10000, 9999);
+        assertThat(validate(item).hasErrors()).isFalse();
+    }
+
+    @Test
+    void totalPriceDoesNotOverflow() {
+        // 1,000,000 * 1,000,000은 int 범위를 넘는다
+        Item item = new Item("itemA", 1000000, 1000000);
+        BindingResult bindingResult = validate(item);
+        assertThat(bindingResult.getFieldError("quantity").getCode()).isEqualTo("max");
+        assertThat(bindingResult.hasGlobalErrors()).isFalse();
+    }
+
+    @Test
+    void skipBindingFailure() {
+        Item item = new Item("itemA", null, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "item");
+        bindingResult.addError(new FieldError("item", "price", "abc", true,
+                new String[]{"typeMismatch"}, null, null));
+
+        itemRules.validate(item, bindingResult);
+
+        assertThat(bindingResult.getFieldErrors("price")).hasSize(1);
+        assertThat(bindingResult.getFieldError("price").getCode()).isEqualTo("typeMismatch");
+    }
+
+    @Test
+    void otherObjectName() {
+        // 미리 만든 코드와 이름이 다르면 BindingResult가 코드를 만든다
+        Item item = new Item(" ", 10, 10);
+        BindingResult bindingResult = new BeanPropertyBindingResult(item, "other");
+        itemRules.validate(item, bindingResult);
+
+        assertThat(bindingResult.getFieldError("itemName").getCodes()).contains("required.other.itemName");
+        assertThat(bindingResult.getGlobalError().getCodes()).contains("totalPriceMin.other");
+    }
+
+    private BindingResult validate(Object target) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        itemRules.validate(target, bindingResult);
+        return bindingResult;
+    }
+
+    private List<String> errorsOf(Object target, boolean compiled) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(target, "item");
+        if (compiled) {
+            itemRules.validate(target, bindingResult);
+        } else {
+            itemValidator.validate(target, bindingResult);
+        }
+        return bindingResult.getAllErrors().stream()
+                .map(this::describe)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private String describe(ObjectError error) {
+        String field = error instanceof FieldError
+                ? ((FieldError) error).getField() + "=" + ((FieldError) error).getRejectedValue()
+                : "";
+        return field + " " + Arrays.toString(error.getCodes()) + " " + Arrays.deepToString(error.getArguments());
+    }
+}
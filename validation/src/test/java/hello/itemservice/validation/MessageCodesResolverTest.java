@@ -1,6 +1,7 @@
 package hello.itemservice.validation;
 
 import org.assertj.core.api.Assertions;
+import hello.itemservice.web.validation.message.CachingMessageCodesResolver;
 import org.junit.jupiter.api.Test;
 import org.springframework.validation.DefaultMessageCodesResolver;
 import org.springframework.validation.MessageCodesResolver;
@@ -34,4 +35,29 @@ public class MessageCodesResolverTest {
                 "required");
     }
 
+    @Test
+    void cachingMessageCodesResolver(){
+        MessageCodesResolver cachingResolver = new CachingMessageCodesResolver(100);
+
+        String[] fieldCodes = cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class);
+        assertThat(fieldCodes).containsExactly(
+                codesResolver.resolveMessageCodes("required", "item", "itemName", String.class));
+        assertThat(cachingResolver.resolveMessageCodes("required", "item", "itemName", String.class)).isSameAs(fieldCodes);
+        assertThat(cachingResolver.resolveMessageCodes("required", "item", "itemName", Integer.class))
+                .contains("required.java.lang.Integer");
+
+        String[] objectCodes = cachingResolver.resolveMessageCodes("required", "item");
+        assertThat(objectCodes).containsExactly("required.item", "required");
+        assertThat(cachingResolver.resolveMessageCodes("required", "item")).isSameAs(objectCodes);
+    }
+
+    @Test
+    void cachingMessageCodesResolverMaxEntries(){
+        // 더 기억하지 않아도 코드는 같다
+        MessageCodesResolver cachingResolver = new CachingMessageCodesResolver(0);
+        assertThat(cachingResolver.resolveMessageCodes("required", "item"))
+                .containsExactly("required.item", "required")
+                .isNotSameAs(cachingResolver.resolveMessageCodes("required", "item"));
+    }
+
 }